@@ -0,0 +1,31 @@
+package com.siakad.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point benchmarks.jar
+ * Sama dengan runner JMH biasa, tetapi hasil selalu diekspor sebagai JSON
+ * (default: jmh-result.json) agar bisa dibandingkan antar rilis.
+ * Opsi JMH lain (filter benchmark, -f, -wi, -rff, dll.) tetap bisa diberikan.
+ *
+ * Contoh: java -jar target/benchmarks.jar Enrollment -rff results/1.0.json
+ */
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark pendaftaran bersamaan ke satu mata kuliah yang sama
+ * Setiap thread melakukan enroll lalu drop dengan mahasiswanya sendiri,
+ * sehingga counter kursi menjadi titik kontensi utama.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ContendedEnrollmentBenchmark {
+    // Cukup untuk jumlah thread yang diatur lewat -t tanpa dua thread memakai mahasiswa yang sama
+    private static final int STUDENTS = 64;
+
+    private EnrollmentService service;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryFixtures.Students students = new InMemoryFixtures.Students();
+        InMemoryFixtures.Courses courses = new InMemoryFixtures.Courses();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student(Caller.studentId(i), "Mhs " + i, "mhs" + i + "@poltek.ac.id",
+                    "TI", 3, 3.4, "ACTIVE"));
+        }
+        courses.add(new Course("CS101", "Pemrograman Java", 3, 1_000_000, 0, "Dosen A"));
+        service = new EnrollmentService(students, courses,
+                new InMemoryFixtures.NoOpNotifications(), new GradeCalculator(), new SnowflakeIdGenerator(0));
+    }
+
+    @Benchmark
+    public void enrollThenDrop(Caller caller) {
+        service.enrollCourse(caller.studentId, "CS101");
+        service.dropCourse(caller.studentId, "CS101");
+    }
+
+    /**
+     * Mahasiswa milik satu thread benchmark
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        String studentId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            studentId = studentId(NEXT.getAndIncrement() % STUDENTS);
+        }
+
+        static String studentId(int i) {
+            return String.format("S%03d", i + 1);
+        }
+    }
+}
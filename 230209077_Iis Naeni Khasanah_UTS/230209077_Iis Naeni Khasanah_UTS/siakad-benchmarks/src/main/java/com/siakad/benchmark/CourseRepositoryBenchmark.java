@@ -0,0 +1,64 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.repository.InMemoryCourseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark InMemoryCourseRepository dengan pembacaan mata kuliah populer
+ * bersamaan dengan update ke mata kuliah lain
+ */
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseRepositoryBenchmark {
+
+    private static final int COURSES = 2_000;
+
+    private InMemoryCourseRepository repo;
+    private String[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repo = new InMemoryCourseRepository(new InMemoryFixtures.Students());
+        codes = new String[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            codes[i] = "MK" + i;
+            repo.update(new Course(codes[i], "Mata Kuliah " + i, 3, 40, 0, "Dosen"));
+        }
+    }
+
+    @Benchmark
+    @Group("hotReadsWithWrites")
+    @GroupThreads(6)
+    public Course readHot() {
+        return repo.findByCourseCode(codes[0]);
+    }
+
+    @Benchmark
+    @Group("hotReadsWithWrites")
+    @GroupThreads(2)
+    public void writeOther() {
+        String code = codes[1 + ThreadLocalRandom.current().nextInt(COURSES - 1)];
+        repo.update(new Course(code, "Mata Kuliah", 3, 40, 1, "Dosen"));
+    }
+}
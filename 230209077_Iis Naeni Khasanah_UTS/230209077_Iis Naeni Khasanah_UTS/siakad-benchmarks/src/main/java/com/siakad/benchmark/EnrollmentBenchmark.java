@@ -0,0 +1,93 @@
+package com.siakad.benchmark;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark jalur utama EnrollmentService dengan satu thread
+ * enrollCourse (diikuti drop agar index tidak menolak enrollment ganda), penolakan drop
+ * mata kuliah yang tidak diambil, dan validateCreditLimit terhadap repository di memori,
+ * serta penolakan mata kuliah penuh lewat exception dibandingkan tryEnroll
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+    private EnrollmentService service;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryFixtures.Students students = new InMemoryFixtures.Students();
+        InMemoryFixtures.Courses courses = new InMemoryFixtures.Courses();
+        students.add(new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE"));
+        // Kapasitas sangat besar agar enrollCourse tidak pernah penuh selama iterasi
+        courses.add(new Course("CS101", "Pemrograman Java", 3, Integer.MAX_VALUE, 0, "Dosen A"));
+        // S001 tidak terdaftar, sehingga dropCourse selalu ditolak
+        courses.add(new Course("CS102", "Basis Data", 3, 30, 10, "Dosen B"));
+        // Selalu penuh untuk mengukur jalur penolakan
+        courses.add(new Course("CS103", "Jaringan", 3, 1, 1, "Dosen C"));
+        service = new EnrollmentService(students, courses,
+                new InMemoryFixtures.NoOpNotifications(), new GradeCalculator(), new SnowflakeIdGenerator(0));
+    }
+
+    @Benchmark
+    public Enrollment enrollAndDropCourse() {
+        Enrollment enrollment = service.enrollCourse("S001", "CS101");
+        service.dropCourse("S001", "CS101");
+        return enrollment;
+    }
+
+    @Benchmark
+    public Object dropCourse_notEnrolled() {
+        try {
+            service.dropCourse("S001", "CS102");
+            return null;
+        } catch (EnrollmentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit() {
+        return service.validateCreditLimit("S001", 21);
+    }
+
+    @Benchmark
+    public Object enrollCourse_full() {
+        try {
+            return service.enrollCourse("S001", "CS103");
+        } catch (CourseFullException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public EnrollmentResult tryEnroll_full() {
+        return service.tryEnroll("S001", "CS103");
+    }
+}
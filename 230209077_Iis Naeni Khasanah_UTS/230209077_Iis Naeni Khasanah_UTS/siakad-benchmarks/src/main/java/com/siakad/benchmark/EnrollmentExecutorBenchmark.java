@@ -0,0 +1,137 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentRequestExecutor;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark latensi enroll ketika pembacaan repository memiliki latensi I/O
+ * Membandingkan enrollCourse yang memuat mahasiswa dan mata kuliah berurutan
+ * dengan EnrollmentRequestExecutor yang memuat keduanya secara paralel.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrollmentExecutorBenchmark {
+
+    @Param({"200"})
+    public long readLatencyMicros;
+
+    private EnrollmentService service;
+    private EnrollmentRequestExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long delayNanos = TimeUnit.MICROSECONDS.toNanos(readLatencyMicros);
+        InMemoryFixtures.Students students = new InMemoryFixtures.Students();
+        InMemoryFixtures.Courses courses = new InMemoryFixtures.Courses();
+        students.add(new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE"));
+        courses.add(new Course("CS101", "Pemrograman Java", 3, 1_000_000, 0, "Dosen A"));
+        service = new EnrollmentService(new SlowStudents(students, delayNanos),
+                new SlowCourses(courses, delayNanos),
+                new InMemoryFixtures.NoOpNotifications(), new GradeCalculator(), new SnowflakeIdGenerator(0));
+        executor = new EnrollmentRequestExecutor(service, Duration.ofSeconds(5));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void sequential() {
+        service.enrollCourse("S001", "CS101");
+        service.dropCourse("S001", "CS101");
+    }
+
+    @Benchmark
+    public void parallelLoad() {
+        executor.enroll("S001", "CS101");
+        service.dropCourse("S001", "CS101");
+    }
+
+    /**
+     * Menambahkan latensi pada pembacaan data mahasiswa
+     */
+    private static final class SlowStudents implements StudentRepository {
+        private final StudentRepository delegate;
+        private final long delayNanos;
+
+        SlowStudents(StudentRepository delegate, long delayNanos) {
+            this.delegate = delegate;
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        public Student findById(String studentId) {
+            LockSupport.parkNanos(delayNanos);
+            return delegate.findById(studentId);
+        }
+
+        @Override
+        public void update(Student student) {
+            delegate.update(student);
+        }
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            return delegate.getCompletedCourses(studentId);
+        }
+    }
+
+    /**
+     * Menambahkan latensi pada pembacaan data mata kuliah
+     */
+    private static final class SlowCourses implements CourseRepository {
+        private final CourseRepository delegate;
+        private final long delayNanos;
+
+        SlowCourses(CourseRepository delegate, long delayNanos) {
+            this.delegate = delegate;
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        public Course findByCourseCode(String courseCode) {
+            LockSupport.parkNanos(delayNanos);
+            return delegate.findByCourseCode(courseCode);
+        }
+
+        @Override
+        public void update(Course course) {
+            delegate.update(course);
+        }
+
+        @Override
+        public boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return delegate.isPrerequisiteMet(studentId, courseCode);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark GradeCalculator.calculateGPA untuk berbagai ukuran transkrip,
+ * dibandingkan dengan calculateGPAs (batch kolumnar) untuk 1000 mahasiswa
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeCalculatorBenchmark {
+
+    @Param({"8", "48", "150"})
+    public int transcriptSize;
+
+    private static final int COHORT_SIZE = 1000;
+
+    private GradeCalculator calculator;
+    private List<CourseGrade> grades;
+    private List<List<CourseGrade>> cohort;
+    private int[] credits;
+    private double[] gradePoints;
+    private int[] offsets;
+
+    @Setup
+    public void setUp() {
+        calculator = new GradeCalculator();
+        grades = InMemoryFixtures.transcript(transcriptSize, 42L);
+
+        cohort = new ArrayList<>(COHORT_SIZE);
+        credits = new int[COHORT_SIZE * transcriptSize];
+        gradePoints = new double[COHORT_SIZE * transcriptSize];
+        offsets = new int[COHORT_SIZE + 1];
+        int i = 0;
+        for (int s = 0; s < COHORT_SIZE; s++) {
+            List<CourseGrade> transcript = InMemoryFixtures.transcript(transcriptSize, s);
+            cohort.add(transcript);
+            offsets[s] = i;
+            for (CourseGrade grade : transcript) {
+                credits[i] = grade.getCredits();
+                gradePoints[i] = grade.getGradePoint();
+                i++;
+            }
+        }
+        offsets[COHORT_SIZE] = i;
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return calculator.calculateGPA(grades);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COHORT_SIZE)
+    public void calculateGPA_cohort(Blackhole blackhole) {
+        for (List<CourseGrade> transcript : cohort) {
+            blackhole.consume(calculator.calculateGPA(transcript));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COHORT_SIZE)
+    public double[] calculateGPAs_cohort() {
+        return calculator.calculateGPAs(credits, gradePoints, offsets);
+    }
+}
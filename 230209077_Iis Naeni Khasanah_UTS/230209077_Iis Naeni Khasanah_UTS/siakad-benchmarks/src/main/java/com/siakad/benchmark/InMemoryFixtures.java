@@ -0,0 +1,95 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.service.NotificationService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository dan notifikasi di memori untuk benchmark
+ * Tidak ada I/O, sehingga yang terukur hanya biaya logika service.
+ */
+
+final class InMemoryFixtures {
+
+    private InMemoryFixtures() {
+    }
+
+    static final class Students implements StudentRepository {
+        private final Map<String, Student> students = new ConcurrentHashMap<>();
+
+        void add(Student student) {
+            students.put(student.getStudentId(), student);
+        }
+
+        @Override
+        public Student findById(String studentId) {
+            return students.get(studentId);
+        }
+
+        @Override
+        public void update(Student student) {
+            students.put(student.getStudentId(), student);
+        }
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            return Collections.emptyList();
+        }
+    }
+
+    static final class Courses implements CourseRepository {
+        private final Map<String, Course> courses = new ConcurrentHashMap<>();
+
+        void add(Course course) {
+            courses.put(course.getCourseCode(), course);
+        }
+
+        @Override
+        public Course findByCourseCode(String courseCode) {
+            return courses.get(courseCode);
+        }
+
+        @Override
+        public void update(Course course) {
+            courses.put(course.getCourseCode(), course);
+        }
+
+        @Override
+        public boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return true;
+        }
+    }
+
+    static final class NoOpNotifications implements NotificationService {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    }
+
+    /**
+     * Transkrip acak dengan seed tetap agar hasil benchmark bisa dibandingkan
+     */
+    static List<CourseGrade> transcript(int size, long seed) {
+        Random random = new Random(seed);
+        double[] points = {0.0, 1.0, 2.0, 2.5, 3.0, 3.5, 4.0};
+        List<CourseGrade> grades = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            grades.add(new CourseGrade("MK" + i, 2 + random.nextInt(3), points[random.nextInt(points.length)]));
+        }
+        return grades;
+    }
+}
@@ -0,0 +1,78 @@
+package com.siakad.benchmark;
+
+import com.siakad.metrics.InstrumentedCourseRepository;
+import com.siakad.metrics.InstrumentedEnrollmentService;
+import com.siakad.metrics.InstrumentedNotificationService;
+import com.siakad.metrics.InstrumentedStudentRepository;
+import com.siakad.metrics.MetricsRegistry;
+import com.siakad.metrics.OperationMetrics;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya instrumentasi metrik
+ * Membandingkan validateCreditLimit tanpa dan dengan wrapper Instrumented*,
+ * serta biaya satu pasangan start/recordSuccess secara terpisah.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private EnrollmentService plain;
+    private InstrumentedEnrollmentService instrumented;
+    private OperationMetrics operation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryFixtures.Students students = new InMemoryFixtures.Students();
+        InMemoryFixtures.Courses courses = new InMemoryFixtures.Courses();
+        students.add(new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE"));
+        courses.add(new Course("CS101", "Pemrograman Java", 3, Integer.MAX_VALUE, 0, "Dosen A"));
+        plain = new EnrollmentService(students, courses,
+                new InMemoryFixtures.NoOpNotifications(), new GradeCalculator());
+
+        MetricsRegistry registry = new MetricsRegistry();
+        EnrollmentService wrapped = new EnrollmentService(
+                new InstrumentedStudentRepository(students, registry),
+                new InstrumentedCourseRepository(courses, registry),
+                new InstrumentedNotificationService(new InMemoryFixtures.NoOpNotifications(), registry),
+                new GradeCalculator());
+        instrumented = new InstrumentedEnrollmentService(wrapped, registry);
+        operation = registry.operation("benchmark.empty");
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit_plain() {
+        return plain.validateCreditLimit("S001", 21);
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit_instrumented() {
+        return instrumented.validateCreditLimit("S001", 21);
+    }
+
+    @Benchmark
+    public void recordOnly() {
+        operation.recordSuccess(operation.start());
+    }
+}
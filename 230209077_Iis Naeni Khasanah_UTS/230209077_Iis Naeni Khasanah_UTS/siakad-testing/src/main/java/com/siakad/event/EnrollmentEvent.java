@@ -0,0 +1,105 @@
+package com.siakad.event;
+
+import com.siakad.service.EnrollmentResult;
+
+/**
+ * Satu kejadian perubahan enrollment yang dipublikasikan ke EnrollmentEventBus
+ * Objek tidak bisa diubah, sehingga satu instance dibagikan ke seluruh subscriber
+ * dan tetap valid saat di-replay.
+ */
+
+public final class EnrollmentEvent {
+
+    /**
+     * Jenis kejadian
+     */
+    public enum Type {
+        /** Mahasiswa terdaftar, termasuk hasil promosi dari waitlist */
+        ENROLLED,
+        /** Mahasiswa membatalkan mata kuliah */
+        DROPPED,
+        /** Permintaan enroll ditolak, alasan ada di getReason() */
+        REJECTED,
+        /** Mata kuliah penuh dan mahasiswa masuk waitlist */
+        WAITLISTED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String studentId;
+    private final String courseCode;
+    private final EnrollmentResult reason;
+    private final int enrolledCount;
+    private final long changeSequence;
+    private final long timestamp;
+
+    EnrollmentEvent(long sequence, Type type, String studentId, String courseCode,
+                    EnrollmentResult reason, int enrolledCount, long changeSequence, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.reason = reason;
+        this.enrolledCount = enrolledCount;
+        this.changeSequence = changeSequence;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return Nomor urut kejadian di bus, dimulai dari 1
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * @return Alasan penolakan untuk REJECTED, null untuk jenis lain
+     */
+    public EnrollmentResult getReason() {
+        return reason;
+    }
+
+    /**
+     * @return Jumlah peserta mata kuliah setelah kejadian, -1 jika tidak berubah (REJECTED, WAITLISTED)
+     */
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    /**
+     * Nomor urut perubahan dari EnrollmentService untuk ENROLLED dan DROPPED, 0 untuk jenis lain
+     * Urutan di bus mengikuti urutan publikasi, yang untuk mahasiswa yang sama bisa tertukar
+     * jika perubahan selesai hampir bersamaan di thread berbeda. Konsumen yang membutuhkan
+     * urutan perubahan per mahasiswa mengurutkan dengan nomor ini.
+     *
+     * @return Nomor urut perubahan, naik sesuai urutan perubahan yang tersimpan
+     */
+    public long getChangeSequence() {
+        return changeSequence;
+    }
+
+    /**
+     * @return Waktu publikasi dalam epoch milidetik
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + studentId + "/" + courseCode
+                + (reason == null ? "" : " (" + reason + ")");
+    }
+}
@@ -0,0 +1,364 @@
+package com.siakad.event;
+
+import com.siakad.service.EnrollmentResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Event bus di dalam proses berbasis ring buffer untuk perubahan enrollment
+ * Publisher mengklaim nomor urut dengan satu operasi atomik lalu menaruh kejadian
+ * di slot (nomor urut & mask), tanpa lock. Setiap subscriber memiliki thread dan
+ * posisi baca sendiri, membaca seluruh kejadian yang tersedia sebagai satu batch,
+ * dan bisa mulai dari nomor urut tertentu selama kejadian itu belum tertimpa.
+ *
+ * Publisher tidak pernah menunggu subscriber yang lambat, agar enrollment tidak
+ * tertahan oleh sistem hilir. Subscriber yang tertinggal lebih dari kapasitas
+ * ring buffer diberi tahu lewat EnrollmentEventHandler.onGap.
+ */
+
+public class EnrollmentEventBus implements AutoCloseable {
+    private static final long IDLE_WAIT_MILLIS = 50;
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final AtomicReferenceArray<EnrollmentEvent> ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity Jumlah kejadian terakhir yang disimpan untuk replay, harus pangkat dua
+     */
+    public EnrollmentEventBus(int capacity) {
+        this(capacity, System::currentTimeMillis);
+    }
+
+    EnrollmentEventBus(int capacity, LongSupplier clock) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.clock = clock;
+    }
+
+    /**
+     * Mempublikasikan satu kejadian ke seluruh subscriber
+     *
+     * @param type Jenis kejadian
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param reason Alasan penolakan untuk REJECTED, null untuk jenis lain
+     * @param enrolledCount Jumlah peserta setelah kejadian, -1 jika tidak berubah
+     * @return Nomor urut kejadian, atau 0 jika bus sudah ditutup dan kejadian dibuang
+     */
+    public long publish(EnrollmentEvent.Type type, String studentId, String courseCode,
+                        EnrollmentResult reason, int enrolledCount) {
+        return publish(type, studentId, courseCode, reason, enrolledCount, 0);
+    }
+
+    /**
+     * Mempublikasikan satu kejadian beserta nomor urut perubahannya
+     *
+     * @param changeSequence Nomor urut perubahan untuk EnrollmentEvent.getChangeSequence, 0 jika tidak ada
+     * @return Nomor urut kejadian, atau 0 jika bus sudah ditutup dan kejadian dibuang
+     * @see #publish(EnrollmentEvent.Type, String, String, EnrollmentResult, int)
+     */
+    public long publish(EnrollmentEvent.Type type, String studentId, String courseCode,
+                        EnrollmentResult reason, int enrolledCount, long changeSequence) {
+        // Enrollment yang sudah tersimpan tidak boleh gagal hanya karena bus ditutup
+        publishing.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.increment();
+                return 0;
+            }
+            return append(type, studentId, courseCode, reason, enrolledCount, changeSequence);
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private long append(EnrollmentEvent.Type type, String studentId, String courseCode,
+                        EnrollmentResult reason, int enrolledCount, long changeSequence) {
+        long sequence = cursor.incrementAndGet();
+        EnrollmentEvent event = new EnrollmentEvent(sequence, type, studentId, courseCode,
+                reason, enrolledCount, changeSequence, clock.getAsLong());
+        int index = (int) (sequence & mask);
+        while (true) {
+            // Publisher yang lebih lambat tidak boleh menimpa kejadian yang lebih baru di slot yang sama
+            EnrollmentEvent current = ring.get(index);
+            if (current != null && current.getSequence() > sequence) {
+                break;
+            }
+            if (ring.compareAndSet(index, current, event)) {
+                break;
+            }
+        }
+        // Lock hanya diambil jika ada subscriber yang sedang menunggu
+        if (waiters.get() > 0) {
+            signalAll();
+        }
+        return sequence;
+    }
+
+    /**
+     * Membaca ulang kejadian secara sinkron, misalnya untuk integrasi yang melakukan polling
+     * Jika fromSequence sudah tertimpa, pembacaan dimulai dari kejadian tertua yang tersedia,
+     * sehingga nomor urut kejadian pertama lebih besar dari fromSequence.
+     *
+     * @param fromSequence Nomor urut pertama yang diminta
+     * @param maxEvents Jumlah kejadian maksimal
+     * @return Kejadian berurutan tanpa celah, kosong jika belum ada kejadian baru
+     */
+    public List<EnrollmentEvent> readFrom(long fromSequence, int maxEvents) {
+        long available = cursor.get();
+        long sequence = Math.max(fromSequence, getOldestSequence());
+        List<EnrollmentEvent> result = new ArrayList<>((int) Math.min(maxEvents, Math.max(0, available - sequence + 1)));
+        for (; sequence <= available && result.size() < maxEvents; sequence++) {
+            EnrollmentEvent event = ring.get((int) (sequence & mask));
+            if (event == null || event.getSequence() != sequence) {
+                // Belum selesai dipublikasikan atau sudah tertimpa
+                break;
+            }
+            result.add(event);
+        }
+        return result;
+    }
+
+    /**
+     * Berlangganan mulai dari kejadian berikutnya
+     */
+    public Subscription subscribe(EnrollmentEventHandler handler) {
+        return subscribe(handler, cursor.get() + 1);
+    }
+
+    /**
+     * Berlangganan mulai dari nomor urut tertentu (replay)
+     *
+     * @param handler Penerima kejadian
+     * @param fromSequence Nomor urut pertama yang dikirim ke handler, minimal 1
+     * @return Subscription yang berjalan di thread sendiri
+     */
+    public Subscription subscribe(EnrollmentEventHandler handler, long fromSequence) {
+        if (fromSequence < 1) {
+            throw new IllegalArgumentException("Sequence starts at 1");
+        }
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        Subscription subscription = new Subscription(handler, fromSequence);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * @return Nomor urut kejadian terakhir yang sudah diklaim publisher, 0 jika belum ada
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * @return Nomor urut kejadian tertua yang masih bisa di-replay
+     */
+    public long getOldestSequence() {
+        return Math.max(1, cursor.get() - ring.length() + 1);
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    /**
+     * @return Jumlah kejadian yang dibuang karena dipublikasikan setelah bus ditutup
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Membuang kejadian baru lalu menutup seluruh subscription
+     * setelah kejadian yang sudah dipublikasikan terkirim
+     */
+    @Override
+    public void close() {
+        closed = true;
+        // Publisher yang lolos pengecekan closed diselesaikan dulu agar kejadiannya ikut terkirim
+        while (publishing.get() > 0) {
+            Thread.onSpinWait();
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private void signalAll() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Satu subscriber beserta thread dan posisi bacanya
+     */
+    public final class Subscription implements AutoCloseable {
+        private final EnrollmentEventHandler handler;
+        private final Thread thread;
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder missed = new LongAdder();
+        private volatile long nextSequence;
+        private volatile long stopAt = Long.MAX_VALUE;
+
+        private Subscription(EnrollmentEventHandler handler, long fromSequence) {
+            this.handler = handler;
+            this.nextSequence = fromSequence;
+            this.thread = new Thread(this::run, "siakad-event-" + threadCounter.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * @return Nomor urut kejadian terakhir yang sudah diproses handler
+         */
+        public long getSequence() {
+            return nextSequence - 1;
+        }
+
+        /**
+         * @return Jumlah kejadian yang membuat handler melempar exception
+         */
+        public long getFailedCount() {
+            return failed.sum();
+        }
+
+        /**
+         * @return Jumlah kejadian yang terlewat karena tertimpa
+         */
+        public long getMissedCount() {
+            return missed.sum();
+        }
+
+        /**
+         * Mengirim kejadian yang sudah dipublikasikan saat ini, lalu menghentikan thread subscriber
+         */
+        @Override
+        public void close() {
+            if (stopAt == Long.MAX_VALUE) {
+                stopAt = cursor.get();
+            }
+            signalAll();
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join(CLOSE_TIMEOUT_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            subscriptions.remove(this);
+        }
+
+        private void run() {
+            long next = nextSequence;
+            while (next <= stopAt) {
+                long available = cursor.get();
+                if (next > available) {
+                    awaitPublished(next);
+                    continue;
+                }
+                long oldest = available - ring.length() + 1;
+                if (next < oldest) {
+                    skip(next, oldest - 1);
+                    next = oldest;
+                    nextSequence = next;
+                }
+                // Seluruh kejadian yang tersedia dikirim sebagai satu batch
+                long end = Math.min(available, stopAt);
+                for (; next <= end; next++) {
+                    EnrollmentEvent event = awaitSlot(next);
+                    if (event == null) {
+                        break;
+                    }
+                    dispatch(event, next == end);
+                    nextSequence = next + 1;
+                }
+            }
+        }
+
+        private void awaitPublished(long next) {
+            lock.lock();
+            waiters.incrementAndGet();
+            try {
+                while (cursor.get() < next && next <= stopAt) {
+                    published.await(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                // Interrupt diperlakukan sebagai close: kejadian yang sudah ada tetap dikirim
+                stopAt = cursor.get();
+            } finally {
+                waiters.decrementAndGet();
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Menunggu publisher yang sudah mengklaim nomor urut selesai mengisi slot
+         * @return Kejadian, atau null jika slot sudah tertimpa kejadian yang lebih baru
+         */
+        private EnrollmentEvent awaitSlot(long sequence) {
+            int index = (int) (sequence & mask);
+            while (true) {
+                EnrollmentEvent event = ring.get(index);
+                if (event != null) {
+                    if (event.getSequence() == sequence) {
+                        return event;
+                    }
+                    if (event.getSequence() > sequence) {
+                        return null;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        private void dispatch(EnrollmentEvent event, boolean endOfBatch) {
+            try {
+                handler.onEvent(event, endOfBatch);
+            } catch (RuntimeException e) {
+                // Kegagalan satu handler tidak boleh menghentikan subscriber
+                failed.increment();
+            }
+        }
+
+        private void skip(long fromSequence, long toSequence) {
+            missed.add(toSequence - fromSequence + 1);
+            try {
+                handler.onGap(fromSequence, toSequence);
+            } catch (RuntimeException e) {
+                failed.increment();
+            }
+        }
+    }
+}
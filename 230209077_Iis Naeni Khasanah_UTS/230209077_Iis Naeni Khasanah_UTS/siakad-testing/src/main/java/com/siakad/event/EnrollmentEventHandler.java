@@ -0,0 +1,30 @@
+package com.siakad.event;
+
+/**
+ * Subscriber EnrollmentEventBus
+ * Dipanggil dari satu thread milik subscription, sehingga implementasi tidak perlu thread-safe.
+ */
+
+public interface EnrollmentEventHandler {
+
+    /**
+     * Memproses satu kejadian
+     * Seluruh kejadian yang sudah tersedia dikirim berurutan dalam satu batch;
+     * endOfBatch menandai kejadian terakhir, misalnya untuk melakukan flush ke sistem tujuan.
+     *
+     * @param event Kejadian
+     * @param endOfBatch true jika ini kejadian terakhir yang tersedia saat ini
+     */
+    void onEvent(EnrollmentEvent event, boolean endOfBatch);
+
+    /**
+     * Dipanggil jika subscriber tertinggal lebih jauh dari kapasitas ring buffer
+     * sehingga sebagian kejadian sudah tertimpa. Subscriber melanjutkan dari
+     * kejadian tertua yang masih tersedia.
+     *
+     * @param fromSequence Nomor urut pertama yang terlewat
+     * @param toSequence Nomor urut terakhir yang terlewat
+     */
+    default void onGap(long fromSequence, long toSequence) {
+    }
+}
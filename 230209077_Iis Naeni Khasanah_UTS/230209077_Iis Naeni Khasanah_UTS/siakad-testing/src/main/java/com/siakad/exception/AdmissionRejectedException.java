@@ -0,0 +1,35 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika request ditolak oleh admission control
+ * sebelum sampai ke EnrollmentService (rate limit per mahasiswa atau server penuh)
+ */
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    /**
+     * Alasan penolakan
+     */
+    public enum Reason {
+        /** Mahasiswa mengirim request melebihi batas laju */
+        RATE_LIMITED,
+        /** Batas request bersamaan tercapai dan antrean melewati timeout */
+        OVERLOADED
+    }
+
+    private final Reason reason;
+
+    public AdmissionRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public AdmissionRejectedException(Reason reason, String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -13,4 +13,8 @@ public class CourseFullException extends RuntimeException {
     public CourseFullException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    public CourseFullException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
 }
\ No newline at end of file
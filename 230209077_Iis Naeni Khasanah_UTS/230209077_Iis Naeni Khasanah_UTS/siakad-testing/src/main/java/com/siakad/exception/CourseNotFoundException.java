@@ -13,4 +13,8 @@ public class CourseNotFoundException extends RuntimeException {
     public CourseNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    public CourseNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -13,4 +13,8 @@ public class EnrollmentException extends RuntimeException {
     public EnrollmentException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    public EnrollmentException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -13,4 +13,8 @@ public class PrerequisiteNotMetException extends RuntimeException {
     public PrerequisiteNotMetException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    public PrerequisiteNotMetException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
 }
\ No newline at end of file
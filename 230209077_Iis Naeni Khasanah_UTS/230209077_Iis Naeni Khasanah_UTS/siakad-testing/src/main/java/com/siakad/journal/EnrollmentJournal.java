@@ -0,0 +1,576 @@
+package com.siakad.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Journal enrollment append-only (write-ahead log)
+ * Setiap kejadian enroll/drop ditulis sebagai record dengan nomor urut dan CRC32.
+ * Penulisan memakai group commit: record dari banyak thread yang datang bersamaan
+ * ditulis dalam satu write dan satu fsync oleh thread committer, lalu seluruh
+ * pemanggil dalam batch tersebut dilepas bersamaan.
+ *
+ * Format record: [int panjang payload][payload][int CRC32 payload]
+ * Payload: [long sequence][byte type][long timestamp][short len][studentId][short len][courseCode]
+ * ditambah [int enrolledCount] untuk record BASELINE.
+ *
+ * Saat dibuka, snapshot (jika ada) dimuat lalu journal di-replay per potongan
+ * berukuran tetap untuk membangun JournalState, sehingga ukuran file tidak dibatasi heap.
+ * Record terakhir yang terpotong atau CRC-nya tidak cocok (crash saat menulis) dibuang
+ * dan file dipotong tepat setelah record valid terakhir yang sudah dibaca.
+ *
+ * Compaction menulis state saat ini ke file snapshot lalu mengosongkan journal, baik
+ * lewat compact() maupun otomatis saat journal melewati batas ukuran, sehingga replay
+ * tidak tumbuh mengikuti seluruh riwayat.
+ *
+ * Jika write atau fsync gagal, file dipotong kembali ke akhir batch terakhir yang berhasil,
+ * batch yang gagal dan record yang masih menunggu digagalkan, dan nomor urut dipakai ulang,
+ * sehingga replay tidak pernah berhenti di tengah lalu membuang record yang sudah dikonfirmasi,
+ * dan record yang digagalkan tidak muncul kembali. Jika pemotongan juga gagal, journal
+ * ditandai rusak dan menolak record baru sampai dibuka ulang.
+ */
+
+public class EnrollmentJournal implements Closeable {
+    private static final int MAX_PAYLOAD = 4096;
+    private static final int REPLAY_CHUNK = 64 * 1024;
+    public static final long DEFAULT_AUTO_COMPACT_BYTES = 64L * 1024 * 1024;
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final FileChannel channel;
+    private final JournalState recoveredState;
+    private final Thread committer;
+    private volatile long autoCompactBytes = DEFAULT_AUTO_COMPACT_BYTES;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private List<Pending> pending = new ArrayList<>();
+    private final Map<String, CompletableFuture<Long>> baselines = new HashMap<>();
+    private long nextSequence;
+    private CompletableFuture<Long> compaction;
+    private boolean closed;
+    private UncheckedIOException failure;
+    // Hanya dipakai thread committer
+    private long committedEnd;
+    private final JournalState liveState;
+
+    private EnrollmentJournal(Path file, FileChannel channel, JournalState recoveredState, long committedEnd) {
+        this.file = file;
+        this.snapshotFile = JournalSnapshot.pathFor(file);
+        this.channel = channel;
+        this.recoveredState = recoveredState;
+        this.liveState = recoveredState.copy();
+        this.nextSequence = recoveredState.getLastSequence() + 1;
+        this.committedEnd = committedEnd;
+        for (String courseCode : recoveredState.getEnrolledCounts().keySet()) {
+            baselines.put(courseCode, CompletableFuture.completedFuture(0L));
+        }
+        this.committer = new Thread(this::runCommitter, "siakad-journal-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Membuka journal dan me-replay isinya
+     *
+     * @param file Lokasi file journal (dibuat jika belum ada)
+     * @return Journal yang siap menerima record baru
+     * @throws UncheckedIOException jika file tidak bisa dibuka atau dibaca
+     */
+    public static EnrollmentJournal open(Path file) {
+        try {
+            return open(file, FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open enrollment journal: " + file, e);
+        }
+    }
+
+    // Untuk pengujian: channel bisa dibungkus untuk menyuntikkan kegagalan I/O
+    static EnrollmentJournal open(Path file, FileChannel channel) {
+        try {
+            try {
+                JournalState state = new JournalState();
+                JournalSnapshot.read(JournalSnapshot.pathFor(file), state);
+                long validEnd = replay(channel, state);
+                if (validEnd < channel.size()) {
+                    channel.truncate(validEnd);
+                    channel.force(true);
+                }
+                channel.position(validEnd);
+                return new EnrollmentJournal(file, channel, state, validEnd);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open enrollment journal: " + file, e);
+        }
+    }
+
+    /**
+     * @return State enrollment hasil replay saat journal dibuka
+     */
+    public JournalState getRecoveredState() {
+        return recoveredState;
+    }
+
+    /**
+     * Menulis satu kejadian dan menunggu sampai tersimpan di disk
+     *
+     * @return Nomor urut record
+     * @throws UncheckedIOException jika penulisan atau fsync gagal
+     * @throws IllegalStateException jika journal sudah ditutup
+     */
+    public long append(JournalEntry.Type type, String studentId, String courseCode) {
+        return await(appendAsync(type, studentId, courseCode));
+    }
+
+    /**
+     * Menulis beberapa kejadian dalam satu group commit dan menunggu sampai tersimpan
+     *
+     * @param type Jenis kejadian
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kode mata kuliah
+     * @return Nomor urut record terakhir, 0 jika courseCodes kosong
+     */
+    public long appendAll(JournalEntry.Type type, String studentId, List<String> courseCodes) {
+        if (courseCodes.isEmpty()) {
+            return 0L;
+        }
+        CompletableFuture<Long> last = null;
+        lock.lock();
+        try {
+            for (String courseCode : courseCodes) {
+                last = enqueue(type, studentId, courseCode);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return await(last);
+    }
+
+    /**
+     * Mencatat jumlah kursi mata kuliah sebelum kejadian pertamanya di journal
+     * Baseline hanya dicatat sekali per mata kuliah (termasuk mata kuliah hasil replay),
+     * sehingga enrollment yang dibuat sebelum journal ada tetap terhitung saat replay.
+     * Harus dipanggil sebelum kursi mata kuliah diubah; pemanggil lain menunggu baseline
+     * yang sama sampai tersimpan di disk.
+     *
+     * @param courseCode Kode mata kuliah
+     * @param enrolledCount Jumlah kursi terisi saat ini
+     * @throws UncheckedIOException jika penulisan atau fsync gagal
+     * @throws IllegalStateException jika journal sudah ditutup atau rusak
+     */
+    public void recordBaseline(String courseCode, int enrolledCount) {
+        CompletableFuture<Long> baseline;
+        lock.lock();
+        try {
+            baseline = baselines.get(courseCode);
+            if (baseline == null) {
+                baseline = enqueue(new JournalEntry(nextSequence, JournalEntry.Type.BASELINE,
+                        System.currentTimeMillis(), "", courseCode, enrolledCount));
+                baselines.put(courseCode, baseline);
+            }
+        } finally {
+            lock.unlock();
+        }
+        await(baseline);
+    }
+
+    /**
+     * Menulis satu kejadian tanpa menunggu fsync
+     * @return Future yang selesai dengan nomor urut setelah record tersimpan di disk
+     */
+    public CompletableFuture<Long> appendAsync(JournalEntry.Type type, String studentId, String courseCode) {
+        lock.lock();
+        try {
+            return enqueue(type, studentId, courseCode);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menulis snapshot state saat ini lalu mengosongkan journal
+     * Replay berikutnya memuat snapshot dan hanya membaca record setelahnya. Record yang
+     * masih menunggu tetap ditulis setelah snapshot dengan nomor urut berikutnya.
+     *
+     * @return Nomor urut record terakhir yang tercakup snapshot
+     * @throws UncheckedIOException jika snapshot atau pengosongan journal gagal
+     * @throws IllegalStateException jika journal sudah ditutup atau rusak
+     */
+    public long compact() {
+        CompletableFuture<Long> done;
+        lock.lock();
+        try {
+            checkWritable();
+            if (compaction == null) {
+                compaction = new CompletableFuture<>();
+                hasPending.signal();
+            }
+            done = compaction;
+        } finally {
+            lock.unlock();
+        }
+        return await(done);
+    }
+
+    /**
+     * Mengatur compaction otomatis
+     * @param bytes Ukuran journal yang memicu compaction setelah sebuah batch tersimpan, 0 untuk mematikan
+     */
+    public void setAutoCompactBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Auto compaction size must not be negative");
+        }
+        this.autoCompactBytes = bytes;
+    }
+
+    /**
+     * Menutup journal setelah seluruh record yang tertunda tersimpan
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasPending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    // Dipanggil dengan lock dipegang
+    private CompletableFuture<Long> enqueue(JournalEntry.Type type, String studentId, String courseCode) {
+        return enqueue(new JournalEntry(nextSequence, type, System.currentTimeMillis(), studentId, courseCode));
+    }
+
+    // Dipanggil dengan lock dipegang; entry harus memakai nextSequence
+    private CompletableFuture<Long> enqueue(JournalEntry entry) {
+        checkWritable();
+        // Batas atas ukuran UTF-8 (3 byte per char) agar record selalu muat di satu payload
+        if ((entry.getStudentId().length() + entry.getCourseCode().length()) * 3 > MAX_PAYLOAD - 25) {
+            throw new IllegalArgumentException("Journal entry too large");
+        }
+        nextSequence++;
+        Pending item = new Pending(entry);
+        pending.add(item);
+        hasPending.signal();
+        return item.future;
+    }
+
+    // Dipanggil dengan lock dipegang
+    private void checkWritable() {
+        if (closed) {
+            throw new IllegalStateException("Enrollment journal is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Enrollment journal failed, reopen to recover", failure);
+        }
+    }
+
+    private void runCommitter() {
+        while (true) {
+            List<Pending> batch;
+            CompletableFuture<Long> request;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && compaction == null && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.isEmpty() && compaction == null) {
+                    return;
+                }
+                // Record yang datang selama fsync berikutnya menjadi batch selanjutnya
+                batch = pending;
+                pending = new ArrayList<>();
+                request = compaction;
+                compaction = null;
+            } finally {
+                lock.unlock();
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+            long threshold = autoCompactBytes;
+            if (request != null || (threshold > 0 && committedEnd >= threshold)) {
+                runCompaction(request);
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(batch.size() * (MAX_PAYLOAD + 8));
+            for (Pending item : batch) {
+                encode(item.entry, buffer);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            committedEnd = channel.position();
+            for (Pending item : batch) {
+                liveState.apply(item.entry);
+            }
+            for (Pending item : batch) {
+                item.future.complete(item.entry.getSequence());
+            }
+        } catch (IOException e) {
+            rollback(batch, new UncheckedIOException("Cannot write enrollment journal: " + file, e));
+        }
+    }
+
+    /**
+     * Menulis liveState ke snapshot lalu memotong journal ke 0, dijalankan di thread committer
+     * di antara dua batch. Jika crash terjadi setelah snapshot tersimpan tetapi sebelum journal
+     * dipotong, replay melewati record yang sudah tercakup snapshot. Jika pemotongan gagal,
+     * journal ditandai rusak seperti pada rollback.
+     */
+    private void runCompaction(CompletableFuture<Long> request) {
+        UncheckedIOException error;
+        lock.lock();
+        try {
+            error = failure;
+        } finally {
+            lock.unlock();
+        }
+        if (error == null) {
+            try {
+                JournalSnapshot.write(snapshotFile, liveState);
+                try {
+                    channel.truncate(0);
+                    channel.position(0);
+                    channel.force(true);
+                    committedEnd = 0;
+                } catch (IOException e) {
+                    error = new UncheckedIOException("Cannot truncate enrollment journal after snapshot: " + file, e);
+                    lock.lock();
+                    try {
+                        failure = error;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } catch (IOException e) {
+                // Snapshot lama dan journal tetap utuh
+                error = new UncheckedIOException("Cannot write enrollment journal snapshot: " + file, e);
+            }
+        }
+        if (request == null) {
+            return;
+        }
+        if (error == null) {
+            request.complete(liveState.getLastSequence());
+        } else {
+            request.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Membuang batch yang gagal dari file (termasuk byte yang sempat tertulis) dan
+     * menggagalkan record yang masih menunggu, agar nomor urut tetap tanpa celah.
+     * Setelah fsync gagal isi file tidak bisa dipastikan, sehingga pemotongan juga di-fsync.
+     */
+    private void rollback(List<Pending> batch, UncheckedIOException cause) {
+        List<Pending> failed = new ArrayList<>(batch);
+        lock.lock();
+        try {
+            try {
+                channel.truncate(committedEnd);
+                channel.position(committedEnd);
+                channel.force(true);
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+                failure = cause;
+            }
+            failed.addAll(pending);
+            pending = new ArrayList<>();
+            nextSequence = batch.get(0).entry.getSequence();
+            for (Pending item : failed) {
+                if (item.entry.getType() == JournalEntry.Type.BASELINE) {
+                    baselines.remove(item.entry.getCourseCode(), item.future);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Pending item : failed) {
+            item.future.completeExceptionally(cause);
+        }
+    }
+
+    private static void encode(JournalEntry entry, ByteBuffer buffer) {
+        byte[] studentId = entry.getStudentId().getBytes(StandardCharsets.UTF_8);
+        byte[] courseCode = entry.getCourseCode().getBytes(StandardCharsets.UTF_8);
+        boolean baseline = entry.getType() == JournalEntry.Type.BASELINE;
+        int payloadLength = 8 + 1 + 8 + 2 + studentId.length + 2 + courseCode.length + (baseline ? 4 : 0);
+        buffer.putInt(payloadLength);
+        int payloadStart = buffer.position();
+        buffer.putLong(entry.getSequence());
+        buffer.put((byte) entry.getType().ordinal());
+        buffer.putLong(entry.getTimestamp());
+        buffer.putShort((short) studentId.length);
+        buffer.put(studentId);
+        buffer.putShort((short) courseCode.length);
+        buffer.put(courseCode);
+        if (baseline) {
+            buffer.putInt(entry.getEnrolledCount());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), payloadStart, payloadLength);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Membaca journal per potongan dan menerapkan record ke state
+     * Record sebelum dan sesudah batas potongan disambung di buffer. Record dengan nomor urut
+     * yang sudah tercakup snapshot dilewati.
+     *
+     * @return Posisi akhir record valid terakhir; tidak pernah melewati bagian file yang sudah dibaca
+     */
+    private static long replay(FileChannel channel, JournalState state) throws IOException {
+        ChunkReader reader = new ChunkReader(channel);
+        long snapshotSequence = state.getLastSequence();
+        long validEnd = 0;
+        long expectedSequence = 0;
+        while (reader.ensure(4)) {
+            ByteBuffer data = reader.buffer;
+            int payloadLength = data.getInt(data.position());
+            if (payloadLength < 21 || payloadLength > MAX_PAYLOAD || !reader.ensure(4 + payloadLength + 4)) {
+                break;
+            }
+            int start = data.position();
+            data.getInt();
+            CRC32 crc = new CRC32();
+            crc.update(data.array(), data.position(), payloadLength);
+            int storedCrc = data.getInt(data.position() + payloadLength);
+            if ((int) crc.getValue() != storedCrc) {
+                break;
+            }
+            long sequence = data.getLong();
+            byte type = data.get();
+            long timestamp = data.getLong();
+            String studentId = readString(data);
+            String courseCode = readString(data);
+            if (type < 0 || type >= JournalEntry.Type.values().length) {
+                break;
+            }
+            JournalEntry.Type entryType = JournalEntry.Type.values()[type];
+            int enrolledCount = entryType == JournalEntry.Type.BASELINE ? data.getInt() : 0;
+            data.getInt(); // CRC
+            if (data.position() != start + 4 + payloadLength + 4) {
+                break;
+            }
+            // Record pertama boleh berada sebelum akhir snapshot (crash sebelum journal dipotong)
+            if (expectedSequence == 0 ? sequence < 1 || sequence > snapshotSequence + 1
+                    : sequence != expectedSequence) {
+                break;
+            }
+            if (sequence > snapshotSequence) {
+                state.apply(new JournalEntry(sequence, entryType, timestamp, studentId, courseCode, enrolledCount));
+            }
+            expectedSequence = sequence + 1;
+            validEnd = reader.position();
+        }
+        return validEnd;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getShort();
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Menunggu hasil commit tanpa bisa di-interrupt
+     * Record yang sudah masuk antrean tetap bisa tersimpan oleh committer, jadi pemanggil
+     * harus menerima hasil sebenarnya agar state di memori sama dengan journal.
+     * Status interrupt thread tetap dipertahankan.
+     */
+    private static long await(CompletableFuture<Long> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw (UncheckedIOException) e.getCause();
+            }
+            throw new IllegalStateException("Journal commit failed", e.getCause());
+        }
+    }
+
+    /**
+     * Buffer baca berukuran tetap; byte yang belum diproses digeser ke awal buffer
+     * sebelum potongan berikutnya dibaca
+     */
+    private static final class ChunkReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(REPLAY_CHUNK);
+        // Posisi file untuk byte pertama di buffer
+        private long offset;
+        private boolean eof;
+
+        ChunkReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        // true jika minimal n byte tersedia mulai dari posisi buffer
+        boolean ensure(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return true;
+            }
+            if (eof) {
+                return false;
+            }
+            offset += buffer.position();
+            buffer.compact();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, offset + buffer.position());
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        long position() {
+            return offset + buffer.position();
+        }
+    }
+
+    private static final class Pending {
+        final JournalEntry entry;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Pending(JournalEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
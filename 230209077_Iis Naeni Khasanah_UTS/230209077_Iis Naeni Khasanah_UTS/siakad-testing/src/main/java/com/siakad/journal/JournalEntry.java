@@ -0,0 +1,69 @@
+package com.siakad.journal;
+
+/**
+ * Satu record di journal enrollment
+ */
+
+public class JournalEntry {
+
+    /**
+     * Jenis kejadian enrollment
+     */
+    public enum Type {
+        ENROLL, DROP,
+        /** Jumlah kursi mata kuliah sebelum kejadian pertamanya di journal */
+        BASELINE
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final long timestamp;
+    private final String studentId;
+    private final String courseCode;
+    private final int enrolledCount;
+
+    public JournalEntry(long sequence, Type type, long timestamp, String studentId, String courseCode) {
+        this(sequence, type, timestamp, studentId, courseCode, 0);
+    }
+
+    public JournalEntry(long sequence, Type type, long timestamp, String studentId, String courseCode,
+                        int enrolledCount) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.enrolledCount = enrolledCount;
+    }
+
+    // Getters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Waktu kejadian dalam epoch milidetik
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * @return Jumlah kursi terisi untuk record BASELINE, 0 untuk jenis lain
+     */
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+}
@@ -0,0 +1,137 @@
+package com.siakad.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot state journal hasil compaction
+ * Berisi jumlah kursi per mata kuliah, enrollment aktif per mahasiswa, dan nomor urut
+ * record terakhir yang sudah tercakup. Saat replay, record journal dengan nomor urut
+ * sampai nomor tersebut dilewati.
+ *
+ * Format: [int magic][long lastSequence][int jumlah mata kuliah]{[UTF kode][int kursi]}
+ * [int jumlah mahasiswa]{[UTF ID][int jumlah][UTF kode]...}[int CRC32 seluruh byte sebelumnya]
+ *
+ * Snapshot ditulis ke file sementara, di-fsync, lalu menggantikan snapshot lama dengan
+ * rename atomik, sehingga file snapshot selalu lengkap.
+ */
+
+final class JournalSnapshot {
+    private static final int MAGIC = 0x534B5331;
+
+    private JournalSnapshot() {
+    }
+
+    static Path pathFor(Path journalFile) {
+        return journalFile.resolveSibling(journalFile.getFileName() + ".snapshot");
+    }
+
+    static void write(Path target, JournalState state) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc)));
+            out.writeInt(MAGIC);
+            out.writeLong(state.getLastSequence());
+            Map<String, Integer> counts = state.getEnrolledCounts();
+            out.writeInt(counts.size());
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            Map<String, Set<String>> enrollments = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : state.getEnrollmentsByStudent().entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    enrollments.put(entry.getKey(), entry.getValue());
+                }
+            }
+            out.writeInt(enrollments.size());
+            for (Map.Entry<String, Set<String>> entry : enrollments.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String courseCode : entry.getValue()) {
+                    out.writeUTF(courseCode);
+                }
+            }
+            out.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) crc.getValue());
+            trailer.flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Memuat snapshot ke state kosong
+     * @return false jika snapshot belum ada
+     * @throws IOException jika snapshot tidak bisa dibaca atau rusak
+     */
+    static boolean read(Path source, JournalState state) throws IOException {
+        if (!Files.exists(source)) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(source)), crc))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an enrollment journal snapshot: " + source);
+            }
+            long lastSequence = in.readLong();
+            int courseCount = readCount(in, source);
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < courseCount; i++) {
+                counts.put(in.readUTF(), in.readInt());
+            }
+            int studentCount = readCount(in, source);
+            Map<String, Set<String>> enrollments = new HashMap<>();
+            for (int i = 0; i < studentCount; i++) {
+                String studentId = in.readUTF();
+                int enrolled = readCount(in, source);
+                Set<String> courses = new LinkedHashSet<>();
+                for (int j = 0; j < enrolled; j++) {
+                    courses.add(in.readUTF());
+                }
+                enrollments.put(studentId, courses);
+            }
+            int expectedCrc = (int) crc.getValue();
+            if (in.readInt() != expectedCrc || in.read() != -1) {
+                throw new IOException("Corrupted enrollment journal snapshot: " + source);
+            }
+            state.restore(lastSequence, counts, enrollments);
+            return true;
+        } catch (EOFException e) {
+            throw new IOException("Truncated enrollment journal snapshot: " + source, e);
+        }
+    }
+
+    private static int readCount(DataInputStream in, Path source) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupted enrollment journal snapshot: " + source);
+        }
+        return count;
+    }
+}
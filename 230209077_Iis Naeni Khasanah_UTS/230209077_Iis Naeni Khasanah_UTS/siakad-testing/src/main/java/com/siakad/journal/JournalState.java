@@ -0,0 +1,98 @@
+package com.siakad.journal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State enrollment hasil replay journal
+ * Berisi jumlah kursi terisi per mata kuliah dan daftar mata kuliah per mahasiswa.
+ * Jumlah kursi dihitung dari record BASELINE mata kuliah (kursi yang sudah terisi
+ * sebelum journal mencatat mata kuliah tersebut) ditambah enroll dan drop setelahnya.
+ * Jika journal pernah di-compact, state diawali dari snapshot.
+ */
+
+public class JournalState {
+    private final Map<String, Integer> enrolledCounts = new HashMap<>();
+    private final Map<String, Set<String>> enrollments = new HashMap<>();
+    private long lastSequence;
+    private int entryCount;
+
+    void apply(JournalEntry entry) {
+        String courseCode = entry.getCourseCode();
+        if (entry.getType() == JournalEntry.Type.BASELINE) {
+            enrolledCounts.put(courseCode, entry.getEnrolledCount());
+        } else if (entry.getType() == JournalEntry.Type.ENROLL) {
+            enrolledCounts.merge(courseCode, 1, Integer::sum);
+            enrollments.computeIfAbsent(entry.getStudentId(), id -> new LinkedHashSet<>()).add(courseCode);
+        } else {
+            enrolledCounts.computeIfPresent(courseCode, (code, count) -> Math.max(0, count - 1));
+            Set<String> courses = enrollments.get(entry.getStudentId());
+            if (courses != null) {
+                courses.remove(courseCode);
+            }
+        }
+        lastSequence = entry.getSequence();
+        entryCount++;
+    }
+
+    // Mengisi state kosong dari snapshot, sebelum record journal setelahnya di-replay
+    void restore(long lastSequence, Map<String, Integer> counts, Map<String, Set<String>> enrollmentsByStudent) {
+        enrolledCounts.putAll(counts);
+        for (Map.Entry<String, Set<String>> entry : enrollmentsByStudent.entrySet()) {
+            enrollments.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+        }
+        this.lastSequence = lastSequence;
+    }
+
+    JournalState copy() {
+        JournalState copy = new JournalState();
+        copy.restore(lastSequence, enrolledCounts, enrollments);
+        copy.entryCount = entryCount;
+        return copy;
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Jumlah kursi terisi menurut journal
+     */
+    public int getEnrolledCount(String courseCode) {
+        return enrolledCounts.getOrDefault(courseCode, 0);
+    }
+
+    public Map<String, Integer> getEnrolledCounts() {
+        return Collections.unmodifiableMap(enrolledCounts);
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang sedang diambil mahasiswa menurut journal
+     */
+    public Set<String> getEnrollments(String studentId) {
+        Set<String> courses = enrollments.get(studentId);
+        return courses == null ? Collections.emptySet() : Collections.unmodifiableSet(courses);
+    }
+
+    /**
+     * @return Seluruh enrollment aktif menurut journal, dikelompokkan per mahasiswa
+     */
+    public Map<String, Set<String>> getEnrollmentsByStudent() {
+        return Collections.unmodifiableMap(enrollments);
+    }
+
+    /**
+     * @return Nomor urut record terakhir yang valid, 0 jika journal kosong
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return Jumlah record valid yang di-replay
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+}
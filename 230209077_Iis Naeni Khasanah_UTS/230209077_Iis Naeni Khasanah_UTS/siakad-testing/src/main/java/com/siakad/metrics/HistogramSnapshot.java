@@ -0,0 +1,71 @@
+package com.siakad.metrics;
+
+/**
+ * Snapshot LatencyHistogram (tidak berubah setelah dibuat)
+ * Seluruh nilai dalam nanodetik.
+ */
+
+public class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    HistogramSnapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return Rata-rata latency, atau 0.0 jika belum ada data
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0.0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Nilai persentil dengan presisi bucket (batas atas bucket, tidak melebihi max)
+     *
+     * @param percentile Persentil 0.0 - 100.0
+     * @return Latency pada persentil tersebut, atau 0 jika belum ada data
+     * @throws IllegalArgumentException jika percentile di luar 0 - 100
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{count=" + count + ", meanNanos=" + Math.round(getMeanNanos())
+                + ", p50=" + getPercentile(50) + ", p99=" + getPercentile(99)
+                + ", max=" + maxNanos + "}";
+    }
+}
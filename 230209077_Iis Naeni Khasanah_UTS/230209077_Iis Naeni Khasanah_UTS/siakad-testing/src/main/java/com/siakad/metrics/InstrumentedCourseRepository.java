@@ -0,0 +1,121 @@
+package com.siakad.metrics;
+
+import com.siakad.model.Course;
+import com.siakad.model.StudentCourse;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.UpdateResult;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Decorator CourseRepository yang mencatat latency dan kegagalan setiap panggilan
+ * Nama operasi: courseRepository.&lt;method&gt;
+ */
+
+public class InstrumentedCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final OperationMetrics findByCourseCode;
+    private final OperationMetrics findAllByCourseCodes;
+    private final OperationMetrics update;
+    private final OperationMetrics compareAndUpdate;
+    private final OperationMetrics isPrerequisiteMet;
+    private final OperationMetrics arePrerequisitesMet;
+
+    public InstrumentedCourseRepository(CourseRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.findByCourseCode = registry.operation("courseRepository.findByCourseCode");
+        this.findAllByCourseCodes = registry.operation("courseRepository.findAllByCourseCodes");
+        this.update = registry.operation("courseRepository.update");
+        this.compareAndUpdate = registry.operation("courseRepository.compareAndUpdate");
+        this.isPrerequisiteMet = registry.operation("courseRepository.isPrerequisiteMet");
+        this.arePrerequisitesMet = registry.operation("courseRepository.arePrerequisitesMet");
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        long start = findByCourseCode.start();
+        try {
+            Course course = delegate.findByCourseCode(courseCode);
+            findByCourseCode.recordSuccess(start);
+            return course;
+        } catch (RuntimeException e) {
+            findByCourseCode.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        long start = findAllByCourseCodes.start();
+        try {
+            Map<String, Course> courses = delegate.findAllByCourseCodes(courseCodes);
+            findAllByCourseCodes.recordSuccess(start);
+            return courses;
+        } catch (RuntimeException e) {
+            findAllByCourseCodes.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void update(Course course) {
+        long start = update.start();
+        try {
+            delegate.update(course);
+            update.recordSuccess(start);
+        } catch (RuntimeException e) {
+            update.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean supportsConditionalUpdate() {
+        return delegate.supportsConditionalUpdate();
+    }
+
+    @Override
+    public Collection<String> findEnrolledStudentIds(String courseCode) {
+        return delegate.findEnrolledStudentIds(courseCode);
+    }
+
+    @Override
+    public UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+        long start = compareAndUpdate.start();
+        try {
+            UpdateResult result = delegate.compareAndUpdate(course, expectedVersion);
+            compareAndUpdate.recordSuccess(start);
+            return result;
+        } catch (RuntimeException e) {
+            compareAndUpdate.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        long start = isPrerequisiteMet.start();
+        try {
+            boolean met = delegate.isPrerequisiteMet(studentId, courseCode);
+            isPrerequisiteMet.recordSuccess(start);
+            return met;
+        } catch (RuntimeException e) {
+            isPrerequisiteMet.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<StudentCourse, Boolean> arePrerequisitesMet(Collection<StudentCourse> checks) {
+        long start = arePrerequisitesMet.start();
+        try {
+            Map<StudentCourse, Boolean> result = delegate.arePrerequisitesMet(checks);
+            arePrerequisitesMet.recordSuccess(start);
+            return result;
+        } catch (RuntimeException e) {
+            arePrerequisitesMet.recordFailure(start, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.siakad.metrics;
+
+import com.siakad.model.Enrollment;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+
+import java.util.List;
+
+/**
+ * Pembungkus EnrollmentService yang mencatat latency setiap operasi dan
+ * jumlah hasil per tipe exception (CourseFullException, PrerequisiteNotMetException, dst.).
+ * Untuk tryEnroll dan enrollOrWaitlist, hasil selain SUCCESS dihitung per nama EnrollmentResult.
+ * Nama operasi: enrollment.&lt;method&gt;
+ */
+
+public class InstrumentedEnrollmentService {
+    private final EnrollmentService delegate;
+    private final OperationMetrics enrollCourse;
+    private final OperationMetrics enrollCourses;
+    private final OperationMetrics tryEnroll;
+    private final OperationMetrics enrollOrWaitlist;
+    private final OperationMetrics validateCreditLimit;
+    private final OperationMetrics dropCourse;
+
+    public InstrumentedEnrollmentService(EnrollmentService delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.enrollCourse = registry.operation("enrollment.enrollCourse");
+        this.enrollCourses = registry.operation("enrollment.enrollCourses");
+        this.tryEnroll = registry.operation("enrollment.tryEnroll");
+        this.enrollOrWaitlist = registry.operation("enrollment.enrollOrWaitlist");
+        this.validateCreditLimit = registry.operation("enrollment.validateCreditLimit");
+        this.dropCourse = registry.operation("enrollment.dropCourse");
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourse(String, String)
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        long start = enrollCourse.start();
+        try {
+            Enrollment enrollment = delegate.enrollCourse(studentId, courseCode);
+            enrollCourse.recordSuccess(start);
+            return enrollment;
+        } catch (RuntimeException e) {
+            enrollCourse.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourses(String, List)
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        long start = enrollCourses.start();
+        try {
+            List<Enrollment> enrollments = delegate.enrollCourses(studentId, courseCodes);
+            enrollCourses.recordSuccess(start);
+            return enrollments;
+        } catch (RuntimeException e) {
+            enrollCourses.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @see EnrollmentService#tryEnroll(String, String)
+     */
+    public EnrollmentResult tryEnroll(String studentId, String courseCode) {
+        long start = tryEnroll.start();
+        try {
+            return record(tryEnroll, start, delegate.tryEnroll(studentId, courseCode));
+        } catch (RuntimeException e) {
+            tryEnroll.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @see EnrollmentService#enrollOrWaitlist(String, String)
+     */
+    public EnrollmentResult enrollOrWaitlist(String studentId, String courseCode) {
+        long start = enrollOrWaitlist.start();
+        try {
+            return record(enrollOrWaitlist, start, delegate.enrollOrWaitlist(studentId, courseCode));
+        } catch (RuntimeException e) {
+            enrollOrWaitlist.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    private static EnrollmentResult record(OperationMetrics operation, long start, EnrollmentResult result) {
+        if (result == EnrollmentResult.SUCCESS) {
+            operation.recordSuccess(start);
+        } else {
+            operation.recordRejection(start, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see EnrollmentService#validateCreditLimit(String, int)
+     */
+    public boolean validateCreditLimit(String studentId, int requestedCredits) {
+        long start = validateCreditLimit.start();
+        try {
+            boolean valid = delegate.validateCreditLimit(studentId, requestedCredits);
+            validateCreditLimit.recordSuccess(start);
+            return valid;
+        } catch (RuntimeException e) {
+            validateCreditLimit.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @see EnrollmentService#dropCourse(String, String)
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        long start = dropCourse.start();
+        try {
+            delegate.dropCourse(studentId, courseCode);
+            dropCourse.recordSuccess(start);
+        } catch (RuntimeException e) {
+            dropCourse.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    public EnrollmentService getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,44 @@
+package com.siakad.metrics;
+
+import com.siakad.service.NotificationService;
+
+/**
+ * Decorator NotificationService yang mencatat latency dan kegagalan pengiriman
+ * Nama operasi: notification.sendEmail dan notification.sendSMS
+ */
+
+public class InstrumentedNotificationService implements NotificationService {
+    private final NotificationService delegate;
+    private final OperationMetrics sendEmail;
+    private final OperationMetrics sendSMS;
+
+    public InstrumentedNotificationService(NotificationService delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.sendEmail = registry.operation("notification.sendEmail");
+        this.sendSMS = registry.operation("notification.sendSMS");
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        long start = sendEmail.start();
+        try {
+            delegate.sendEmail(email, subject, message);
+            sendEmail.recordSuccess(start);
+        } catch (RuntimeException e) {
+            sendEmail.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        long start = sendSMS.start();
+        try {
+            delegate.sendSMS(phone, message);
+            sendSMS.recordSuccess(start);
+        } catch (RuntimeException e) {
+            sendSMS.recordFailure(start, e);
+            throw e;
+        }
+    }
+}
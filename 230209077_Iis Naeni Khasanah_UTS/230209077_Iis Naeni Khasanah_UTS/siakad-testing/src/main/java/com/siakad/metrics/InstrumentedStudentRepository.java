@@ -0,0 +1,95 @@
+package com.siakad.metrics;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorator StudentRepository yang mencatat latency dan kegagalan setiap panggilan
+ * Nama operasi: studentRepository.&lt;method&gt;
+ */
+
+public class InstrumentedStudentRepository implements StudentRepository {
+    private final StudentRepository delegate;
+    private final OperationMetrics findById;
+    private final OperationMetrics findAllByIds;
+    private final OperationMetrics update;
+    private final OperationMetrics updateAll;
+    private final OperationMetrics getCompletedCourses;
+
+    public InstrumentedStudentRepository(StudentRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.findById = registry.operation("studentRepository.findById");
+        this.findAllByIds = registry.operation("studentRepository.findAllByIds");
+        this.update = registry.operation("studentRepository.update");
+        this.updateAll = registry.operation("studentRepository.updateAll");
+        this.getCompletedCourses = registry.operation("studentRepository.getCompletedCourses");
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        long start = findById.start();
+        try {
+            Student student = delegate.findById(studentId);
+            findById.recordSuccess(start);
+            return student;
+        } catch (RuntimeException e) {
+            findById.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        long start = findAllByIds.start();
+        try {
+            Map<String, Student> students = delegate.findAllByIds(studentIds);
+            findAllByIds.recordSuccess(start);
+            return students;
+        } catch (RuntimeException e) {
+            findAllByIds.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void update(Student student) {
+        long start = update.start();
+        try {
+            delegate.update(student);
+            update.recordSuccess(start);
+        } catch (RuntimeException e) {
+            update.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        long start = updateAll.start();
+        try {
+            delegate.updateAll(students);
+            updateAll.recordSuccess(start);
+        } catch (RuntimeException e) {
+            updateAll.recordFailure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        long start = getCompletedCourses.start();
+        try {
+            List<Course> courses = delegate.getCompletedCourses(studentId);
+            getCompletedCourses.recordSuccess(start);
+            return courses;
+        } catch (RuntimeException e) {
+            getCompletedCourses.recordFailure(start, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.siakad.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Kumpulan metrik operasi, diakses dengan nama seperti "enrollment.enrollCourse"
+ * Wrapper Instrumented* mengambil OperationMetrics sekali saat dibuat,
+ * sehingga jalur panas tidak melakukan lookup nama.
+ */
+
+public class MetricsRegistry {
+    private final ConcurrentHashMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public MetricsRegistry() {
+        this(System::nanoTime);
+    }
+
+    MetricsRegistry(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @param name Nama operasi
+     * @return OperationMetrics yang sama untuk nama yang sama
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, key -> new OperationMetrics(key, clock));
+    }
+
+    /**
+     * Snapshot seluruh operasi untuk endpoint pull (misalnya /metrics)
+     * @return MetricsSnapshot terurut berdasarkan nama operasi
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, OperationSnapshot> result = new TreeMap<>();
+        for (OperationMetrics metrics : operations.values()) {
+            result.put(metrics.getName(), metrics.snapshot());
+        }
+        return new MetricsSnapshot(result);
+    }
+}
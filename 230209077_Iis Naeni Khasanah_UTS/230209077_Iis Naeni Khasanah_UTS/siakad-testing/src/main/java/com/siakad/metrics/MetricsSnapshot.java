@@ -0,0 +1,56 @@
+package com.siakad.metrics;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Snapshot seluruh metrik (tidak berubah setelah dibuat)
+ */
+
+public class MetricsSnapshot {
+    private final Map<String, OperationSnapshot> operations;
+
+    MetricsSnapshot(Map<String, OperationSnapshot> operations) {
+        this.operations = Collections.unmodifiableMap(operations);
+    }
+
+    public Map<String, OperationSnapshot> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @param name Nama operasi
+     * @return Snapshot operasi, atau null jika operasi belum pernah tercatat
+     */
+    public OperationSnapshot getOperation(String name) {
+        return operations.get(name);
+    }
+
+    /**
+     * Format teks sederhana, satu baris per operasi, latency dalam mikrodetik
+     * @return Teks untuk endpoint pull
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        for (OperationSnapshot operation : operations.values()) {
+            HistogramSnapshot latency = operation.getLatency();
+            text.append(operation.getName())
+                    .append(" count=").append(latency.getCount())
+                    .append(" success=").append(operation.getSuccessCount())
+                    .append(" mean_us=").append(String.format(Locale.ROOT, "%.3f", latency.getMeanNanos() / 1000.0))
+                    .append(" p50_us=").append(toMicros(latency.getPercentile(50)))
+                    .append(" p99_us=").append(toMicros(latency.getPercentile(99)))
+                    .append(" max_us=").append(toMicros(latency.getMaxNanos()));
+            for (Map.Entry<String, Long> failure : operation.getFailureCounts().entrySet()) {
+                text.append(' ').append(failure.getKey()).append('=').append(failure.getValue());
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+}
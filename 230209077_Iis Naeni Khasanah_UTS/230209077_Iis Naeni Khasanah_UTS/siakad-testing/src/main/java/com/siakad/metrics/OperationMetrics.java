@@ -0,0 +1,77 @@
+package com.siakad.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrik untuk satu operasi: histogram latency, jumlah sukses,
+ * dan jumlah kegagalan per tipe exception atau per alasan penolakan.
+ * Pemanggil menyimpan hasil start() lalu memanggil recordSuccess atau recordFailure.
+ */
+
+public class OperationMetrics {
+    private final String name;
+    private final LongSupplier clock;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successCount = new LongAdder();
+    // Key: tipe exception atau konstanta enum alasan penolakan
+    private final ConcurrentHashMap<Object, LongAdder> failureCounts = new ConcurrentHashMap<>();
+
+    OperationMetrics(String name, LongSupplier clock) {
+        this.name = name;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Waktu mulai (nanodetik) untuk diteruskan ke recordSuccess / recordFailure
+     */
+    public long start() {
+        return clock.getAsLong();
+    }
+
+    public void recordSuccess(long startNanos) {
+        latency.record(clock.getAsLong() - startNanos);
+        successCount.increment();
+    }
+
+    public void recordFailure(long startNanos, Throwable error) {
+        recordFailure(startNanos, (Object) error.getClass());
+    }
+
+    /**
+     * Mencatat penolakan yang dikembalikan sebagai hasil, bukan exception
+     * @param reason Alasan penolakan, dihitung per nama konstanta (misalnya COURSE_FULL)
+     */
+    public void recordRejection(long startNanos, Enum<?> reason) {
+        recordFailure(startNanos, (Object) reason);
+    }
+
+    private void recordFailure(long startNanos, Object key) {
+        latency.record(clock.getAsLong() - startNanos);
+        LongAdder counter = failureCounts.get(key);
+        if (counter == null) {
+            counter = failureCounts.computeIfAbsent(key, type -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * @return Snapshot metrik operasi ini
+     */
+    public OperationSnapshot snapshot() {
+        Map<String, Long> failures = new TreeMap<>();
+        for (Map.Entry<Object, LongAdder> entry : failureCounts.entrySet()) {
+            Object key = entry.getKey();
+            String label = key instanceof Class ? ((Class<?>) key).getSimpleName() : ((Enum<?>) key).name();
+            failures.merge(label, entry.getValue().sum(), Long::sum);
+        }
+        return new OperationSnapshot(name, latency.snapshot(), successCount.sum(), failures);
+    }
+}
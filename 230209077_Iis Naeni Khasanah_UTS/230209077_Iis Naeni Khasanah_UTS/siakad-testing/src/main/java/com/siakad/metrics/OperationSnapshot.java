@@ -0,0 +1,53 @@
+package com.siakad.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot metrik satu operasi (tidak berubah setelah dibuat)
+ */
+
+public class OperationSnapshot {
+    private final String name;
+    private final HistogramSnapshot latency;
+    private final long successCount;
+    private final Map<String, Long> failureCounts;
+
+    OperationSnapshot(String name, HistogramSnapshot latency, long successCount, Map<String, Long> failureCounts) {
+        this.name = name;
+        this.latency = latency;
+        this.successCount = successCount;
+        this.failureCounts = Collections.unmodifiableMap(failureCounts);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * @return Jumlah kegagalan per nama sederhana class exception, misalnya "CourseFullException"
+     */
+    public Map<String, Long> getFailureCounts() {
+        return failureCounts;
+    }
+
+    /**
+     * @param exceptionName Nama sederhana class exception, atau nama alasan penolakan (misalnya COURSE_FULL)
+     * @return Jumlah kegagalan dengan exception atau alasan tersebut
+     */
+    public long getFailureCount(String exceptionName) {
+        return failureCounts.getOrDefault(exceptionName, 0L);
+    }
+
+    public long getTotalCount() {
+        return latency.getCount();
+    }
+}
@@ -0,0 +1,12 @@
+package com.siakad.model;
+
+/**
+ * Status akademik mahasiswa
+ * name() sama dengan nilai String yang disimpan di Student.academicStatus
+ */
+
+public enum AcademicStatus {
+    ACTIVE,
+    PROBATION,
+    SUSPENDED
+}
@@ -15,6 +15,7 @@ public class Course {
     private int enrolledCount;
     private String lecturer;
     private List<String> prerequisites; // Mata kuliah prasyarat
+    private long version; // Dinaikkan repository setiap kali data disimpan
 
     public Course() {
         this.prerequisites = new ArrayList<>();
@@ -80,6 +81,14 @@ public class Course {
         this.lecturer = lecturer;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public List<String> getPrerequisites() {
         return prerequisites;
     }
@@ -0,0 +1,156 @@
+package com.siakad.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data mata kuliah yang tidak bisa diubah (read model)
+ * Aman dibagikan antar thread dan disimpan di cache tanpa salinan defensif.
+ * Perubahan dilakukan lewat helper with*, yang mengembalikan instance baru
+ * dan memakai ulang field lain termasuk daftar prasyarat. withEnrolledCount dan
+ * withCapacity tidak mengubah versi; versi hanya dinaikkan repository saat data disimpan.
+ */
+
+public final class CourseSnapshot {
+    private final String courseCode;
+    private final String courseName;
+    private final int credits;
+    private final int capacity;
+    private final int enrolledCount;
+    private final String lecturer;
+    private final List<String> prerequisites;
+    private final long version;
+
+    public CourseSnapshot(String courseCode, String courseName, int credits,
+                          int capacity, int enrolledCount, String lecturer, List<String> prerequisites) {
+        this(courseCode, courseName, credits, capacity, enrolledCount, lecturer, prerequisites, 0);
+    }
+
+    public CourseSnapshot(String courseCode, String courseName, int credits, int capacity,
+                          int enrolledCount, String lecturer, List<String> prerequisites, long version) {
+        this.courseCode = Objects.requireNonNull(courseCode, "courseCode");
+        this.courseName = courseName;
+        this.credits = credits;
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+        this.lecturer = lecturer;
+        this.prerequisites = prerequisites == null ? List.of() : List.copyOf(prerequisites);
+        this.version = version;
+    }
+
+    private CourseSnapshot(CourseSnapshot base, int capacity, int enrolledCount, long version) {
+        this.courseCode = base.courseCode;
+        this.courseName = base.courseName;
+        this.credits = base.credits;
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+        this.lecturer = base.lecturer;
+        this.prerequisites = base.prerequisites;
+        this.version = version;
+    }
+
+    /**
+     * @param course Course yang akan disalin
+     * @return Snapshot dari kondisi Course saat ini
+     */
+    public static CourseSnapshot of(Course course) {
+        return new CourseSnapshot(course.getCourseCode(), course.getCourseName(), course.getCredits(),
+                course.getCapacity(), course.getEnrolledCount(), course.getLecturer(), course.getPrerequisites(),
+                course.getVersion());
+    }
+
+    /**
+     * @return Course baru yang bisa diubah, untuk API yang masih memakai Course
+     */
+    public Course toCourse() {
+        Course course = new Course(courseCode, courseName, credits, capacity, enrolledCount, lecturer);
+        course.setPrerequisites(new ArrayList<>(prerequisites));
+        course.setVersion(version);
+        return course;
+    }
+
+    public CourseSnapshot withEnrolledCount(int enrolledCount) {
+        return enrolledCount == this.enrolledCount ? this : new CourseSnapshot(this, capacity, enrolledCount, version);
+    }
+
+    public CourseSnapshot withCapacity(int capacity) {
+        return capacity == this.capacity ? this : new CourseSnapshot(this, capacity, enrolledCount, version);
+    }
+
+    /**
+     * Dipakai repository saat menyimpan snapshot
+     */
+    public CourseSnapshot withVersion(long version) {
+        return version == this.version ? this : new CourseSnapshot(this, capacity, enrolledCount, version);
+    }
+
+    public boolean isFull() {
+        return enrolledCount >= capacity;
+    }
+
+    // Getters
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public String getLecturer() {
+        return lecturer;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Daftar prasyarat yang tidak bisa diubah
+     */
+    public List<String> getPrerequisites() {
+        return prerequisites;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CourseSnapshot)) {
+            return false;
+        }
+        CourseSnapshot other = (CourseSnapshot) o;
+        return version == other.version
+                && credits == other.credits
+                && capacity == other.capacity
+                && enrolledCount == other.enrolledCount
+                && courseCode.equals(other.courseCode)
+                && Objects.equals(courseName, other.courseName)
+                && Objects.equals(lecturer, other.lecturer)
+                && prerequisites.equals(other.prerequisites);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseCode, courseName, credits, capacity, enrolledCount, lecturer, prerequisites, version);
+    }
+
+    @Override
+    public String toString() {
+        return courseCode + " (" + enrolledCount + "/" + capacity + ")";
+    }
+}
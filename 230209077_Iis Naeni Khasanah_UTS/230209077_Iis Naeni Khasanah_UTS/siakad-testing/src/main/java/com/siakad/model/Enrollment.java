@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
  */
 
 public class Enrollment {
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
     private String enrollmentId;
+    private long enrollmentNumber; // ID numerik, dirender ke enrollmentId saat dibutuhkan
     private String studentId;
     private String courseCode;
     private LocalDateTime enrollmentDate;
@@ -27,11 +30,28 @@ public class Enrollment {
 
     // Getters and Setters
     public String getEnrollmentId() {
+        if (enrollmentId == null && enrollmentNumber != 0) {
+            enrollmentId = render(enrollmentNumber);
+        }
         return enrollmentId;
     }
 
     public void setEnrollmentId(String enrollmentId) {
         this.enrollmentId = enrollmentId;
+        this.enrollmentNumber = 0;
+    }
+
+    public long getEnrollmentNumber() {
+        return enrollmentNumber;
+    }
+
+    /**
+     * Menyimpan ID numerik; string "ENR-..." baru dibuat saat getEnrollmentId() dipanggil
+     * @param enrollmentNumber ID numerik dari EnrollmentIdGenerator
+     */
+    public void setEnrollmentNumber(long enrollmentNumber) {
+        this.enrollmentNumber = enrollmentNumber;
+        this.enrollmentId = null;
     }
 
     public String getStudentId() {
@@ -65,4 +85,20 @@ public class Enrollment {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    // Base32 Crockford: 64-bit ID menjadi maksimal 13 karakter
+    private static String render(long number) {
+        char[] buffer = new char[17];
+        int position = buffer.length;
+        long remaining = number;
+        do {
+            buffer[--position] = BASE32[(int) (remaining & 31)];
+            remaining >>>= 5;
+        } while (remaining != 0);
+        buffer[--position] = '-';
+        buffer[--position] = 'R';
+        buffer[--position] = 'N';
+        buffer[--position] = 'E';
+        return new String(buffer, position, buffer.length - position);
+    }
 }
\ No newline at end of file
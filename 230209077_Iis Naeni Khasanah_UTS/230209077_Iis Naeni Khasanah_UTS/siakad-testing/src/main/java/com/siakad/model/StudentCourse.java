@@ -0,0 +1,50 @@
+package com.siakad.model;
+
+import java.util.Objects;
+
+/**
+ * Pasangan mahasiswa dan mata kuliah
+ * Digunakan sebagai kunci untuk pengecekan prasyarat secara batch
+ */
+
+public class StudentCourse {
+    private final String studentId;
+    private final String courseCode;
+
+    public StudentCourse(String studentId, String courseCode) {
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+    }
+
+    // Getters
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StudentCourse)) {
+            return false;
+        }
+        StudentCourse other = (StudentCourse) o;
+        return Objects.equals(studentId, other.studentId)
+                && Objects.equals(courseCode, other.courseCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseCode);
+    }
+
+    @Override
+    public String toString() {
+        return studentId + "/" + courseCode;
+    }
+}
@@ -0,0 +1,132 @@
+package com.siakad.model;
+
+import java.util.Objects;
+
+/**
+ * Data mahasiswa yang tidak bisa diubah (read model)
+ * Status akademik disimpan sebagai AcademicStatus, bukan String,
+ * sehingga status yang tidak dikenal ditolak saat snapshot dibuat.
+ * Perubahan dilakukan lewat helper with*, yang mengembalikan instance baru.
+ */
+
+public final class StudentSnapshot {
+    private final String studentId;
+    private final String name;
+    private final String email;
+    private final String major;
+    private final int semester;
+    private final double gpa;
+    private final AcademicStatus academicStatus;
+
+    public StudentSnapshot(String studentId, String name, String email, String major,
+                           int semester, double gpa, AcademicStatus academicStatus) {
+        this.studentId = Objects.requireNonNull(studentId, "studentId");
+        this.name = name;
+        this.email = email;
+        this.major = major;
+        this.semester = semester;
+        this.gpa = gpa;
+        this.academicStatus = academicStatus;
+    }
+
+    /**
+     * @param student Student yang akan disalin
+     * @return Snapshot dari kondisi Student saat ini
+     * @throws IllegalArgumentException jika academicStatus tidak dikenal
+     */
+    public static StudentSnapshot of(Student student) {
+        String status = student.getAcademicStatus();
+        return new StudentSnapshot(student.getStudentId(), student.getName(), student.getEmail(),
+                student.getMajor(), student.getSemester(), student.getGpa(),
+                status == null ? null : AcademicStatus.valueOf(status));
+    }
+
+    /**
+     * @return Student baru yang bisa diubah, untuk API yang masih memakai Student
+     */
+    public Student toStudent() {
+        return new Student(studentId, name, email, major, semester, gpa,
+                academicStatus == null ? null : academicStatus.name());
+    }
+
+    public StudentSnapshot withGpa(double gpa) {
+        return new StudentSnapshot(studentId, name, email, major, semester, gpa, academicStatus);
+    }
+
+    public StudentSnapshot withSemester(int semester) {
+        return new StudentSnapshot(studentId, name, email, major, semester, gpa, academicStatus);
+    }
+
+    public StudentSnapshot withAcademicStatus(AcademicStatus academicStatus) {
+        return academicStatus == this.academicStatus ? this
+                : new StudentSnapshot(studentId, name, email, major, semester, gpa, academicStatus);
+    }
+
+    /**
+     * Versi praktis untuk memperbarui IPK dan status sekaligus setelah nilai diposting
+     */
+    public StudentSnapshot withGpaAndStatus(double gpa, AcademicStatus academicStatus) {
+        return new StudentSnapshot(studentId, name, email, major, semester, gpa, academicStatus);
+    }
+
+    public boolean isSuspended() {
+        return academicStatus == AcademicStatus.SUSPENDED;
+    }
+
+    // Getters
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMajor() {
+        return major;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    public AcademicStatus getAcademicStatus() {
+        return academicStatus;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StudentSnapshot)) {
+            return false;
+        }
+        StudentSnapshot other = (StudentSnapshot) o;
+        return semester == other.semester
+                && Double.compare(gpa, other.gpa) == 0
+                && studentId.equals(other.studentId)
+                && Objects.equals(name, other.name)
+                && Objects.equals(email, other.email)
+                && Objects.equals(major, other.major)
+                && academicStatus == other.academicStatus;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, name, email, major, semester, gpa, academicStatus);
+    }
+
+    @Override
+    public String toString() {
+        return studentId + " (" + academicStatus + ")";
+    }
+}
@@ -0,0 +1,173 @@
+package com.siakad.repository;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache berukuran terbatas dengan TTL per entry
+ * Dipakai bersama oleh decorator caching repository
+ *
+ * Hit dilayani dari ConcurrentHashMap tanpa lock; akses hanya menandai entry.
+ * Eviction memakai algoritma CLOCK (second chance) yang mendekati LRU: entry yang
+ * ditandai sejak putaran terakhir dilewati sekali, entry lain dibuang. Lock hanya
+ * diambil oleh put dan invalidate.
+ *
+ * Setiap key memiliki generasi (dibagi ke beberapa slot) yang dinaikkan invalidate.
+ * Pemanggil membaca stamp sebelum memuat data dari repository asli, dan put
+ * dibatalkan jika generasi sudah berubah, sehingga data lama yang selesai dimuat
+ * setelah update tidak masuk ke cache.
+ */
+
+class BoundedCache<K, V> {
+    private static final int GENERATION_SLOTS = 64;
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    // Urutan putaran CLOCK; bisa berisi entry yang sudah dihapus, dibersihkan saat eviction
+    private final ArrayDeque<Entry<K, V>> clock = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    BoundedCache(int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return Value yang masih berlaku, atau null jika tidak ada / sudah kedaluwarsa
+     */
+    V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            if (nanoClock.getAsLong() - entry.expiresAt < 0) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Dibaca sebelum memuat value dari repository asli, lalu diteruskan ke put
+     *
+     * @return Generasi key saat ini
+     */
+    long stamp(K key) {
+        return generations.get(slot(key));
+    }
+
+    /**
+     * Menyimpan value hasil load
+     * Diabaikan jika key sudah di-invalidate sejak stamp dibaca.
+     *
+     * @param stamp Hasil stamp(key) sebelum value dimuat
+     */
+    void put(K key, V value, long stamp) {
+        if (value == null) {
+            return;
+        }
+        Entry<K, V> entry = new Entry<>(key, value, nanoClock.getAsLong() + ttlNanos);
+        lock.lock();
+        try {
+            if (generations.get(slot(key)) != stamp) {
+                return;
+            }
+            entries.put(key, entry);
+            clock.addLast(entry);
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        // Generasi dinaikkan sebelum entry dibuang agar load yang sedang berjalan tidak menyimpan data lama
+        generations.incrementAndGet(slot(key));
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        for (int i = 0; i < GENERATION_SLOTS; i++) {
+            generations.incrementAndGet(i);
+        }
+        lock.lock();
+        try {
+            entries.clear();
+            clock.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries.size());
+    }
+
+    // Dipanggil dengan lock dipegang
+    private void evictOverflow() {
+        while (entries.size() > maximumSize) {
+            Entry<K, V> candidate = clock.pollFirst();
+            if (entries.get(candidate.key) != candidate) {
+                continue; // Sudah dihapus, kedaluwarsa, atau diganti value baru
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.addLast(candidate);
+            } else if (entries.remove(candidate.key, candidate)) {
+                evictions.increment();
+            }
+        }
+        if (clock.size() > 2 * maximumSize) {
+            clock.removeIf(e -> entries.get(e.key) != e);
+        }
+    }
+
+    private static int slot(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_SLOTS - 1);
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        final long expiresAt;
+        volatile boolean referenced;
+
+        Entry(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
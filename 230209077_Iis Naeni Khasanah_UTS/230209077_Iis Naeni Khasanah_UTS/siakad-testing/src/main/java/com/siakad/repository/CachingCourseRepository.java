@@ -0,0 +1,140 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseSnapshot;
+import com.siakad.model.StudentCourse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator read-through cache untuk CourseRepository
+ * Ukuran cache terbatas (mendekati LRU), setiap entry memiliki TTL, dan update()
+ * diteruskan ke repository asli lalu meng-invalidate entry di cache. Hasil load
+ * yang dimulai sebelum invalidate tidak disimpan ke cache.
+ * Cache menyimpan CourseSnapshot; setiap hit mengembalikan Course baru sehingga
+ * perubahan oleh pemanggil tidak pernah terlihat oleh pemanggil lain.
+ */
+
+public class CachingCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final BoundedCache<String, CourseSnapshot> cache;
+
+    public CachingCourseRepository(CourseRepository delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, System::nanoTime);
+    }
+
+    CachingCourseRepository(CourseRepository delegate, int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maximumSize, ttl, nanoClock);
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        CourseSnapshot cached = cache.get(courseCode);
+        if (cached != null) {
+            return cached.toCourse();
+        }
+        long stamp = cache.stamp(courseCode);
+        Course course = delegate.findByCourseCode(courseCode);
+        cache.put(courseCode, snapshotOf(course), stamp);
+        return course;
+    }
+
+    /**
+     * @return Snapshot mata kuliah yang dibagikan tanpa salinan, atau null jika tidak ditemukan
+     */
+    public CourseSnapshot findSnapshot(String courseCode) {
+        CourseSnapshot cached = cache.get(courseCode);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(courseCode);
+        CourseSnapshot loaded = snapshotOf(delegate.findByCourseCode(courseCode));
+        cache.put(courseCode, loaded, stamp);
+        return loaded;
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        Map<String, Long> missing = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            CourseSnapshot cached = cache.get(courseCode);
+            if (cached != null) {
+                result.put(courseCode, cached.toCourse());
+            } else {
+                missing.put(courseCode, cache.stamp(courseCode));
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Course> loaded = delegate.findAllByCourseCodes(missing.keySet());
+            for (Map.Entry<String, Course> entry : loaded.entrySet()) {
+                Long stamp = missing.get(entry.getKey());
+                if (stamp != null) {
+                    cache.put(entry.getKey(), snapshotOf(entry.getValue()), stamp);
+                }
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Course course) {
+        // Write-through: repository asli diupdate dulu, baru entry cache dibuang
+        delegate.update(course);
+        cache.invalidate(course.getCourseCode());
+    }
+
+    @Override
+    public boolean supportsConditionalUpdate() {
+        return delegate.supportsConditionalUpdate();
+    }
+
+    @Override
+    public Collection<String> findEnrolledStudentIds(String courseCode) {
+        return delegate.findEnrolledStudentIds(courseCode);
+    }
+
+    @Override
+    public UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+        // Entry dibuang juga saat CONFLICT agar retry membaca versi terbaru dari repository asli
+        try {
+            return delegate.compareAndUpdate(course, expectedVersion);
+        } finally {
+            cache.invalidate(course.getCourseCode());
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    @Override
+    public Map<StudentCourse, Boolean> arePrerequisitesMet(Collection<StudentCourse> checks) {
+        return delegate.arePrerequisitesMet(checks);
+    }
+
+    private static CourseSnapshot snapshotOf(Course course) {
+        return course == null ? null : CourseSnapshot.of(course);
+    }
+
+    /**
+     * Membuang seluruh isi cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Statistik hit/miss/eviction cache
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
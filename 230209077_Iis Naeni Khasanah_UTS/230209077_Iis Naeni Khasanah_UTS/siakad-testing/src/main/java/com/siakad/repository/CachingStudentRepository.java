@@ -0,0 +1,130 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.model.StudentSnapshot;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator read-through cache untuk StudentRepository
+ * Ukuran cache terbatas (mendekati LRU), setiap entry memiliki TTL, dan update()
+ * diteruskan ke repository asli lalu meng-invalidate entry di cache. Hasil load
+ * yang dimulai sebelum invalidate tidak disimpan ke cache.
+ * Cache menyimpan StudentSnapshot; setiap hit mengembalikan Student baru sehingga
+ * perubahan oleh pemanggil tidak pernah terlihat oleh pemanggil lain.
+ * Mahasiswa dengan status akademik yang tidak dikenal dan daftar mata kuliah
+ * yang sudah diselesaikan tidak di-cache.
+ */
+
+public class CachingStudentRepository implements StudentRepository {
+    private final StudentRepository delegate;
+    private final BoundedCache<String, StudentSnapshot> cache;
+
+    public CachingStudentRepository(StudentRepository delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, System::nanoTime);
+    }
+
+    CachingStudentRepository(StudentRepository delegate, int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maximumSize, ttl, nanoClock);
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        StudentSnapshot cached = cache.get(studentId);
+        if (cached != null) {
+            return cached.toStudent();
+        }
+        long stamp = cache.stamp(studentId);
+        Student student = delegate.findById(studentId);
+        cache.put(studentId, snapshotOf(student), stamp);
+        return student;
+    }
+
+    /**
+     * @return Snapshot mahasiswa yang dibagikan tanpa salinan, atau null jika tidak ditemukan
+     * @throws IllegalArgumentException jika status akademik tidak dikenal
+     */
+    public StudentSnapshot findSnapshot(String studentId) {
+        StudentSnapshot cached = cache.get(studentId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(studentId);
+        Student student = delegate.findById(studentId);
+        if (student == null) {
+            return null;
+        }
+        StudentSnapshot loaded = StudentSnapshot.of(student);
+        cache.put(studentId, loaded, stamp);
+        return loaded;
+    }
+
+    @Override
+    public Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        Map<String, Student> result = new LinkedHashMap<>();
+        Map<String, Long> missing = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            StudentSnapshot cached = cache.get(studentId);
+            if (cached != null) {
+                result.put(studentId, cached.toStudent());
+            } else {
+                missing.put(studentId, cache.stamp(studentId));
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Student> loaded = delegate.findAllByIds(missing.keySet());
+            for (Map.Entry<String, Student> entry : loaded.entrySet()) {
+                Long stamp = missing.get(entry.getKey());
+                if (stamp != null) {
+                    cache.put(entry.getKey(), snapshotOf(entry.getValue()), stamp);
+                }
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Student student) {
+        // Write-through: repository asli diupdate dulu, baru entry cache dibuang
+        delegate.update(student);
+        cache.invalidate(student.getStudentId());
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return delegate.getCompletedCourses(studentId);
+    }
+
+    private static StudentSnapshot snapshotOf(Student student) {
+        if (student == null) {
+            return null;
+        }
+        try {
+            return StudentSnapshot.of(student);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Membuang seluruh isi cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Statistik hit/miss/eviction cache
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -1,6 +1,12 @@
 package com.siakad.repository;
 
 import com.siakad.model.Course;
+import com.siakad.model.StudentCourse;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Interface untuk akses data mata kuliah
@@ -16,12 +22,54 @@ public interface CourseRepository {
      */
     Course findByCourseCode(String courseCode);
 
+    /**
+     * Mencari banyak mata kuliah sekaligus dalam satu panggilan
+     * Implementasi default memanggil findByCourseCode satu per satu
+     *
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Map kode mata kuliah ke Course, kode yang tidak ditemukan tidak dimasukkan
+     */
+    default Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = findByCourseCode(courseCode);
+            if (course != null) {
+                result.put(courseCode, course);
+            }
+        }
+        return result;
+    }
+
     /**
      * Update data mata kuliah
      * @param course Course object yang akan diupdate
      */
     void update(Course course);
 
+    /**
+     * Mengecek apakah repository mendukung compareAndUpdate
+     * Implementasi default mengembalikan false, sehingga service memakai update biasa
+     *
+     * @return true jika compareAndUpdate didukung
+     */
+    default boolean supportsConditionalUpdate() {
+        return false;
+    }
+
+    /**
+     * Update bersyarat (optimistic concurrency control)
+     * Data hanya disimpan jika versi yang tersimpan sama dengan expectedVersion.
+     * Jika berhasil, versi tersimpan menjadi expectedVersion + 1 dan course.version ikut diperbarui.
+     *
+     * @param course Course object yang akan diupdate
+     * @param expectedVersion Versi saat course dibaca
+     * @return APPLIED, CONFLICT jika versi sudah berubah, atau NOT_FOUND
+     * @throws UnsupportedOperationException jika supportsConditionalUpdate() bernilai false
+     */
+    default UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+        throw new UnsupportedOperationException("Conditional update is not supported");
+    }
+
     /**
      * Mengecek apakah prasyarat mata kuliah sudah terpenuhi
      * @param studentId ID mahasiswa
@@ -29,4 +77,31 @@ public interface CourseRepository {
      * @return true jika prasyarat terpenuhi, false jika tidak
      */
     boolean isPrerequisiteMet(String studentId, String courseCode);
+
+    /**
+     * Mengecek prasyarat untuk banyak pasangan (mahasiswa, mata kuliah) sekaligus
+     * Implementasi default memanggil isPrerequisiteMet satu per satu
+     *
+     * @param checks Kumpulan pasangan mahasiswa dan mata kuliah
+     * @return Map pasangan ke hasil pengecekan (true jika prasyarat terpenuhi)
+     */
+    default Map<StudentCourse, Boolean> arePrerequisitesMet(Collection<StudentCourse> checks) {
+        Map<StudentCourse, Boolean> result = new LinkedHashMap<>();
+        for (StudentCourse check : checks) {
+            result.put(check, isPrerequisiteMet(check.getStudentId(), check.getCourseCode()));
+        }
+        return result;
+    }
+
+    /**
+     * Mengambil ID mahasiswa yang sudah terdaftar di mata kuliah
+     * Dipakai EnrollmentService untuk mengisi index pendaftaran satu kali per mata kuliah.
+     * Implementasi default mengembalikan list kosong (data peserta tidak tersedia)
+     *
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa yang terdaftar
+     */
+    default Collection<String> findEnrolledStudentIds(String courseCode) {
+        return Collections.emptyList();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.StudentCourse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorator CourseRepository yang menjawab pengecekan prasyarat dari PrerequisiteGraph
+ * Daftar mata kuliah yang sudah diselesaikan diambil dari StudentRepository,
+ * diubah menjadi bitset, lalu dicocokkan dengan prasyarat di graf.
+ * Mata kuliah yang tidak dikenal graf (misalnya ditambahkan setelah graf dibangun)
+ * dicek oleh repository asli. Operasi lain diteruskan ke repository asli.
+ */
+
+public class GraphPrerequisiteCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final StudentRepository studentRepository;
+    private volatile PrerequisiteGraph graph;
+
+    public GraphPrerequisiteCourseRepository(CourseRepository delegate,
+                                             StudentRepository studentRepository,
+                                             PrerequisiteGraph graph) {
+        this.delegate = delegate;
+        this.studentRepository = studentRepository;
+        this.graph = graph;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return delegate.findByCourseCode(courseCode);
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        return delegate.findAllByCourseCodes(courseCodes);
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+    }
+
+    @Override
+    public boolean supportsConditionalUpdate() {
+        return delegate.supportsConditionalUpdate();
+    }
+
+    @Override
+    public Collection<String> findEnrolledStudentIds(String courseCode) {
+        return delegate.findEnrolledStudentIds(courseCode);
+    }
+
+    @Override
+    public UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+        return delegate.compareAndUpdate(course, expectedVersion);
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        PrerequisiteGraph current = graph;
+        if (!current.contains(courseCode)) {
+            return delegate.isPrerequisiteMet(studentId, courseCode);
+        }
+        return current.isPrerequisiteMet(courseCode,
+                current.toCourseSet(studentRepository.getCompletedCourses(studentId)));
+    }
+
+    @Override
+    public Map<StudentCourse, Boolean> arePrerequisitesMet(Collection<StudentCourse> checks) {
+        PrerequisiteGraph current = graph;
+        // Transkrip setiap mahasiswa hanya diambil sekali
+        Map<String, long[]> completedByStudent = new HashMap<>();
+        Map<StudentCourse, Boolean> result = new LinkedHashMap<>();
+        List<StudentCourse> unknown = new ArrayList<>();
+        for (StudentCourse check : checks) {
+            if (!current.contains(check.getCourseCode())) {
+                unknown.add(check);
+                result.put(check, Boolean.FALSE);
+                continue;
+            }
+            long[] completed = completedByStudent.computeIfAbsent(check.getStudentId(),
+                    id -> current.toCourseSet(studentRepository.getCompletedCourses(id)));
+            result.put(check, current.isPrerequisiteMet(check.getCourseCode(), completed));
+        }
+        if (!unknown.isEmpty()) {
+            Map<StudentCourse, Boolean> fromDelegate = delegate.arePrerequisitesMet(unknown);
+            for (StudentCourse check : unknown) {
+                result.put(check, Boolean.TRUE.equals(fromDelegate.get(check)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mengganti graf prasyarat, misalnya setelah kurikulum dimuat ulang
+     * @param graph Graf baru
+     */
+    public void setGraph(PrerequisiteGraph graph) {
+        this.graph = graph;
+    }
+}
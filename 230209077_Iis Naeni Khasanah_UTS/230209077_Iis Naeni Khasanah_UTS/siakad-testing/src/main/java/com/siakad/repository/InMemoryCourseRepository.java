@@ -0,0 +1,249 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CourseRepository di memori untuk node registrasi
+ * Mata kuliah dibagi ke beberapa stripe berdasarkan hash kode mata kuliah.
+ * Setiap stripe menyimpan map yang tidak pernah diubah setelah dipublikasikan
+ * (copy-on-write), sehingga findByCourseCode tidak memakai lock sama sekali dan
+ * update hanya mengunci stripe miliknya sendiri.
+ *
+ * Data disimpan sebagai CourseSnapshot yang tidak bisa diubah. findSnapshot dan
+ * snapshotIterator membagikan instance yang sama tanpa salinan, sedangkan
+ * findByCourseCode membuat Course baru karena pemanggil (misalnya EnrollmentService)
+ * mengubah objek Course sebelum update.
+ *
+ * Setiap penyimpanan menaikkan versi mata kuliah, sehingga compareAndUpdate bisa
+ * mendeteksi update dari node atau thread lain tanpa mengunci data selama proses enroll.
+ */
+
+public class InMemoryCourseRepository implements CourseRepository {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final StudentRepository studentRepository;
+
+    /**
+     * @param studentRepository Sumber mata kuliah yang sudah diselesaikan untuk pengecekan prasyarat
+     */
+    public InMemoryCourseRepository(StudentRepository studentRepository) {
+        this(studentRepository, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param studentRepository Sumber mata kuliah yang sudah diselesaikan untuk pengecekan prasyarat
+     * @param stripeCount Jumlah stripe, dibulatkan ke atas menjadi pangkat dua
+     */
+    public InMemoryCourseRepository(StudentRepository studentRepository, int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        CourseSnapshot course = stripeFor(courseCode).courses.get(courseCode);
+        return course == null ? null : course.toCourse();
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Snapshot mata kuliah yang dibagikan tanpa salinan, atau null jika tidak ditemukan
+     */
+    public CourseSnapshot findSnapshot(String courseCode) {
+        return stripeFor(courseCode).courses.get(courseCode);
+    }
+
+    @Override
+    public void update(Course course) {
+        course.setVersion(update(CourseSnapshot.of(course)));
+    }
+
+    /**
+     * Menyimpan snapshot tanpa konversi dari Course, tanpa memeriksa versi
+     * @param snapshot Snapshot mata kuliah
+     * @return Versi baru yang tersimpan
+     */
+    public long update(CourseSnapshot snapshot) {
+        Stripe stripe = stripeFor(snapshot.getCourseCode());
+        stripe.lock.lock();
+        try {
+            CourseSnapshot current = stripe.courses.get(snapshot.getCourseCode());
+            return store(stripe, snapshot, current == null ? 0 : current.getVersion());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean supportsConditionalUpdate() {
+        return true;
+    }
+
+    @Override
+    public UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+        Stripe stripe = stripeFor(course.getCourseCode());
+        stripe.lock.lock();
+        try {
+            CourseSnapshot current = stripe.courses.get(course.getCourseCode());
+            if (current == null) {
+                return UpdateResult.NOT_FOUND;
+            }
+            if (current.getVersion() != expectedVersion) {
+                return UpdateResult.CONFLICT;
+            }
+            course.setVersion(store(stripe, CourseSnapshot.of(course), expectedVersion));
+            return UpdateResult.APPLIED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Menghapus mata kuliah dari repository
+     * @param courseCode Kode mata kuliah
+     * @return true jika mata kuliah ada sebelumnya
+     */
+    public boolean remove(String courseCode) {
+        Stripe stripe = stripeFor(courseCode);
+        stripe.lock.lock();
+        try {
+            if (!stripe.courses.containsKey(courseCode)) {
+                return false;
+            }
+            Map<String, CourseSnapshot> next = new HashMap<>(stripe.courses);
+            next.remove(courseCode);
+            stripe.courses = next;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Prasyarat terpenuhi jika seluruh kode prasyarat ada di daftar mata kuliah
+     * yang sudah diselesaikan mahasiswa. Mata kuliah yang tidak dikenal
+     * dianggap tidak memiliki prasyarat.
+     */
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        CourseSnapshot course = stripeFor(courseCode).courses.get(courseCode);
+        if (course == null || course.getPrerequisites().isEmpty()) {
+            return true;
+        }
+        Set<String> completed = new HashSet<>();
+        List<Course> completedCourses = studentRepository.getCompletedCourses(studentId);
+        if (completedCourses != null) {
+            for (Course done : completedCourses) {
+                completed.add(done.getCourseCode());
+            }
+        }
+        return completed.containsAll(course.getPrerequisites());
+    }
+
+    /**
+     * @return Jumlah mata kuliah saat ini
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.courses.size();
+        }
+        return size;
+    }
+
+    /**
+     * Iterator snapshot yang konsisten untuk laporan
+     * Seluruh stripe dikunci sebentar hanya untuk mengambil referensi map saat ini,
+     * sehingga hasil iterasi mencerminkan satu titik waktu dan tidak terpengaruh
+     * update setelahnya.
+     *
+     * @return Iterator snapshot mata kuliah, urutan tidak dijamin
+     */
+    public Iterator<CourseSnapshot> snapshotIterator() {
+        List<Map<String, CourseSnapshot>> captured = new ArrayList<>(stripes.length);
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            for (Stripe stripe : stripes) {
+                if (!stripe.courses.isEmpty()) {
+                    captured.add(stripe.courses);
+                }
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+        return new SnapshotIterator(captured);
+    }
+
+    /**
+     * Dipanggil dengan lock stripe sudah dipegang
+     */
+    private static long store(Stripe stripe, CourseSnapshot snapshot, long currentVersion) {
+        long version = currentVersion + 1;
+        Map<String, CourseSnapshot> next = new HashMap<>(stripe.courses);
+        next.put(snapshot.getCourseCode(), snapshot.withVersion(version));
+        stripe.courses = next;
+        return version;
+    }
+
+    private Stripe stripeFor(String courseCode) {
+        int h = courseCode.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Tidak pernah diubah setelah dipublikasikan; update mengganti seluruh map
+        private volatile Map<String, CourseSnapshot> courses = Collections.emptyMap();
+    }
+
+    private static final class SnapshotIterator implements Iterator<CourseSnapshot> {
+        private final Iterator<Map<String, CourseSnapshot>> maps;
+        private Iterator<CourseSnapshot> current = Collections.emptyIterator();
+
+        SnapshotIterator(List<Map<String, CourseSnapshot>> maps) {
+            this.maps = maps.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && maps.hasNext()) {
+                current = maps.next().values().iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public CourseSnapshot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Implementasi StudentRepository berbasis file memory-mapped
+ * Data mahasiswa disimpan di luar heap sebagai record berukuran tetap, sedangkan
+ * string (ID, nama, email, jurusan) disimpan di string pool pada file yang sama.
+ * Index ID ke slot record memakai open addressing dengan array int, sehingga
+ * jumlah objek di heap tidak bertambah seiring jumlah mahasiswa.
+ * findById membuat objek Student baru dari record; update menulis langsung ke record
+ * (mahasiswa baru ditambahkan sebagai record baru).
+ *
+ * Layout file: header 64 byte, lalu capacity record x 32 byte, lalu string pool.
+ * String pool bersifat append-only: string yang berubah ditulis ulang di akhir pool.
+ */
+
+public class MappedStudentRepository implements StudentRepository, Closeable {
+    private static final int MAGIC = 0x5349414B; // "SIAK"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 32;
+
+    // Offset field header
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_COUNT = 12;
+    private static final int H_POOL_USED = 16;
+    private static final int H_POOL_CAPACITY = 20;
+
+    // Offset field record
+    private static final int R_ID = 0;
+    private static final int R_NAME = 4;
+    private static final int R_EMAIL = 8;
+    private static final int R_MAJOR = 12;
+    private static final int R_SEMESTER = 16;
+    private static final int R_STATUS = 20;
+    private static final int R_GPA = 24;
+
+    private static final int[] STRING_FIELDS = {R_NAME, R_EMAIL, R_MAJOR};
+
+    private static final int NULL_STRING = -1;
+    private static final String[] STATUS_CODES = {null, "ACTIVE", "PROBATION", "SUSPENDED"};
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int poolStart;
+    private final int poolCapacity;
+    private final int[] index; // slot + 1, 0 = kosong
+    private final int indexMask;
+    private final Function<String, List<Course>> completedCourses;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int count;
+    private int poolUsed;
+
+    private MappedStudentRepository(FileChannel channel, MappedByteBuffer buffer, int capacity,
+                                    int poolCapacity, Function<String, List<Course>> completedCourses) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.poolStart = HEADER_SIZE + capacity * RECORD_SIZE;
+        this.poolCapacity = poolCapacity;
+        this.completedCourses = completedCourses;
+        this.count = buffer.getInt(H_COUNT);
+        this.poolUsed = buffer.getInt(H_POOL_USED);
+
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.index = new int[tableSize];
+        this.indexMask = tableSize - 1;
+        for (int slot = 0; slot < count; slot++) {
+            index[probe(readIdBytes(slot))] = slot + 1;
+        }
+    }
+
+    /**
+     * Membuka file repository, atau membuat file baru jika belum ada
+     *
+     * @param file Lokasi file data
+     * @param capacity Jumlah maksimal mahasiswa (diabaikan jika file sudah ada)
+     * @param poolBytes Ukuran string pool dalam byte (diabaikan jika file sudah ada)
+     * @return Repository yang siap dipakai
+     * @throws UncheckedIOException jika file tidak bisa dibuka
+     * @throws IllegalArgumentException jika file bukan file repository yang valid
+     */
+    public static MappedStudentRepository open(Path file, int capacity, int poolBytes) {
+        return open(file, capacity, poolBytes, studentId -> Collections.emptyList());
+    }
+
+    /**
+     * Sama dengan open(file, capacity, poolBytes), dengan sumber data mata kuliah yang sudah diselesaikan
+     * File ini hanya menyimpan data mahasiswa; getCompletedCourses diteruskan ke completedCourses.
+     */
+    public static MappedStudentRepository open(Path file, int capacity, int poolBytes,
+                                               Function<String, List<Course>> completedCourses) {
+        try {
+            boolean exists = Files.exists(file) && Files.size(file) >= HEADER_SIZE;
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (!exists) {
+                    if (capacity < 1 || poolBytes < 1) {
+                        throw new IllegalArgumentException("Capacity and pool size must be positive");
+                    }
+                    long size = HEADER_SIZE + (long) capacity * RECORD_SIZE + poolBytes;
+                    if (size > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Repository file must be smaller than 2 GB");
+                    }
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    buffer.putInt(H_MAGIC, MAGIC);
+                    buffer.putInt(H_VERSION, VERSION);
+                    buffer.putInt(H_CAPACITY, capacity);
+                    buffer.putInt(H_COUNT, 0);
+                    buffer.putInt(H_POOL_USED, 0);
+                    buffer.putInt(H_POOL_CAPACITY, poolBytes);
+                    return new MappedStudentRepository(channel, buffer, capacity, poolBytes, completedCourses);
+                }
+
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (buffer.getInt(H_MAGIC) != MAGIC || buffer.getInt(H_VERSION) != VERSION) {
+                    throw new IllegalArgumentException("Not a student repository file: " + file);
+                }
+                return new MappedStudentRepository(channel, buffer, buffer.getInt(H_CAPACITY),
+                        buffer.getInt(H_POOL_CAPACITY), completedCourses);
+            } catch (RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open student repository: " + file, e);
+        }
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        byte[] key = studentId.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            int slot = index[probe(key)] - 1;
+            return slot < 0 ? null : materialize(slot, studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Menulis data mahasiswa langsung ke record-nya; mahasiswa baru ditambahkan sebagai record baru
+     * @throws IllegalStateException jika kapasitas record atau string pool sudah habis
+     * @throws IllegalArgumentException jika status akademik tidak dikenal
+     */
+    @Override
+    public void update(Student student) {
+        lock.writeLock().lock();
+        try {
+            write(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        lock.writeLock().lock();
+        try {
+            for (Student student : students) {
+                write(student);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return completedCourses.apply(studentId);
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang tersimpan
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah byte string pool yang sudah terpakai
+     */
+    public int getPoolBytesUsed() {
+        lock.readLock().lock();
+        try {
+            return poolUsed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memaksa perubahan ditulis ke disk
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Seluruh validasi (kapasitas, status, panjang string, sisa pool) dilakukan sebelum
+     * ada byte yang ditulis, sehingga kegagalan tidak meninggalkan record setengah jadi.
+     * Mahasiswa baru baru terlihat setelah record lengkap, lewat index dan H_COUNT.
+     */
+    private void write(Student student) {
+        byte[] key = student.getStudentId().getBytes(StandardCharsets.UTF_8);
+        byte status = statusCode(student.getAcademicStatus());
+        int position = probe(key);
+        int slot = index[position] - 1;
+        boolean added = slot < 0;
+        if (added && count >= capacity) {
+            throw new IllegalStateException("Student repository is full: " + capacity);
+        }
+        int record = recordOffset(added ? count : slot);
+
+        String[] values = {student.getName(), student.getEmail(), student.getMajor()};
+        byte[][] changed = new byte[STRING_FIELDS.length][];
+        int required = added ? pooledSize(key) : 0;
+        for (int i = 0; i < STRING_FIELDS.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            byte[] bytes = values[i].getBytes(StandardCharsets.UTF_8);
+            int current = added ? NULL_STRING : buffer.getInt(record + STRING_FIELDS[i]);
+            // String yang tidak berubah tidak ditulis ulang ke pool
+            if (current == NULL_STRING || !poolEquals(current, bytes)) {
+                changed[i] = bytes;
+                required += pooledSize(bytes);
+            }
+        }
+        if (poolUsed + required > poolCapacity) {
+            throw new IllegalStateException("Student repository string pool is full: " + poolCapacity);
+        }
+
+        if (added) {
+            buffer.putInt(record + R_ID, appendString(key));
+        }
+        for (int i = 0; i < STRING_FIELDS.length; i++) {
+            if (values[i] == null) {
+                buffer.putInt(record + STRING_FIELDS[i], NULL_STRING);
+            } else if (changed[i] != null) {
+                buffer.putInt(record + STRING_FIELDS[i], appendString(changed[i]));
+            }
+        }
+        buffer.putInt(record + R_SEMESTER, student.getSemester());
+        buffer.put(record + R_STATUS, status);
+        buffer.putDouble(record + R_GPA, student.getGpa());
+
+        if (added) {
+            index[position] = count + 1;
+            count++;
+            buffer.putInt(H_COUNT, count);
+        }
+    }
+
+    private Student materialize(int slot, String studentId) {
+        int record = recordOffset(slot);
+        Student student = new Student();
+        student.setStudentId(studentId);
+        student.setName(readString(buffer.getInt(record + R_NAME)));
+        student.setEmail(readString(buffer.getInt(record + R_EMAIL)));
+        student.setMajor(readString(buffer.getInt(record + R_MAJOR)));
+        student.setSemester(buffer.getInt(record + R_SEMESTER));
+        student.setAcademicStatus(STATUS_CODES[buffer.get(record + R_STATUS)]);
+        student.setGpa(buffer.getDouble(record + R_GPA));
+        return student;
+    }
+
+    // Mencari posisi index untuk key: posisi berisi slot key tersebut, atau posisi kosong pertama
+    private int probe(byte[] key) {
+        int position = mix(hash(key)) & indexMask;
+        while (true) {
+            int entry = index[position];
+            if (entry == 0 || poolEquals(buffer.getInt(recordOffset(entry - 1) + R_ID), key)) {
+                return position;
+            }
+            position = (position + 1) & indexMask;
+        }
+    }
+
+    // Ukuran string di pool (panjang + isi)
+    private static int pooledSize(byte[] bytes) {
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for student repository");
+        }
+        return 2 + bytes.length;
+    }
+
+    // Sisa pool sudah diperiksa oleh write
+    private int appendString(byte[] bytes) {
+        int offset = poolUsed;
+        int position = poolStart + offset;
+        buffer.putShort(position, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(position + 2 + i, bytes[i]);
+        }
+        poolUsed += 2 + bytes.length;
+        buffer.putInt(H_POOL_USED, poolUsed);
+        return offset;
+    }
+
+    private String readString(int offset) {
+        if (offset == NULL_STRING) {
+            return null;
+        }
+        int position = poolStart + offset;
+        byte[] bytes = new byte[buffer.getShort(position)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean poolEquals(int offset, byte[] bytes) {
+        int position = poolStart + offset;
+        if (buffer.getShort(position) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(position + 2 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] readIdBytes(int slot) {
+        int position = poolStart + buffer.getInt(recordOffset(slot) + R_ID);
+        byte[] bytes = new byte[buffer.getShort(position)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return bytes;
+    }
+
+    private static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private static byte statusCode(String status) {
+        for (byte code = 0; code < STATUS_CODES.length; code++) {
+            if (status == null ? STATUS_CODES[code] == null : status.equals(STATUS_CODES[code])) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("Unknown academic status: " + status);
+    }
+
+    private static int hash(byte[] key) {
+        int h = 1;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        return h;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
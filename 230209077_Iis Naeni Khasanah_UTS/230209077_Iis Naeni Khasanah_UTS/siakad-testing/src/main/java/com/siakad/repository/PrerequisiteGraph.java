@@ -0,0 +1,245 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.util.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Indeks graf prasyarat mata kuliah di memori
+ * Setiap kode mata kuliah diberi handle padat dari SymbolTable. Prasyarat langsung dan
+ * prasyarat transitif disimpan sebagai bitset (long[]), sehingga pengecekan
+ * prasyarat cukup dengan operasi AND per word terhadap bitset mata kuliah
+ * yang sudah diselesaikan mahasiswa. Siklus prasyarat ditolak saat graf dibangun.
+ */
+
+public class PrerequisiteGraph {
+    private final SymbolTable symbols;
+    private final int size;
+    private final long[][] direct;
+    private final long[][] transitive;
+    private final long[] courses;
+
+    private PrerequisiteGraph(SymbolTable symbols, int size, long[][] direct, long[][] transitive, long[] courses) {
+        this.symbols = symbols;
+        this.size = size;
+        this.direct = direct;
+        this.transitive = transitive;
+        this.courses = courses;
+    }
+
+    /**
+     * Membangun graf dari seluruh mata kuliah
+     *
+     * @param courses Seluruh mata kuliah beserta daftar prasyaratnya
+     * @return PrerequisiteGraph yang tidak berubah setelah dibuat
+     * @throws IllegalArgumentException jika ditemukan siklus prasyarat
+     */
+    public static PrerequisiteGraph build(Collection<Course> courses) {
+        return build(courses, new SymbolTable());
+    }
+
+    /**
+     * Membangun graf dengan tabel simbol kode mata kuliah yang dipakai bersama,
+     * misalnya oleh EnrollmentIndex, sehingga handle yang sama berlaku di keduanya
+     *
+     * @param courses Seluruh mata kuliah beserta daftar prasyaratnya
+     * @param symbols Tabel simbol kode mata kuliah
+     * @return PrerequisiteGraph yang tidak berubah setelah dibuat
+     * @throws IllegalArgumentException jika ditemukan siklus prasyarat
+     */
+    public static PrerequisiteGraph build(Collection<Course> courses, SymbolTable symbols) {
+        for (Course course : courses) {
+            symbols.intern(course.getCourseCode());
+        }
+        // Prasyarat yang tidak ada di daftar mata kuliah tetap mendapat handle
+        for (Course course : courses) {
+            if (course.getPrerequisites() != null) {
+                for (String prerequisite : course.getPrerequisites()) {
+                    symbols.intern(prerequisite);
+                }
+            }
+        }
+
+        // Simbol yang di-intern setelah graf dibuat dianggap tidak dikenal graf
+        int n = symbols.size();
+        BitSet[] edges = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            edges[i] = new BitSet(n);
+        }
+        for (Course course : courses) {
+            int id = symbols.lookup(course.getCourseCode());
+            if (course.getPrerequisites() != null) {
+                for (String prerequisite : course.getPrerequisites()) {
+                    edges[id].set(symbols.lookup(prerequisite));
+                }
+            }
+        }
+
+        BitSet[] closure = new BitSet[n];
+        byte[] state = new byte[n]; // 0 = belum dikunjungi, 1 = sedang dikunjungi, 2 = selesai
+        for (int i = 0; i < n; i++) {
+            if (state[i] == 0) {
+                computeClosure(i, edges, closure, state, new ArrayList<>(), symbols);
+            }
+        }
+
+        int words = (n + 63) >>> 6;
+        long[] defined = new long[words];
+        for (Course course : courses) {
+            int id = symbols.lookup(course.getCourseCode());
+            defined[id >>> 6] |= 1L << id;
+        }
+        long[][] direct = new long[n][];
+        long[][] transitive = new long[n][];
+        for (int i = 0; i < n; i++) {
+            direct[i] = toWords(edges[i], words);
+            transitive[i] = toWords(closure[i], words);
+        }
+        return new PrerequisiteGraph(symbols, n, direct, transitive, defined);
+    }
+
+    /**
+     * @return Jumlah kode mata kuliah yang dikenal graf
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return true jika mata kuliah ada di daftar mata kuliah saat graf dibangun;
+     *         kode yang hanya muncul sebagai prasyarat atau di-intern setelahnya tidak termasuk
+     */
+    public boolean contains(String courseCode) {
+        int id = handleOf(courseCode);
+        return id != SymbolTable.ABSENT && (courses[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Mengubah daftar mata kuliah yang sudah diselesaikan menjadi bitset
+     * Kode yang tidak dikenal graf diabaikan
+     *
+     * @param completedCourses Mata kuliah yang sudah diselesaikan
+     * @return Bitset mata kuliah yang sudah diselesaikan
+     */
+    public long[] toCourseSet(Collection<Course> completedCourses) {
+        long[] set = new long[(size + 63) >>> 6];
+        if (completedCourses != null) {
+            for (Course course : completedCourses) {
+                int id = handleOf(course.getCourseCode());
+                if (id != SymbolTable.ABSENT) {
+                    set[id >>> 6] |= 1L << id;
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Mengecek apakah seluruh prasyarat langsung mata kuliah ada di bitset completed
+     * Mata kuliah yang tidak dikenal graf dianggap tidak memiliki prasyarat
+     *
+     * @param courseCode Kode mata kuliah
+     * @param completed Bitset hasil toCourseSet
+     * @return true jika prasyarat terpenuhi
+     */
+    public boolean isPrerequisiteMet(String courseCode, long[] completed) {
+        int id = handleOf(courseCode);
+        if (id == SymbolTable.ABSENT) {
+            return true;
+        }
+        long[] required = direct[id];
+        for (int w = 0; w < required.length; w++) {
+            if ((required[w] & ~completed[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Versi praktis dari isPrerequisiteMet untuk daftar Course
+     */
+    public boolean isPrerequisiteMet(String courseCode, Collection<Course> completedCourses) {
+        return isPrerequisiteMet(courseCode, toCourseSet(completedCourses));
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Kode prasyarat langsung, kosong jika tidak dikenal
+     */
+    public Set<String> directPrerequisites(String courseCode) {
+        int id = handleOf(courseCode);
+        return id == SymbolTable.ABSENT ? Collections.emptySet() : toCodes(direct[id]);
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Seluruh prasyarat langsung dan tidak langsung, kosong jika tidak dikenal
+     */
+    public Set<String> transitivePrerequisites(String courseCode) {
+        int id = handleOf(courseCode);
+        return id == SymbolTable.ABSENT ? Collections.emptySet() : toCodes(transitive[id]);
+    }
+
+    private Set<String> toCodes(long[] words) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                result.add(symbols.name((w << 6) + bit));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private int handleOf(String courseCode) {
+        int id = symbols.lookup(courseCode);
+        return id < size ? id : SymbolTable.ABSENT;
+    }
+
+    private static void computeClosure(int node, BitSet[] edges, BitSet[] closure, byte[] state,
+                                       List<Integer> path, SymbolTable symbols) {
+        state[node] = 1;
+        path.add(node);
+        BitSet reach = new BitSet(edges.length);
+        BitSet next = edges[node];
+        for (int p = next.nextSetBit(0); p >= 0; p = next.nextSetBit(p + 1)) {
+            if (state[p] == 1) {
+                throw new IllegalArgumentException("Prerequisite cycle detected: " + describeCycle(path, p, symbols));
+            }
+            if (state[p] == 0) {
+                computeClosure(p, edges, closure, state, path, symbols);
+            }
+            reach.set(p);
+            reach.or(closure[p]);
+        }
+        closure[node] = reach;
+        state[node] = 2;
+        path.remove(path.size() - 1);
+    }
+
+    private static String describeCycle(List<Integer> path, int repeated, SymbolTable symbols) {
+        StringBuilder cycle = new StringBuilder();
+        for (int i = path.indexOf(repeated); i < path.size(); i++) {
+            cycle.append(symbols.name(path.get(i))).append(" -> ");
+        }
+        return cycle.append(symbols.name(repeated)).toString();
+    }
+
+    private static long[] toWords(BitSet bits, int words) {
+        long[] result = new long[words];
+        long[] raw = bits.toLongArray();
+        System.arraycopy(raw, 0, result, 0, raw.length);
+        return result;
+    }
+}
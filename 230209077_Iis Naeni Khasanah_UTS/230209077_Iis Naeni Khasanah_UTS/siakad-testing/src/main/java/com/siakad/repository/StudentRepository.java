@@ -4,7 +4,10 @@ package com.siakad.repository;
 import com.siakad.model.Course;
 import com.siakad.model.Student;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface untuk akses data mahasiswa
@@ -20,12 +23,42 @@ public interface StudentRepository {
      */
     Student findById(String studentId);
 
+    /**
+     * Mencari banyak mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil findById satu per satu
+     *
+     * @param studentIds Kumpulan ID mahasiswa
+     * @return Map ID mahasiswa ke Student, ID yang tidak ditemukan tidak dimasukkan
+     */
+    default Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        Map<String, Student> result = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            Student student = findById(studentId);
+            if (student != null) {
+                result.put(studentId, student);
+            }
+        }
+        return result;
+    }
+
     /**
      * Update data mahasiswa
      * @param student Student object yang akan diupdate
      */
     void update(Student student);
 
+    /**
+     * Update banyak mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil update satu per satu
+     *
+     * @param students Kumpulan Student yang akan diupdate
+     */
+    default void updateAll(Collection<Student> students) {
+        for (Student student : students) {
+            update(student);
+        }
+    }
+
     /**
      * Mendapatkan daftar mata kuliah yang sudah diselesaikan mahasiswa
      * @param studentId ID mahasiswa
@@ -0,0 +1,56 @@
+package com.siakad.repository;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface untuk akses transkrip nilai mahasiswa
+ * StudentRepository.getCompletedCourses hanya berisi data mata kuliah tanpa nilai,
+ * sedangkan perhitungan IPK membutuhkan grade point setiap mata kuliah.
+ */
+
+public interface TranscriptRepository {
+
+    /**
+     * Mendapatkan seluruh nilai mata kuliah yang sudah diselesaikan mahasiswa
+     * @param studentId ID mahasiswa
+     * @return List of CourseGrade, kosong jika belum ada nilai
+     */
+    List<CourseGrade> getTranscript(String studentId);
+
+    /**
+     * Menyimpan (atau mengganti) nilai satu mata kuliah di transkrip
+     * Implementasi default menolak penulisan untuk repository yang hanya bisa dibaca
+     *
+     * @param studentId ID mahasiswa
+     * @param grade Nilai mata kuliah
+     */
+    default void saveGrade(String studentId, CourseGrade grade) {
+        throw new UnsupportedOperationException("Transcript repository is read-only");
+    }
+
+    /**
+     * Menyimpan nilai banyak mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil saveGrade satu per satu
+     *
+     * @param gradesByStudent Nilai per ID mahasiswa
+     */
+    default void saveGrades(Map<String, CourseGrade> gradesByStudent) {
+        for (Map.Entry<String, CourseGrade> entry : gradesByStudent.entrySet()) {
+            saveGrade(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Menghapus nilai satu mata kuliah dari transkrip
+     * Implementasi default menolak penulisan untuk repository yang hanya bisa dibaca
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     */
+    default void removeGrade(String studentId, String courseCode) {
+        throw new UnsupportedOperationException("Transcript repository is read-only");
+    }
+}
@@ -0,0 +1,14 @@
+package com.siakad.repository;
+
+/**
+ * Hasil CourseRepository.compareAndUpdate
+ */
+
+public enum UpdateResult {
+    /** Data disimpan dan versi dinaikkan */
+    APPLIED,
+    /** Versi tersimpan berbeda dari versi yang diharapkan, data tidak disimpan */
+    CONFLICT,
+    /** Data tidak ditemukan */
+    NOT_FOUND
+}
@@ -0,0 +1,243 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Kebijakan akademik (status akademik dan batas SKS) yang dikompilasi menjadi tabel
+ * Ambang IPK per band semester dikompilasi menjadi tabel padat yang diindeks IPK dalam
+ * perseratus (0 - 400) dan band semester.
+ * Evaluasi hanya berupa pembacaan array: tanpa percabangan aturan dan tanpa alokasi.
+ *
+ * Aturan bawaan ditulis di kode (builtIn), sehingga tidak bergantung pada file apa pun.
+ * File properties hanya menimpa nilai bawaan: academic-policy.properties di classpath
+ * (opsional), lalu file yang ditunjuk system property siakad.academic-policy.
+ */
+
+public class AcademicPolicy {
+    public static final String POLICY_FILE_PROPERTY = "siakad.academic-policy";
+
+    private static final int GPA_STEPS = 401;
+    private static final AcademicStatus[] STATUSES = AcademicStatus.values();
+
+    private static volatile AcademicPolicy defaultPolicy;
+
+    private final byte[] bandBySemester;
+    private final byte[] statusTable;
+    private final int[] maxCreditsTable;
+
+    private AcademicPolicy(byte[] bandBySemester, byte[] statusTable, int[] maxCreditsTable) {
+        this.bandBySemester = bandBySemester;
+        this.statusTable = statusTable;
+        this.maxCreditsTable = maxCreditsTable;
+    }
+
+    /**
+     * @return Kebijakan default: aturan bawaan ditambah file override jika ada (dimuat sekali)
+     * @throws IllegalStateException jika file override tidak bisa dibaca
+     * @throws IllegalArgumentException jika isi file override tidak valid
+     */
+    public static AcademicPolicy defaults() {
+        AcademicPolicy policy = defaultPolicy;
+        if (policy == null) {
+            synchronized (AcademicPolicy.class) {
+                policy = defaultPolicy;
+                if (policy == null) {
+                    policy = loadDefault();
+                    defaultPolicy = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Kebijakan bawaan, sama dengan aturan GradeCalculator sebelum kebijakan bisa dikonfigurasi
+     * @return AcademicPolicy hasil kompilasi, tanpa membaca file
+     */
+    public static AcademicPolicy builtIn() {
+        return compile(builtInProperties());
+    }
+
+    /**
+     * Memuat kebijakan dari file properties
+     * Key yang tidak ada di file memakai nilai bawaan.
+     *
+     * @param file Path file properties
+     * @return AcademicPolicy hasil kompilasi
+     * @throws UncheckedIOException jika file tidak bisa dibaca
+     * @throws IllegalArgumentException jika isi kebijakan tidak valid
+     */
+    public static AcademicPolicy load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read academic policy: " + file, e);
+        }
+    }
+
+    public static AcademicPolicy load(InputStream in) throws IOException {
+        Properties properties = new Properties(builtInProperties());
+        properties.load(in);
+        return compile(properties);
+    }
+
+    /**
+     * Mengompilasi kebijakan menjadi tabel
+     *
+     * @param properties semester.bands, band.N.active, band.N.probation, credits.limits
+     * @return AcademicPolicy hasil kompilasi
+     * @throws IllegalArgumentException jika ada nilai yang hilang atau tidak valid
+     */
+    public static AcademicPolicy compile(Properties properties) {
+        // Band semester
+        String[] bandEnds = required(properties, "semester.bands").split(",");
+        int bands = bandEnds.length + 1;
+        int lastEnd = 0;
+        int[] ends = new int[bandEnds.length];
+        for (int i = 0; i < bandEnds.length; i++) {
+            ends[i] = Integer.parseInt(bandEnds[i].trim());
+            if (ends[i] <= lastEnd) {
+                throw new IllegalArgumentException("semester.bands must be positive and increasing");
+            }
+            lastEnd = ends[i];
+        }
+        byte[] bandBySemester = new byte[lastEnd + 2];
+        for (int semester = 1; semester < bandBySemester.length; semester++) {
+            int band = 0;
+            while (band < ends.length && semester > ends[band]) {
+                band++;
+            }
+            bandBySemester[semester] = (byte) band;
+        }
+
+        // Status per band dan IPK
+        byte[] statusTable = new byte[bands * GPA_STEPS];
+        for (int band = 0; band < bands; band++) {
+            int active = hundredths(required(properties, "band." + band + ".active"));
+            int probation = hundredths(required(properties, "band." + band + ".probation"));
+            if (probation > active) {
+                throw new IllegalArgumentException("band." + band + ".probation must not exceed active");
+            }
+            for (int gpa = 0; gpa < GPA_STEPS; gpa++) {
+                AcademicStatus status = gpa >= active ? AcademicStatus.ACTIVE
+                        : gpa >= probation ? AcademicStatus.PROBATION : AcademicStatus.SUSPENDED;
+                statusTable[band * GPA_STEPS + gpa] = (byte) status.ordinal();
+            }
+        }
+
+        // Batas SKS per IPK
+        TreeMap<Integer, Integer> limits = new TreeMap<>();
+        for (String limit : required(properties, "credits.limits").split(",")) {
+            String[] parts = limit.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid credits limit: " + limit);
+            }
+            limits.put(hundredths(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        if (!limits.containsKey(0)) {
+            throw new IllegalArgumentException("credits.limits must include 0.00");
+        }
+        int[] maxCreditsTable = new int[GPA_STEPS];
+        for (int gpa = 0; gpa < GPA_STEPS; gpa++) {
+            maxCreditsTable[gpa] = limits.floorEntry(gpa).getValue();
+        }
+        return new AcademicPolicy(bandBySemester, statusTable, maxCreditsTable);
+    }
+
+    /**
+     * Status akademik dari IPK dan semester
+     *
+     * @param gpa IPK (0.0 - 4.0), dibaca dengan presisi dua desimal
+     * @param semester Semester (harus > 0)
+     * @return AcademicStatus
+     * @throws IllegalArgumentException jika gpa atau semester invalid
+     */
+    public AcademicStatus status(double gpa, int semester) {
+        int index = gpaIndex(gpa);
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        int band = bandBySemester[Math.min(semester, bandBySemester.length - 1)];
+        return STATUSES[statusTable[band * GPA_STEPS + index]];
+    }
+
+    /**
+     * Batas SKS dari IPK
+     *
+     * @param gpa IPK (0.0 - 4.0), dibaca dengan presisi dua desimal
+     * @return Jumlah SKS maksimal
+     * @throws IllegalArgumentException jika gpa invalid
+     */
+    public int maxCredits(double gpa) {
+        return maxCreditsTable[gpaIndex(gpa)];
+    }
+
+    private static int gpaIndex(double gpa) {
+        if (!(gpa >= 0 && gpa <= 4.0)) {
+            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
+        }
+        // Toleransi kecil agar 2.29 * 100 = 228.99999... tetap terbaca 229
+        return (int) (gpa * 100 + 1e-9);
+    }
+
+    private static int hundredths(String value) {
+        double gpa = Double.parseDouble(value.trim());
+        if (gpa < 0 || gpa > 4.0) {
+            throw new IllegalArgumentException("GPA threshold must be between 0 and 4.0: " + value);
+        }
+        return (int) Math.round(gpa * 100);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing academic policy property: " + key);
+        }
+        return value;
+    }
+
+    private static Properties builtInProperties() {
+        Properties properties = new Properties();
+        // Semester terakhir pada setiap band: 1-2, 3-4, 5+
+        properties.setProperty("semester.bands", "2,4");
+        // IPK minimal untuk ACTIVE dan PROBATION per band; di bawah probation berarti SUSPENDED
+        properties.setProperty("band.0.active", "2.00");
+        properties.setProperty("band.0.probation", "0.00");
+        properties.setProperty("band.1.active", "2.25");
+        properties.setProperty("band.1.probation", "2.00");
+        properties.setProperty("band.2.active", "2.50");
+        properties.setProperty("band.2.probation", "2.00");
+        // Batas SKS per IPK minimal (ipk:sks)
+        properties.setProperty("credits.limits", "3.00:24,2.50:21,2.00:18,0.00:15");
+        return properties;
+    }
+
+    private static AcademicPolicy loadDefault() {
+        Properties properties = new Properties(builtInProperties());
+        try (InputStream in = AcademicPolicy.class.getResourceAsStream("academic-policy.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read academic policy override from classpath", e);
+        }
+        String file = System.getProperty(POLICY_FILE_PROPERTY);
+        if (file != null) {
+            try (InputStream in = Files.newInputStream(Paths.get(file))) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read academic policy: " + file, e);
+            }
+        }
+        return compile(properties);
+    }
+}
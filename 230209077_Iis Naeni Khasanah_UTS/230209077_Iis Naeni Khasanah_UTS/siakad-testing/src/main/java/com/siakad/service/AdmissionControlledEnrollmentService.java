@@ -0,0 +1,52 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+
+import java.util.List;
+
+/**
+ * Pembungkus EnrollmentService yang melewatkan setiap request melalui AdmissionController
+ * Request yang ditolak tidak pernah menyentuh repository.
+ */
+
+public class AdmissionControlledEnrollmentService {
+    private final EnrollmentService delegate;
+    private final AdmissionController admissionController;
+
+    public AdmissionControlledEnrollmentService(EnrollmentService delegate, AdmissionController admissionController) {
+        this.delegate = delegate;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourse(String, String)
+     * @throws com.siakad.exception.AdmissionRejectedException jika request ditolak admission control
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        return admissionController.admit(studentId, () -> delegate.enrollCourse(studentId, courseCode));
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourses(String, List)
+     * @throws com.siakad.exception.AdmissionRejectedException jika request ditolak admission control
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        return admissionController.admit(studentId, () -> delegate.enrollCourses(studentId, courseCodes));
+    }
+
+    /**
+     * @see EnrollmentService#tryEnroll(String, String)
+     * @throws com.siakad.exception.AdmissionRejectedException jika request ditolak admission control
+     */
+    public EnrollmentResult tryEnroll(String studentId, String courseCode) {
+        return admissionController.admit(studentId, () -> delegate.tryEnroll(studentId, courseCode));
+    }
+
+    /**
+     * @see EnrollmentService#dropCourse(String, String)
+     * @throws com.siakad.exception.AdmissionRejectedException jika request ditolak admission control
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        admissionController.admit(studentId, () -> delegate.dropCourse(studentId, courseCode));
+    }
+}
@@ -0,0 +1,112 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admission control di depan EnrollmentService
+ * Setiap request harus lolos rate limit per mahasiswa, lalu mendapat satu dari
+ * maxConcurrent izin. Request yang tidak mendapat izin dalam queueTimeout ditolak
+ * (load shedding) agar latency request yang diterima tetap terbatas; token rate limit
+ * request tersebut dikembalikan karena request tidak pernah diproses.
+ */
+
+public class AdmissionController {
+    private static final AdmissionRejectedException RATE_LIMITED = new AdmissionRejectedException(
+            AdmissionRejectedException.Reason.RATE_LIMITED, "Too many requests from student", false);
+    private static final AdmissionRejectedException OVERLOADED = new AdmissionRejectedException(
+            AdmissionRejectedException.Reason.OVERLOADED, "Registration service is overloaded", false);
+
+    private final StudentRateLimiter rateLimiter;
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+    /**
+     * @param rateLimiter Rate limiter per mahasiswa
+     * @param maxConcurrent Jumlah maksimal request yang diproses bersamaan
+     * @param queueTimeout Lama maksimal menunggu izin sebelum ditolak
+     */
+    public AdmissionController(StudentRateLimiter rateLimiter, int maxConcurrent, Duration queueTimeout) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.rateLimiter = rateLimiter;
+        this.permits = new Semaphore(maxConcurrent);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * Menjalankan action jika request diterima
+     *
+     * @param studentId ID mahasiswa pengirim request
+     * @param action Operasi yang dijalankan
+     * @return Hasil action
+     * @throws AdmissionRejectedException (stackless) jika kena rate limit atau server penuh
+     */
+    public <T> T admit(String studentId, Supplier<T> action) {
+        if (!rateLimiter.tryAcquire(studentId)) {
+            rateLimited.increment();
+            throw RATE_LIMITED;
+        }
+        if (!acquirePermit()) {
+            rateLimiter.refund(studentId);
+            overloaded.increment();
+            throw OVERLOADED;
+        }
+        try {
+            admitted.increment();
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Versi admit untuk operasi tanpa nilai kembali
+     */
+    public void admit(String studentId, Runnable action) {
+        admit(studentId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private boolean acquirePermit() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        try {
+            return permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public long getOverloadedCount() {
+        return overloaded.sum();
+    }
+
+    /**
+     * @return Jumlah izin yang sedang tidak dipakai
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,338 @@
+package com.siakad.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementasi NotificationService asinkron
+ * Pesan dimasukkan ke antrian terbatas dan langsung kembali ke pemanggil.
+ * Worker mengambil pesan per batch, menggabungkan pesan untuk penerima yang sama
+ * dalam satu jendela waktu, lalu mengirimkannya melalui NotificationService tujuan (sink).
+ * Thread worker dibuat dari ThreadFactory, sehingga di JDK 21+ dapat diganti
+ * dengan factory virtual thread.
+ *
+ * Pengirim mendaftar di counter submitting sebelum memeriksa closed dan baru keluar
+ * setelah pesan masuk antrian. Worker hanya berhenti saat closed, tidak ada pengirim
+ * yang sedang berjalan, dan antrian kosong, sehingga pesan yang sudah diterima tidak
+ * hilang walaupun bersamaan dengan shutdown. Interrupt hanya menghentikan worker
+ * yang bersangkutan; jika tidak ada worker tersisa, antrian dikirim di thread pemanggil.
+ */
+
+public class AsyncNotificationService implements NotificationService, AutoCloseable {
+
+    /**
+     * Perilaku saat antrian penuh
+     */
+    public enum BackpressurePolicy {
+        /** Pemanggil menunggu sampai ada ruang di antrian */
+        BLOCK,
+        /** Pesan baru dibuang dan dihitung sebagai dropped */
+        DROP,
+        /** Pesan dikirim langsung di thread pemanggil */
+        CALLER_RUNS
+    }
+
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final NotificationService sink;
+    private final BlockingQueue<Message> queue;
+    private final long coalesceWindowNanos;
+    private final BackpressurePolicy policy;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean closed;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AsyncNotificationService(NotificationService sink, int queueCapacity, int workerCount,
+                                    Duration coalesceWindow, BackpressurePolicy policy) {
+        this(sink, queueCapacity, workerCount, coalesceWindow, policy, defaultThreadFactory());
+    }
+
+    public AsyncNotificationService(NotificationService sink, int queueCapacity, int workerCount,
+                                    Duration coalesceWindow, BackpressurePolicy policy,
+                                    ThreadFactory threadFactory) {
+        if (queueCapacity < 1 || workerCount < 1) {
+            throw new IllegalArgumentException("Queue capacity and worker count must be positive");
+        }
+        if (coalesceWindow == null || coalesceWindow.isNegative()) {
+            throw new IllegalArgumentException("Coalesce window must not be negative");
+        }
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.coalesceWindowNanos = coalesceWindow.toNanos();
+        this.policy = policy;
+        liveWorkers.set(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = threadFactory.newThread(this::runWorker);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        submit(new Message(Channel.EMAIL, email, subject, message));
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        submit(new Message(Channel.SMS, phone, null, message));
+    }
+
+    /**
+     * Menghentikan penerimaan pesan baru dan menunggu antrian dikirim seluruhnya
+     *
+     * @param timeout Waktu tunggu maksimal
+     * @return true jika seluruh worker selesai sebelum timeout
+     * @throws InterruptedException jika thread pemanggil di-interrupt
+     */
+    public boolean shutdown(Duration timeout) throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drain-on-shutdown dengan batas waktu 30 detik
+     */
+    @Override
+    public void close() {
+        try {
+            shutdown(Duration.ofSeconds(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Statistik
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void submit(Message message) {
+        // Didaftarkan sebelum memeriksa closed; worker tidak berhenti selama counter belum nol
+        submitting.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Notification service is shut down");
+            }
+            enqueue(message);
+        } finally {
+            submitting.decrementAndGet();
+        }
+        if (liveWorkers.get() == 0) {
+            drainInCaller();
+        }
+    }
+
+    private void enqueue(Message message) {
+        if (queue.offer(message)) {
+            enqueued.increment();
+            return;
+        }
+        switch (policy) {
+            case DROP:
+                dropped.increment();
+                break;
+            case CALLER_RUNS:
+                deliver(message.channel, message.recipient, List.of(message));
+                break;
+            default:
+                try {
+                    while (!queue.offer(message, IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (liveWorkers.get() == 0) {
+                            deliver(message.channel, message.recipient, List.of(message));
+                            return;
+                        }
+                    }
+                    enqueued.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+        }
+    }
+
+    private void runWorker() {
+        List<Message> batch = new ArrayList<>();
+        try {
+            boolean interrupted = false;
+            while (!interrupted) {
+                Message first;
+                try {
+                    first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // Hanya worker ini yang berhenti; worker lain tetap melayani antrian
+                    interrupted = true;
+                    first = null;
+                }
+                if (first == null) {
+                    if (closed && submitting.get() == 0 && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+
+                batch.add(first);
+                interrupted = collect(batch);
+                dispatch(batch);
+                batch.clear();
+            }
+        } finally {
+            // Worker terakhir mengirim sisa antrian; pesan berikutnya dikirim di thread pemanggil
+            if (liveWorkers.decrementAndGet() == 0) {
+                drainInCaller();
+            }
+        }
+    }
+
+    private void drainInCaller() {
+        List<Message> batch = new ArrayList<>();
+        while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return true jika worker di-interrupt saat menunggu pesan berikutnya
+     */
+    private boolean collect(List<Message> batch) {
+        if (closed) {
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            return false;
+        }
+        long deadline = System.nanoTime() + coalesceWindowNanos;
+        while (batch.size() < MAX_BATCH_SIZE) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Message next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                return true;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return false;
+    }
+
+    private void dispatch(List<Message> batch) {
+        // Kelompokkan pesan per (channel, penerima) dengan urutan kedatangan
+        Map<String, List<Message>> groups = new LinkedHashMap<>();
+        for (Message message : batch) {
+            groups.computeIfAbsent(message.channel.name() + ':' + message.recipient, key -> new ArrayList<>())
+                    .add(message);
+        }
+        for (List<Message> group : groups.values()) {
+            Message head = group.get(0);
+            deliver(head.channel, head.recipient, group);
+        }
+    }
+
+    private void deliver(Channel channel, String recipient, List<Message> messages) {
+        try {
+            if (channel == Channel.EMAIL) {
+                if (messages.size() == 1) {
+                    Message only = messages.get(0);
+                    sink.sendEmail(recipient, only.subject, only.body);
+                } else {
+                    StringBuilder body = new StringBuilder();
+                    for (Message message : messages) {
+                        if (body.length() > 0) {
+                            body.append("\n\n");
+                        }
+                        body.append(message.subject).append('\n').append(message.body);
+                    }
+                    sink.sendEmail(recipient, "Notification Summary (" + messages.size() + ")", body.toString());
+                }
+            } else {
+                StringBuilder body = new StringBuilder();
+                for (Message message : messages) {
+                    if (body.length() > 0) {
+                        body.append('\n');
+                    }
+                    body.append(message.body);
+                }
+                sink.sendSMS(recipient, body.toString());
+            }
+            delivered.add(messages.size());
+        } catch (RuntimeException e) {
+            // Kegagalan sink tidak boleh menghentikan worker
+            failed.add(messages.size());
+        }
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "siakad-notification-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private enum Channel {
+        EMAIL, SMS
+    }
+
+    private static final class Message {
+        final Channel channel;
+        final String recipient;
+        final String subject;
+        final String body;
+
+        Message(Channel channel, String recipient, String subject, String body) {
+            this.channel = channel;
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.siakad.service;
+
+/**
+ * Interface pembangkit ID enrollment
+ * ID dihasilkan sebagai angka 64-bit; representasi string dibuat oleh
+ * Enrollment hanya ketika dibutuhkan.
+ */
+
+public interface EnrollmentIdGenerator {
+
+    /**
+     * Menghasilkan ID enrollment berikutnya
+     * @return ID unik, selalu positif
+     */
+    long nextId();
+}
@@ -0,0 +1,240 @@
+package com.siakad.service;
+
+import com.siakad.util.IntHashSet;
+import com.siakad.util.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index enrollment aktif per mahasiswa dan per mata kuliah
+ * ID mahasiswa dan kode mata kuliah di-intern lewat SymbolTable menjadi handle int,
+ * lalu disimpan dalam array IntHashSet yang diindeks handle di kedua arah. Pengecekan keanggotaan saat enroll/drop O(1),
+ * dan daftar mata kuliah mahasiswa maupun daftar peserta mata kuliah
+ * bisa diambil tanpa memindai seluruh enrollment.
+ *
+ * Kedua arah dibagi ke beberapa stripe berdasarkan handle, masing-masing dengan lock
+ * sendiri, sehingga enroll/drop mahasiswa berbeda tidak saling menunggu. Perubahan
+ * mengunci stripe mahasiswa lalu stripe mata kuliah, selalu dengan urutan tersebut.
+ */
+
+public class EnrollmentIndex {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final SymbolTable students;
+    private final SymbolTable courses;
+    private final Stripe[] studentStripes;
+    private final Stripe[] courseStripes;
+    private final int mask;
+    private final int shift;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public EnrollmentIndex() {
+        this(new SymbolTable(), new SymbolTable());
+    }
+
+    /**
+     * Index yang berbagi tabel simbol dengan struktur lain, misalnya PrerequisiteGraph
+     *
+     * @param students Tabel simbol ID mahasiswa
+     * @param courses Tabel simbol kode mata kuliah
+     */
+    public EnrollmentIndex(SymbolTable students, SymbolTable courses) {
+        this(students, courses, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param students Tabel simbol ID mahasiswa
+     * @param courses Tabel simbol kode mata kuliah
+     * @param stripeCount Jumlah stripe per arah, dibulatkan ke atas menjadi pangkat dua
+     */
+    public EnrollmentIndex(SymbolTable students, SymbolTable courses, int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int stripes = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.students = students;
+        this.courses = courses;
+        this.studentStripes = newStripes(stripes);
+        this.courseStripes = newStripes(stripes);
+        this.mask = stripes - 1;
+        this.shift = Integer.numberOfTrailingZeros(stripes);
+    }
+
+    /**
+     * Mencatat enrollment baru
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika ditambahkan, false jika mahasiswa sudah terdaftar di mata kuliah tersebut
+     */
+    public boolean add(String studentId, String courseCode) {
+        int student = students.intern(studentId);
+        int course = courses.intern(courseCode);
+        Stripe byStudent = studentStripes[student & mask];
+        byStudent.lock.lock();
+        try {
+            if (!byStudent.ensureSet(student >>> shift).add(course)) {
+                return false;
+            }
+            Stripe byCourse = courseStripes[course & mask];
+            byCourse.lock.lock();
+            try {
+                byCourse.ensureSet(course >>> shift).add(student);
+            } finally {
+                byCourse.lock.unlock();
+            }
+        } finally {
+            byStudent.lock.unlock();
+        }
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Menghapus enrollment
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika dihapus, false jika mahasiswa tidak terdaftar di mata kuliah tersebut
+     */
+    public boolean remove(String studentId, String courseCode) {
+        int student = students.lookup(studentId);
+        int course = courses.lookup(courseCode);
+        if (student == SymbolTable.ABSENT || course == SymbolTable.ABSENT) {
+            return false;
+        }
+        Stripe byStudent = studentStripes[student & mask];
+        byStudent.lock.lock();
+        try {
+            IntHashSet enrolled = byStudent.setOf(student >>> shift);
+            if (enrolled == null || !enrolled.remove(course)) {
+                return false;
+            }
+            Stripe byCourse = courseStripes[course & mask];
+            byCourse.lock.lock();
+            try {
+                byCourse.setOf(course >>> shift).remove(student);
+            } finally {
+                byCourse.lock.unlock();
+            }
+        } finally {
+            byStudent.lock.unlock();
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    public boolean contains(String studentId, String courseCode) {
+        int student = students.lookup(studentId);
+        int course = courses.lookup(courseCode);
+        if (student == SymbolTable.ABSENT || course == SymbolTable.ABSENT) {
+            return false;
+        }
+        Stripe stripe = studentStripes[student & mask];
+        stripe.lock.lock();
+        try {
+            IntHashSet enrolled = stripe.setOf(student >>> shift);
+            return enrolled != null && enrolled.contains(course);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang sedang diambil mahasiswa, urutan tidak dijamin
+     */
+    public List<String> getCourses(String studentId) {
+        return resolve(studentStripes, students.lookup(studentId), courses);
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa peserta mata kuliah, urutan tidak dijamin
+     */
+    public List<String> getRoster(String courseCode) {
+        return resolve(courseStripes, courses.lookup(courseCode), students);
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Jumlah peserta mata kuliah menurut index
+     */
+    public int getRosterSize(String courseCode) {
+        int course = courses.lookup(courseCode);
+        if (course == SymbolTable.ABSENT) {
+            return 0;
+        }
+        Stripe stripe = courseStripes[course & mask];
+        stripe.lock.lock();
+        try {
+            IntHashSet roster = stripe.setOf(course >>> shift);
+            return roster == null ? 0 : roster.size();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah seluruh enrollment aktif
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private List<String> resolve(Stripe[] stripes, int handle, SymbolTable names) {
+        if (handle == SymbolTable.ABSENT) {
+            return Collections.emptyList();
+        }
+        int[] handles;
+        Stripe stripe = stripes[handle & mask];
+        stripe.lock.lock();
+        try {
+            IntHashSet set = stripe.setOf(handle >>> shift);
+            if (set == null) {
+                return Collections.emptyList();
+            }
+            handles = set.toArray();
+        } finally {
+            stripe.lock.unlock();
+        }
+        List<String> result = new ArrayList<>(handles.length);
+        for (int h : handles) {
+            result.add(names.name(h));
+        }
+        return result;
+    }
+
+    private static Stripe[] newStripes(int count) {
+        Stripe[] stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Diindeks dengan handle >>> shift; hanya diakses dengan lock dipegang
+        private IntHashSet[] sets = new IntHashSet[4];
+
+        IntHashSet ensureSet(int slot) {
+            if (slot >= sets.length) {
+                sets = Arrays.copyOf(sets, Math.max(slot + 1, sets.length << 1));
+            }
+            if (sets[slot] == null) {
+                sets[slot] = new IntHashSet();
+            }
+            return sets[slot];
+        }
+
+        IntHashSet setOf(int slot) {
+            return slot < sets.length ? sets[slot] : null;
+        }
+    }
+}
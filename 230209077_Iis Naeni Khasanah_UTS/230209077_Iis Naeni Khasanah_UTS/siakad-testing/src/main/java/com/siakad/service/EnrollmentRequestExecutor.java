@@ -0,0 +1,280 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Front-end eksekusi request enrollCourse
+ * Setiap request dijalankan di virtual thread sendiri jika JVM mendukung (Java 21+).
+ * Pada JVM lama, request memakai pool thread platform berukuran tetap
+ * (DEFAULT_PLATFORM_THREADS) dan request berikutnya mengantre, karena satu thread
+ * platform per request tanpa batas akan kehabisan memori saat beban tinggi. Pemuatan
+ * memakai pool terpisah dua kali lebih besar: fork tidak pernah menunggu request,
+ * sehingga request yang menunggu fork-nya tidak bisa saling mengunci.
+ * Mahasiswa dan mata kuliah dimuat paralel dalam satu scope terstruktur: jika salah satu
+ * gagal, yang lain dibatalkan.
+ *
+ * Setiap request memiliki deadline (termasuk waktu mengantre) dan bisa dibatalkan selama
+ * tahap pemuatan. Begitu tahap penulisan (reserve seat, journal, update, notifikasi) dimulai,
+ * request tidak lagi dibatalkan agar tidak ada enrollment setengah jadi.
+ */
+public class EnrollmentRequestExecutor implements AutoCloseable {
+    public static final int DEFAULT_PLATFORM_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private final EnrollmentService service;
+    private final ExecutorService executor;
+    private final ExecutorService forkExecutor;
+    private final boolean virtualThreads;
+    private final Duration defaultDeadline;
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param service EnrollmentService yang menjalankan logika enrollment
+     * @param defaultDeadline Deadline default setiap request
+     */
+    public EnrollmentRequestExecutor(EnrollmentService service, Duration defaultDeadline) {
+        this(service, defaultDeadline, newVirtualThreadExecutor(), DEFAULT_PLATFORM_THREADS);
+    }
+
+    /**
+     * Selalu memakai pool thread platform, tanpa virtual thread
+     * @param platformThreads Jumlah request yang berjalan bersamaan
+     */
+    EnrollmentRequestExecutor(EnrollmentService service, Duration defaultDeadline, int platformThreads) {
+        this(service, defaultDeadline, null, platformThreads);
+    }
+
+    private EnrollmentRequestExecutor(EnrollmentService service, Duration defaultDeadline,
+                                      ExecutorService virtualExecutor, int platformThreads) {
+        this.service = service;
+        this.defaultDeadline = defaultDeadline;
+        this.virtualThreads = virtualExecutor != null;
+        if (virtualThreads) {
+            this.executor = virtualExecutor;
+            this.forkExecutor = virtualExecutor;
+        } else {
+            this.executor = Executors.newFixedThreadPool(platformThreads, daemonThreads("enrollment-request-"));
+            this.forkExecutor = Executors.newFixedThreadPool(2 * platformThreads, daemonThreads("enrollment-load-"));
+        }
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreads("enrollment-deadline-"));
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return true jika request dijalankan di virtual thread
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public CompletableFuture<Enrollment> submitEnroll(String studentId, String courseCode) {
+        return submitEnroll(studentId, courseCode, defaultDeadline);
+    }
+
+    /**
+     * Menjalankan enrollCourse secara asinkron
+     * Future selesai dengan exception yang sama seperti enrollCourse, dengan TimeoutException
+     * jika deadline terlewati, atau dibatalkan lewat cancel() selama tahap pemuatan.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param deadline Batas waktu request
+     * @return Future hasil enrollment
+     */
+    public CompletableFuture<Enrollment> submitEnroll(String studentId, String courseCode, Duration deadline) {
+        EnrollmentRequest request = new EnrollmentRequest(studentId, courseCode);
+        ScheduledFuture<?> timeout = timer.schedule(request::expire, deadline.toNanos(), TimeUnit.NANOSECONDS);
+        request.whenComplete((enrollment, error) -> timeout.cancel(false));
+        request.start();
+        return request;
+    }
+
+    /**
+     * Versi blocking dari submitEnroll dengan deadline default
+     *
+     * @return Enrollment jika berhasil
+     * @throws EnrollmentException jika deadline terlewati atau thread pemanggil di-interrupt
+     */
+    public Enrollment enroll(String studentId, String courseCode) {
+        try {
+            return submitEnroll(studentId, courseCode).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof TimeoutException) {
+                throw new EnrollmentException("Enrollment request deadline exceeded", cause);
+            }
+            throw new CompletionException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnrollmentException("Enrollment request interrupted", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        forkExecutor.shutdown();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Satu request enrollment beserta scope pemuatan paralelnya
+     * State: RUNNING -> COMMITTING -> selesai, atau RUNNING -> ABORTED (timeout / cancel / gagal)
+     */
+    private final class EnrollmentRequest extends CompletableFuture<Enrollment> implements Runnable {
+        private static final int RUNNING = 0;
+        private static final int COMMITTING = 1;
+        private static final int ABORTED = 2;
+
+        private final String studentId;
+        private final String courseCode;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        private volatile Future<?> worker;
+        private volatile Future<Student> studentFork;
+        private volatile Future<Course> courseFork;
+
+        EnrollmentRequest(String studentId, String courseCode) {
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+        }
+
+        void start() {
+            worker = executor.submit(this);
+            if (state.get() == ABORTED) {
+                worker.cancel(true);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                studentFork = fork(() -> service.loadStudent(studentId));
+                courseFork = fork(() -> service.loadCourse(courseCode));
+                if (state.get() == ABORTED) {
+                    shutdownScope();
+                    return;
+                }
+                if (firstFailure.get() != null) {
+                    // Fork pertama sudah gagal sebelum fork kedua terdaftar
+                    shutdownScope();
+                }
+                Student student = studentFork.get();
+                Course course = courseFork.get();
+                if (!state.compareAndSet(RUNNING, COMMITTING)) {
+                    return;
+                }
+                complete(service.enrollLoaded(studentId, student, courseCode, course));
+            } catch (ExecutionException | CancellationException e) {
+                Throwable failure = firstFailure.get();
+                if (failure == null) {
+                    failure = e instanceof ExecutionException ? e.getCause() : e;
+                }
+                if (state.compareAndSet(RUNNING, ABORTED)) {
+                    shutdownScope();
+                    completeExceptionally(failure);
+                }
+            } catch (InterruptedException e) {
+                // Di-interrupt oleh timeout atau cancel; hasil sudah diisi oleh pemanggil interrupt
+                shutdownScope();
+            } catch (RuntimeException e) {
+                // Gagal di tahap penulisan (state sudah COMMITTING)
+                completeExceptionally(e);
+            }
+        }
+
+        private <T> Future<T> fork(Callable<T> task) {
+            return forkExecutor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Throwable t) {
+                    // Shutdown-on-failure: kegagalan pertama membatalkan fork lain
+                    if (firstFailure.compareAndSet(null, t)) {
+                        shutdownScope();
+                    }
+                    throw t;
+                }
+            });
+        }
+
+        void expire() {
+            abort(new TimeoutException("Enrollment request deadline exceeded"));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!state.compareAndSet(RUNNING, ABORTED)) {
+                return false;
+            }
+            shutdownScope();
+            cancelWorker();
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        private void abort(Throwable failure) {
+            if (state.compareAndSet(RUNNING, ABORTED)) {
+                shutdownScope();
+                cancelWorker();
+                completeExceptionally(failure);
+            }
+        }
+
+        private void shutdownScope() {
+            cancel(studentFork);
+            cancel(courseFork);
+        }
+
+        private void cancelWorker() {
+            Future<?> current = worker;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+
+        private void cancel(Future<?> fork) {
+            if (fork != null) {
+                fork.cancel(true);
+            }
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // JVM tanpa virtual thread (sebelum Java 21): pemanggil memakai pool platform
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.StudentNotFoundException;
+
+/**
+ * Hasil EnrollmentService.tryEnroll tanpa exception
+ * Setiap penolakan memiliki satu instance exception stackless yang dialokasikan sekali,
+ * sehingga pemanggil yang tetap ingin exception bisa memakai toException() / orThrow()
+ * tanpa biaya pengisian stack trace.
+ */
+
+public enum EnrollmentResult {
+    SUCCESS(null),
+    STUDENT_NOT_FOUND(new StudentNotFoundException("Student not found", false)),
+    STUDENT_SUSPENDED(new EnrollmentException("Student is suspended", false)),
+    COURSE_NOT_FOUND(new CourseNotFoundException("Course not found", false)),
+    ALREADY_ENROLLED(new EnrollmentException("Student already enrolled", false)),
+    COURSE_FULL(new CourseFullException("Course is full", false)),
+    PREREQUISITE_NOT_MET(new PrerequisiteNotMetException("Prerequisites not met", false)),
+    WAITLISTED(new CourseFullException("Course is full, student is on the waitlist", false)),
+    CONFLICT(new EnrollmentException("Concurrent update conflict on course", false));
+
+    private final RuntimeException exception;
+
+    EnrollmentResult(RuntimeException exception) {
+        this.exception = exception;
+    }
+
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+
+    /**
+     * @return Exception stackless yang sudah dialokasikan untuk penolakan ini
+     * @throws IllegalStateException jika dipanggil pada SUCCESS
+     */
+    public RuntimeException toException() {
+        if (exception == null) {
+            throw new IllegalStateException("SUCCESS has no exception");
+        }
+        return exception;
+    }
+
+    /**
+     * Melempar exception stackless jika hasil bukan SUCCESS
+     */
+    public void orThrow() {
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
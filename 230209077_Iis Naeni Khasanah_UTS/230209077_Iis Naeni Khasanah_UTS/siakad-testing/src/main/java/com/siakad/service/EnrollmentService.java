@@ -1,13 +1,29 @@
 package com.siakad.service;
 
+import com.siakad.event.EnrollmentEvent;
+import com.siakad.event.EnrollmentEventBus;
 import com.siakad.exception.*;
+import com.siakad.journal.EnrollmentJournal;
+import com.siakad.journal.JournalEntry;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
 import com.siakad.model.Student;
+import com.siakad.model.StudentCourse;
 import com.siakad.repository.CourseRepository;
 import com.siakad.repository.StudentRepository;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service untuk mengelola enrollment (pendaftaran mata kuliah)
@@ -15,19 +31,79 @@ import java.time.LocalDateTime;
  */
 
 public class EnrollmentService {
+    // Batas waktu promosi waitlist menunggu perubahan lain yang sedang berjalan untuk mahasiswa yang sama
+    private static final long PROMOTION_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private StudentRepository studentRepository;
     private CourseRepository courseRepository;
     private NotificationService notificationService;
     private GradeCalculator gradeCalculator;
+    private SeatAllocator seatAllocator;
+    private EnrollmentIdGenerator idGenerator;
+    private EnrollmentJournal journal;
+    private EnrollmentIndex enrollmentIndex = new EnrollmentIndex();
+    // Mata kuliah yang peserta lamanya (dari repository) sudah dimasukkan ke enrollmentIndex
+    private final Map<String, Boolean> seededCourses = new ConcurrentHashMap<>();
+    private Waitlist waitlist;
+    private EnrollmentEventBus eventBus;
+    private OptimisticCourseUpdater courseUpdater;
+    // Pasangan mahasiswa-mata kuliah yang enroll, drop, atau promosinya sedang berjalan. Perubahan
+    // berikutnya untuk pasangan yang sama baru bisa dimulai setelah yang sebelumnya selesai, sehingga
+    // urutan journal dan nomor urut perubahan mengikuti urutan perubahan tanpa lock selama I/O
+    private final Set<StudentCourse> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changeSequence = new AtomicLong();
 
+    /**
+     * Service untuk satu server
+     * Node ID enrollment diambil dari siakad.node.id atau SIAKAD_NODE_ID, atau node 0 jika
+     * tidak diatur. Jika beberapa server berbagi data, pakai constructor dengan
+     * EnrollmentIdGenerator agar setiap server memiliki node ID sendiri.
+     */
     public EnrollmentService(StudentRepository studentRepository,
                              CourseRepository courseRepository,
                              NotificationService notificationService,
                              GradeCalculator gradeCalculator) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator, new SeatAllocator());
+    }
+
+    /**
+     * Seperti constructor empat argumen, dengan SeatAllocator sendiri
+     */
+    public EnrollmentService(StudentRepository studentRepository,
+                             CourseRepository courseRepository,
+                             NotificationService notificationService,
+                             GradeCalculator gradeCalculator,
+                             SeatAllocator seatAllocator) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator, seatAllocator,
+                SnowflakeIdGenerator.fromEnvironment(SnowflakeIdGenerator.DEFAULT_NODE_ID));
+    }
+
+    /**
+     * Service dengan pembangkit ID enrollment eksplisit, misalnya new SnowflakeIdGenerator(nodeId)
+     * dengan node ID yang berbeda di setiap server
+     */
+    public EnrollmentService(StudentRepository studentRepository,
+                             CourseRepository courseRepository,
+                             NotificationService notificationService,
+                             GradeCalculator gradeCalculator,
+                             EnrollmentIdGenerator idGenerator) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator, new SeatAllocator(),
+                idGenerator);
+    }
+
+    public EnrollmentService(StudentRepository studentRepository,
+                             CourseRepository courseRepository,
+                             NotificationService notificationService,
+                             GradeCalculator gradeCalculator,
+                             SeatAllocator seatAllocator,
+                             EnrollmentIdGenerator idGenerator) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.notificationService = notificationService;
         this.gradeCalculator = gradeCalculator;
+        this.seatAllocator = seatAllocator;
+        this.courseUpdater = new OptimisticCourseUpdater(courseRepository);
+        this.idGenerator = Objects.requireNonNull(idGenerator, "idGenerator");
     }
 
     /**
@@ -38,57 +114,261 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @return Enrollment object jika berhasil
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
-     * @throws EnrollmentException jika mahasiswa di-suspend
+     * @throws EnrollmentException jika mahasiswa di-suspend, sudah terdaftar di mata kuliah ini,
+     *         atau kursi gagal dipesan karena konflik versi yang terus berulang
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
      * @throws CourseFullException jika mata kuliah sudah penuh
      * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
      */
     public Enrollment enrollCourse(String studentId, String courseCode) {
-        // Validate student
+        // Validate student, mata kuliah tidak dimuat jika mahasiswa sudah pasti ditolak
         Student student = studentRepository.findById(studentId);
+        Course course = checkStudent(student) == EnrollmentResult.SUCCESS
+                ? courseRepository.findByCourseCode(courseCode) : null;
+        return enrollLoaded(studentId, student, courseCode, course);
+    }
+
+    /**
+     * Lanjutan enrollCourse untuk mahasiswa dan mata kuliah yang sudah dimuat,
+     * misalnya oleh EnrollmentRequestExecutor yang memuat keduanya secara paralel
+     */
+    Enrollment enrollLoaded(String studentId, Student student, String courseCode, Course course) {
+        EnrollmentResult result = checkStudent(student);
+        if (result == EnrollmentResult.SUCCESS) {
+            // Duplicate, seat, prerequisite, dan journal
+            result = course == null ? EnrollmentResult.COURSE_NOT_FOUND : admit(studentId, courseCode, course);
+        }
+        if (result != EnrollmentResult.SUCCESS) {
+            publishRejection(studentId, courseCode, result);
+            switch (result) {
+                case STUDENT_NOT_FOUND:
+                    throw new StudentNotFoundException("Student not found: " + studentId);
+                case STUDENT_SUSPENDED:
+                    throw new EnrollmentException("Student is suspended");
+                case COURSE_NOT_FOUND:
+                    throw new CourseNotFoundException("Course not found: " + courseCode);
+                case ALREADY_ENROLLED:
+                    throw new EnrollmentException("Student already enrolled in: " + courseCode);
+                case COURSE_FULL:
+                    throw new CourseFullException("Course is full");
+                case CONFLICT:
+                    throw conflict(courseCode);
+                default:
+                    throw new PrerequisiteNotMetException("Prerequisites not met");
+            }
+        }
+
+        // Create enrollment
+        long sequence = commit(studentId, courseCode);
+        Enrollment enrollment = createEnrollment(studentId, courseCode);
+        publishEnrollment(student, course, sequence);
+        sendEnrollmentConfirmation(student, course);
+        return enrollment;
+    }
+
+    Student loadStudent(String studentId) {
+        return studentRepository.findById(studentId);
+    }
+
+    Course loadCourse(String courseCode) {
+        return courseRepository.findByCourseCode(courseCode);
+    }
+
+    private static EnrollmentResult checkStudent(Student student) {
         if (student == null) {
-            throw new StudentNotFoundException("Student not found: " + studentId);
+            return EnrollmentResult.STUDENT_NOT_FOUND;
         }
 
         // Check academic status
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            return EnrollmentResult.STUDENT_SUSPENDED;
+        }
+        return EnrollmentResult.SUCCESS;
+    }
+
+    /**
+     * Versi enrollCourse tanpa exception untuk penolakan
+     * Penolakan (mahasiswa/mata kuliah tidak ditemukan, suspended, sudah terdaftar,
+     * penuh, prasyarat, konflik versi) dikembalikan sebagai EnrollmentResult yang sudah dialokasikan,
+     * tanpa membuat exception maupun pesan baru. Kegagalan infrastruktur (repository,
+     * journal) tetap dilempar sebagai exception.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return EnrollmentResult.SUCCESS jika berhasil, atau alasan penolakan
+     */
+    public EnrollmentResult tryEnroll(String studentId, String courseCode) {
+        Student student = studentRepository.findById(studentId);
+        EnrollmentResult result = checkStudent(student);
+        Course course = result == EnrollmentResult.SUCCESS ? courseRepository.findByCourseCode(courseCode) : null;
+        if (result == EnrollmentResult.SUCCESS) {
+            result = course == null ? EnrollmentResult.COURSE_NOT_FOUND : admit(studentId, courseCode, course);
+        }
+        if (result == EnrollmentResult.SUCCESS) {
+            publishEnrollment(student, course, commit(studentId, courseCode));
+            sendEnrollmentConfirmation(student, course);
+        } else {
+            publishRejection(studentId, courseCode, result);
+        }
+        return result;
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke banyak mata kuliah sekaligus (KRS)
+     * Mahasiswa dimuat satu kali, seluruh mata kuliah diambil dengan satu panggilan batch,
+     * batas SKS dihitung dari total SKS, dan kursi dipesan secara all-or-nothing.
+     * Hanya satu email konfirmasi yang dikirim.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Daftar kode mata kuliah dalam KRS
+     * @return List of Enrollment sesuai urutan courseCodes
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend, ada kode ganda, sudah terdaftar, SKS melebihi batas,
+     *         atau kursi gagal dipesan karena konflik versi yang terus berulang
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws PrerequisiteNotMetException jika prasyarat salah satu mata kuliah tidak terpenuhi
+     * @throws CourseFullException jika salah satu mata kuliah sudah penuh
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        if (courseCodes == null || courseCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Validate student (sekali untuk seluruh KRS)
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
         if ("SUSPENDED".equals(student.getAcademicStatus())) {
             throw new EnrollmentException("Student is suspended");
         }
 
-        // Validate course
-        Course course = courseRepository.findByCourseCode(courseCode);
-        if (course == null) {
-            throw new CourseNotFoundException("Course not found: " + courseCode);
+        Set<String> uniqueCodes = new LinkedHashSet<>(courseCodes);
+        if (uniqueCodes.size() != courseCodes.size()) {
+            throw new EnrollmentException("Duplicate course in study plan");
         }
 
-        // Check capacity
-        if (course.getEnrolledCount() >= course.getCapacity()) {
-            throw new CourseFullException("Course is full");
+        // Validate courses dengan satu panggilan batch
+        Map<String, Course> found = courseRepository.findAllByCourseCodes(uniqueCodes);
+        List<Course> courses = new ArrayList<>(uniqueCodes.size());
+        int totalCredits = 0;
+        for (String courseCode : uniqueCodes) {
+            Course course = found.get(courseCode);
+            if (course == null) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+            courses.add(course);
+            totalCredits += course.getCredits();
         }
 
-        // Check prerequisites
-        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
-            throw new PrerequisiteNotMetException("Prerequisites not met");
+        // Check credit limit untuk seluruh KRS
+        if (totalCredits > gradeCalculator.calculateMaxCredits(student.getGpa())) {
+            throw new EnrollmentException("Credit limit exceeded: " + totalCredits);
         }
 
-        // Create enrollment
-        Enrollment enrollment = new Enrollment();
-        enrollment.setEnrollmentId(generateEnrollmentId());
-        enrollment.setStudentId(studentId);
-        enrollment.setCourseCode(courseCode);
-        enrollment.setEnrollmentDate(LocalDateTime.now());
-        enrollment.setStatus("APPROVED");
+        // Check prerequisites dengan satu panggilan batch
+        List<StudentCourse> checks = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            checks.add(new StudentCourse(studentId, course.getCourseCode()));
+        }
+        Map<StudentCourse, Boolean> prerequisites = courseRepository.arePrerequisitesMet(checks);
+        for (StudentCourse check : checks) {
+            if (!Boolean.TRUE.equals(prerequisites.get(check))) {
+                throw new PrerequisiteNotMetException("Prerequisites not met: " + check.getCourseCode());
+            }
+        }
 
-        // Update course enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() + 1);
-        courseRepository.update(course);
+        // Tandai seluruh KRS sebagai perubahan yang sedang berjalan (all-or-nothing)
+        List<String> begun = new ArrayList<>(uniqueCodes.size());
+        for (String courseCode : uniqueCodes) {
+            if (!begin(studentId, courseCode)) {
+                endAll(studentId, begun);
+                throw new EnrollmentException("Student already enrolled in: " + courseCode);
+            }
+            begun.add(courseCode);
+        }
+        try {
+            enrollClaimed(studentId, uniqueCodes, courses);
+        } catch (RuntimeException e) {
+            endAll(studentId, begun);
+            throw e;
+        }
 
-        // Send notification
+        // Create enrollments dan update course enrollment count
+        List<Enrollment> enrollments = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            long sequence = commit(studentId, course.getCourseCode());
+            enrollments.add(createEnrollment(studentId, course.getCourseCode()));
+            persistEnrolledCount(course);
+            publishEvent(EnrollmentEvent.Type.ENROLLED, studentId, course.getCourseCode(), null,
+                    course.getEnrolledCount(), sequence);
+        }
+
+        // Send one combined notification
+        StringBuilder courseNames = new StringBuilder();
+        for (Course course : courses) {
+            if (courseNames.length() > 0) {
+                courseNames.append(", ");
+            }
+            courseNames.append(course.getCourseName());
+        }
         notificationService.sendEmail(student.getEmail(),
                 "Enrollment Confirmation",
-                "You have been enrolled in: " + course.getCourseName());
+                "You have been enrolled in: " + courseNames);
 
-        return enrollment;
+        return enrollments;
+    }
+
+    /**
+     * Klaim index, reserve seat, dan journal untuk seluruh KRS
+     * Dipanggil setelah seluruh mata kuliah ditandai sebagai perubahan yang sedang berjalan
+     */
+    private void enrollClaimed(String studentId, Set<String> uniqueCodes, List<Course> courses) {
+        // Tolak mata kuliah yang sudah diambil (all-or-nothing)
+        List<String> claimed = new ArrayList<>(uniqueCodes.size());
+        for (String courseCode : uniqueCodes) {
+            try {
+                claimEnrollment(studentId, courseCode);
+            } catch (EnrollmentException e) {
+                unclaimEnrollments(studentId, claimed);
+                throw e;
+            }
+            claimed.add(courseCode);
+        }
+
+        try {
+            for (Course course : courses) {
+                recordJournalBaseline(course);
+            }
+
+            // Reserve seats (all-or-nothing)
+            for (int i = 0; i < courses.size(); i++) {
+                EnrollmentResult reserved = reserveSeat(courses.get(i));
+                if (reserved != EnrollmentResult.SUCCESS) {
+                    for (int j = 0; j < i; j++) {
+                        releaseSeat(courses.get(j));
+                    }
+                    String courseCode = courses.get(i).getCourseCode();
+                    if (reserved == EnrollmentResult.CONFLICT) {
+                        throw conflict(courseCode);
+                    }
+                    throw new CourseFullException("Course is full: " + courseCode);
+                }
+            }
+
+            // Catat seluruh KRS di journal dalam satu group commit
+            try {
+                writeJournal(JournalEntry.Type.ENROLL, studentId, claimed);
+            } catch (EnrollmentException e) {
+                for (Course course : courses) {
+                    releaseSeat(course);
+                }
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            unclaimEnrollments(studentId, claimed);
+            throw e;
+        }
     }
 
     /**
@@ -118,6 +398,8 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa tidak terdaftar di mata kuliah ini,
+     *         atau kursi gagal dilepas karena konflik versi (drop dibatalkan)
      */
     public void dropCourse(String studentId, String courseCode) {
         Student student = studentRepository.findById(studentId);
@@ -130,21 +412,546 @@ public class EnrollmentService {
             throw new CourseNotFoundException("Course not found");
         }
 
-        // Update enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() - 1);
-        courseRepository.update(course);
+        // Enroll atau drop yang sedang berjalan untuk pasangan yang sama belum selesai,
+        // sehingga mahasiswa belum (atau tidak lagi) terdaftar
+        if (!begin(studentId, courseCode)) {
+            throw new EnrollmentException("Student is not enrolled in: " + courseCode);
+        }
+        Student promoted;
+        try {
+            // Hanya enrollment yang benar-benar ada yang boleh di-drop. Peserta yang terdaftar
+            // sebelum service berjalan dimuat dari repository saat mata kuliah pertama kali dipakai
+            ensureSeeded(courseCode);
+            if (!enrollmentIndex.contains(studentId, courseCode)) {
+                throw new EnrollmentException("Student is not enrolled in: " + courseCode);
+            }
+
+            // Catat di journal, lalu release seat and update enrollment count
+            recordJournalBaseline(course);
+            writeJournal(JournalEntry.Type.DROP, studentId, List.of(courseCode));
+
+            // Kursi langsung diberikan ke mahasiswa teratas di waitlist tanpa pernah kosong,
+            // sehingga tidak bisa direbut enrollCourse lain; jika waitlist kosong kursi dilepas
+            promoted = waitlist == null ? null : promoteFromWaitlist(course);
+            if (promoted == null) {
+                if (!releaseSeat(course)) {
+                    // Drop dibatalkan: journal mendapat ENROLL pengganti, index belum diubah
+                    writeJournal(JournalEntry.Type.ENROLL, studentId, List.of(courseCode));
+                    throw conflict(courseCode);
+                }
+                persistEnrolledCount(course);
+            }
+            enrollmentIndex.remove(studentId, courseCode);
+        } catch (RuntimeException e) {
+            end(studentId, courseCode);
+            throw e;
+        }
+        publishEvent(EnrollmentEvent.Type.DROPPED, studentId, courseCode, null,
+                promoted == null ? course.getEnrolledCount() : enrolledCount(course), commit(studentId, courseCode));
+        Enrollment promotion = promoted == null ? null : createEnrollment(promoted.getStudentId(), courseCode);
 
         // Send notification
         notificationService.sendEmail(student.getEmail(),
                 "Course Drop Confirmation",
                 "You have dropped: " + course.getCourseName());
+        if (promoted != null) {
+            notificationService.sendEmail(promoted.getEmail(),
+                    "Waitlist Promotion",
+                    "You have been enrolled from the waitlist in: " + course.getCourseName()
+                            + " (enrollment " + promotion.getEnrollmentId() + ")");
+        }
+    }
+
+    /**
+     * Memindahkan kursi yang di-drop ke mahasiswa teratas di waitlist yang masih memenuhi syarat
+     * Mahasiswa yang sudah tidak ditemukan, di-suspend, sudah terdaftar, atau tidak memenuhi
+     * prasyarat dilewati. Jika journal gagal, entry dikembalikan ke waitlist (selama batas
+     * waitlist masih mengizinkan) dan kursi dilepas pemanggil. Mahasiswa yang masih memiliki
+     * perubahan berjalan untuk mata kuliah ini (misalnya enrollOrWaitlist yang baru saja masuk
+     * waitlist) ditunggu sebentar; jika belum selesai, ia dilewati lalu dikembalikan ke waitlist.
+     *
+     * @return Mahasiswa yang dipromosikan, atau null jika tidak ada
+     */
+    private Student promoteFromWaitlist(Course course) {
+        String courseCode = course.getCourseCode();
+        ensureSeeded(courseCode);
+        List<WaitlistEntry> busy = new ArrayList<>(0);
+        Student promoted = null;
+        WaitlistEntry entry;
+        while (promoted == null && (entry = waitlist.poll(courseCode)) != null) {
+            String studentId = entry.getStudentId();
+            Student student = studentRepository.findById(studentId);
+            if (student == null || "SUSPENDED".equals(student.getAcademicStatus())) {
+                continue;
+            }
+            if (!awaitBegin(studentId, courseCode)) {
+                busy.add(entry);
+                continue;
+            }
+            boolean admitted = false;
+            try {
+                if (!enrollmentIndex.add(studentId, courseCode)) {
+                    continue;
+                }
+                if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+                    unclaimEnrollment(studentId, courseCode);
+                    continue;
+                }
+                try {
+                    writeJournal(JournalEntry.Type.ENROLL, studentId, List.of(courseCode));
+                } catch (EnrollmentException e) {
+                    unclaimEnrollment(studentId, courseCode);
+                    waitlist.requeue(entry);
+                    break;
+                }
+                admitted = true;
+            } finally {
+                if (!admitted) {
+                    end(studentId, courseCode);
+                }
+            }
+            publishEvent(EnrollmentEvent.Type.ENROLLED, studentId, courseCode, null, enrolledCount(course),
+                    commit(studentId, courseCode));
+            promoted = student;
+        }
+        for (WaitlistEntry skipped : busy) {
+            waitlist.requeue(skipped);
+        }
+        return promoted;
+    }
+
+    private static EnrollmentException conflict(String courseCode) {
+        return new EnrollmentException("Concurrent update conflict on course: " + courseCode);
+    }
+
+    private void writeJournal(JournalEntry.Type type, String studentId, List<String> courseCodes) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.appendAll(type, studentId, courseCodes);
+        } catch (UncheckedIOException | IllegalStateException e) {
+            throw new EnrollmentException("Failed to record enrollment in journal", e);
+        }
+    }
+
+    /**
+     * Mencatat jumlah kursi mata kuliah sebelum kejadian pertamanya di journal,
+     * agar enrollment yang dibuat sebelum journal aktif ikut terhitung saat replay.
+     * Harus dipanggil sebelum kursi dipesan atau dilepas.
+     */
+    private void recordJournalBaseline(Course course) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.recordBaseline(course.getCourseCode(), seatAllocator.enrolledCount(course));
+        } catch (UncheckedIOException | IllegalStateException e) {
+            throw new EnrollmentException("Failed to record enrollment in journal", e);
+        }
+    }
+
+    /**
+     * Seperti tryEnroll, tetapi mahasiswa yang mendapati mata kuliah penuh langsung
+     * dimasukkan ke waitlist (jika prasyarat terpenuhi) dan akan dipromosikan otomatis
+     * saat ada kursi yang di-drop. Pemanggilan ulang tidak mengubah posisi di waitlist.
+     * Setelah masuk waitlist, kursi dicoba sekali lagi: drop yang terjadi di antara
+     * penolakan dan join tidak melihat mahasiswa ini di waitlist, sehingga kursinya
+     * dilepas dan harus diambil di sini.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return SUCCESS, WAITLISTED, atau alasan penolakan lain;
+     *         COURSE_FULL jika waitlist tidak aktif, penuh, atau batas posisi mahasiswa tercapai
+     */
+    public EnrollmentResult enrollOrWaitlist(String studentId, String courseCode) {
+        Student student = studentRepository.findById(studentId);
+        EnrollmentResult result = checkStudent(student);
+        Course course = result == EnrollmentResult.SUCCESS ? courseRepository.findByCourseCode(courseCode) : null;
+        if (result == EnrollmentResult.SUCCESS) {
+            result = course == null ? EnrollmentResult.COURSE_NOT_FOUND : admitOrWaitlist(studentId, student, course);
+        }
+        if (result == EnrollmentResult.SUCCESS) {
+            publishEnrollment(student, course, commit(studentId, courseCode));
+            sendEnrollmentConfirmation(student, course);
+        } else if (result == EnrollmentResult.WAITLISTED) {
+            publishEvent(EnrollmentEvent.Type.WAITLISTED, studentId, courseCode, null, -1, 0);
+        } else {
+            publishRejection(studentId, courseCode, result);
+        }
+        return result;
+    }
+
+    /**
+     * Seperti admit, tetapi mahasiswa yang mendapati kelas penuh dimasukkan ke waitlist
+     * Tanda perubahan berjalan dipegang sampai mahasiswa tercatat di waitlist, sehingga promosi
+     * dari drop yang bersamaan menunggu (atau melewati lalu mengembalikan) mahasiswa ini.
+     */
+    private EnrollmentResult admitOrWaitlist(String studentId, Student student, Course course) {
+        String courseCode = course.getCourseCode();
+        if (!begin(studentId, courseCode)) {
+            return EnrollmentResult.ALREADY_ENROLLED;
+        }
+        EnrollmentResult result = null;
+        try {
+            result = admitClaimed(studentId, courseCode, course);
+            if (result == EnrollmentResult.COURSE_FULL && waitlist != null) {
+                result = joinWaitlist(student, course);
+            }
+        } finally {
+            if (result != EnrollmentResult.SUCCESS) {
+                end(studentId, courseCode);
+            }
+        }
+        return result;
     }
 
     /**
-     * Generate unique enrollment ID
-     * @return Enrollment ID
+     * Memasukkan mahasiswa yang mendapati kelas penuh ke waitlist, lalu mencoba kursi sekali lagi
+     */
+    private EnrollmentResult joinWaitlist(Student student, Course course) {
+        String studentId = student.getStudentId();
+        String courseCode = course.getCourseCode();
+        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+            return EnrollmentResult.PREREQUISITE_NOT_MET;
+        }
+        if (waitlist.join(student, courseCode) <= 0) {
+            return EnrollmentResult.COURSE_FULL;
+        }
+        EnrollmentResult result = admitClaimed(studentId, courseCode, course);
+        if (result == EnrollmentResult.COURSE_FULL) {
+            return EnrollmentResult.WAITLISTED;
+        }
+        if (result != EnrollmentResult.SUCCESS) {
+            waitlist.leave(studentId, courseCode);
+        }
+        return result;
+    }
+
+    /**
+     * Menandai perubahan berjalan lalu menjalankan admitClaimed
+     * Jika berhasil, tanda tetap dipegang sampai pemanggil memanggil commit;
+     * jika ditolak atau gagal, tanda dilepas.
+     */
+    private EnrollmentResult admit(String studentId, String courseCode, Course course) {
+        // Enroll atau drop yang sedang berjalan untuk pasangan yang sama: mahasiswa sudah/masih terdaftar
+        if (!begin(studentId, courseCode)) {
+            return EnrollmentResult.ALREADY_ENROLLED;
+        }
+        EnrollmentResult result = null;
+        try {
+            result = admitClaimed(studentId, courseCode, course);
+        } finally {
+            if (result != EnrollmentResult.SUCCESS) {
+                end(studentId, courseCode);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Klaim index, cek kapasitas, cek prasyarat, reserve seat, lalu catat di journal
+     * Seperti sebelumnya, kelas penuh ditolak tanpa cek prasyarat dan prasyarat dicek
+     * sebelum kursi dipesan, agar mahasiswa yang tidak memenuhi syarat tidak pernah
+     * memegang kursi (dan membuat peminat lain ditolak karena penuh).
+     * Seluruh langkah yang sudah dilakukan dibatalkan jika ada yang gagal.
+     */
+    private EnrollmentResult admitClaimed(String studentId, String courseCode, Course course) {
+        // Tolak enrollment ganda (klaim di index bersifat atomik)
+        ensureSeeded(courseCode);
+        if (!enrollmentIndex.add(studentId, courseCode)) {
+            return EnrollmentResult.ALREADY_ENROLLED;
+        }
+        EnrollmentResult result = EnrollmentResult.SUCCESS;
+        try {
+            if (isFull(course)) {
+                result = EnrollmentResult.COURSE_FULL;
+            } else if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+                result = EnrollmentResult.PREREQUISITE_NOT_MET;
+            } else {
+                recordJournalBaseline(course);
+                // Reserve seat (atomic, tidak bisa oversell)
+                result = reserveSeat(course);
+                if (result == EnrollmentResult.SUCCESS) {
+                    // Catat di journal sebelum perubahan dipublikasikan
+                    try {
+                        writeJournal(JournalEntry.Type.ENROLL, studentId, List.of(courseCode));
+                    } catch (EnrollmentException e) {
+                        releaseSeat(course);
+                        throw e;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            unclaimEnrollment(studentId, courseCode);
+            throw e;
+        }
+        if (result != EnrollmentResult.SUCCESS) {
+            unclaimEnrollment(studentId, courseCode);
+        }
+        return result;
+    }
+
+    private void publishEnrollment(Student student, Course course, long sequence) {
+        // Mahasiswa yang berhasil mendaftar langsung tidak perlu menunggu lagi
+        if (waitlist != null) {
+            waitlist.leave(student.getStudentId(), course.getCourseCode());
+        }
+
+        // Update course enrollment count
+        persistEnrolledCount(course);
+        publishEvent(EnrollmentEvent.Type.ENROLLED, student.getStudentId(), course.getCourseCode(), null,
+                course.getEnrolledCount(), sequence);
+    }
+
+    private void sendEnrollmentConfirmation(Student student, Course course) {
+        // Send notification
+        notificationService.sendEmail(student.getEmail(),
+                "Enrollment Confirmation",
+                "You have been enrolled in: " + course.getCourseName());
+    }
+
+    /**
+     * Memesan kursi: lewat SeatAllocator, atau lewat compareAndUpdate jika repository mendukungnya
+     * sehingga jumlah peserta tetap benar walaupun banyak node mengubah mata kuliah yang sama
+     *
+     * @return SUCCESS, COURSE_FULL, atau CONFLICT jika percobaan compareAndUpdate habis
+     */
+    private EnrollmentResult reserveSeat(Course course) {
+        if (!courseRepository.supportsConditionalUpdate()) {
+            return seatAllocator.tryReserve(course) ? EnrollmentResult.SUCCESS : EnrollmentResult.COURSE_FULL;
+        }
+        switch (courseUpdater.reserveSeat(course)) {
+            case APPLIED:
+                seatAllocator.seed(course.getCourseCode(), course.getEnrolledCount());
+                return EnrollmentResult.SUCCESS;
+            case ABORTED:
+                return EnrollmentResult.COURSE_FULL;
+            default:
+                return EnrollmentResult.CONFLICT;
+        }
+    }
+
+    /**
+     * Cek kapasitas tanpa memesan kursi; reserveSeat tetap menentukan hasil akhirnya
+     */
+    private boolean isFull(Course course) {
+        return enrolledCount(course) >= course.getCapacity();
+    }
+
+    private int enrolledCount(Course course) {
+        return courseRepository.supportsConditionalUpdate()
+                ? course.getEnrolledCount() : seatAllocator.enrolledCount(course);
+    }
+
+    /**
+     * @return false jika kursi gagal dilepas karena percobaan compareAndUpdate habis
+     */
+    private boolean releaseSeat(Course course) {
+        if (!courseRepository.supportsConditionalUpdate()) {
+            seatAllocator.release(course);
+            return true;
+        }
+        OptimisticCourseUpdater.Outcome outcome = courseUpdater.releaseSeat(course);
+        if (outcome == OptimisticCourseUpdater.Outcome.APPLIED) {
+            seatAllocator.seed(course.getCourseCode(), course.getEnrolledCount());
+        }
+        return outcome != OptimisticCourseUpdater.Outcome.CONFLICT;
+    }
+
+    /**
+     * Menyimpan jumlah peserta dari SeatAllocator
+     * Penyimpanan per mata kuliah berurutan dan selalu membawa nilai counter terkini,
+     * sehingga thread yang terlambat tidak menimpa jumlah yang lebih baru.
+     * Dengan compareAndUpdate, jumlah peserta sudah tersimpan saat kursi dipesan atau dilepas
+     */
+    private void persistEnrolledCount(Course course) {
+        if (courseRepository.supportsConditionalUpdate()) {
+            return;
+        }
+        seatAllocator.writeEnrolledCount(course, enrolledCount -> {
+            course.setEnrolledCount(enrolledCount);
+            courseRepository.update(course);
+        });
+    }
+
+    private void publishRejection(String studentId, String courseCode, EnrollmentResult reason) {
+        publishEvent(EnrollmentEvent.Type.REJECTED, studentId, courseCode, reason, -1, 0);
+    }
+
+    private void publishEvent(EnrollmentEvent.Type type, String studentId, String courseCode,
+                              EnrollmentResult reason, int enrolledCount, long sequence) {
+        if (eventBus != null) {
+            eventBus.publish(type, studentId, courseCode, reason, enrolledCount, sequence);
+        }
+    }
+
+    /**
+     * Menandai perubahan untuk pasangan mahasiswa-mata kuliah sebagai sedang berjalan
+     * @return false jika masih ada perubahan lain yang berjalan untuk pasangan yang sama
+     */
+    private boolean begin(String studentId, String courseCode) {
+        return inFlight.add(new StudentCourse(studentId, courseCode));
+    }
+
+    /**
+     * Seperti begin, tetapi menunggu sebentar perubahan lain untuk pasangan yang sama selesai
+     */
+    private boolean awaitBegin(String studentId, String courseCode) {
+        long deadline = System.nanoTime() + PROMOTION_WAIT_NANOS;
+        while (!begin(studentId, courseCode)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.yield();
+        }
+        return true;
+    }
+
+    /**
+     * Menyelesaikan perubahan yang berhasil
+     * Nomor urut diambil sebelum tanda dilepas, sehingga perubahan berikutnya untuk pasangan
+     * yang sama selalu mendapat nomor yang lebih besar.
+     *
+     * @return Nomor urut perubahan untuk EnrollmentEvent.getChangeSequence
+     */
+    private long commit(String studentId, String courseCode) {
+        long sequence = changeSequence.incrementAndGet();
+        end(studentId, courseCode);
+        return sequence;
+    }
+
+    private void end(String studentId, String courseCode) {
+        inFlight.remove(new StudentCourse(studentId, courseCode));
+    }
+
+    private void endAll(String studentId, List<String> courseCodes) {
+        for (String courseCode : courseCodes) {
+            end(studentId, courseCode);
+        }
+    }
+
+    private void claimEnrollment(String studentId, String courseCode) {
+        ensureSeeded(courseCode);
+        if (!enrollmentIndex.add(studentId, courseCode)) {
+            throw new EnrollmentException("Student already enrolled in: " + courseCode);
+        }
+    }
+
+    private void unclaimEnrollment(String studentId, String courseCode) {
+        enrollmentIndex.remove(studentId, courseCode);
+    }
+
+    private void unclaimEnrollments(String studentId, List<String> courseCodes) {
+        for (String courseCode : courseCodes) {
+            unclaimEnrollment(studentId, courseCode);
+        }
+    }
+
+    /**
+     * Memasukkan peserta mata kuliah dari repository ke enrollmentIndex, satu kali per mata kuliah
+     * Pemanggil lain untuk mata kuliah yang sama menunggu sampai pengisian selesai, sehingga
+     * index tidak pernah dipakai dalam keadaan setengah terisi.
+     */
+    private void ensureSeeded(String courseCode) {
+        if (seededCourses.containsKey(courseCode)) {
+            return;
+        }
+        seededCourses.computeIfAbsent(courseCode, code -> {
+            for (String studentId : courseRepository.findEnrolledStudentIds(code)) {
+                enrollmentIndex.add(studentId, code);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private void loadIndexFromJournal() {
+        if (journal == null) {
+            return;
+        }
+        for (Map.Entry<String, Set<String>> entry : journal.getRecoveredState().getEnrollmentsByStudent().entrySet()) {
+            for (String courseCode : entry.getValue()) {
+                enrollmentIndex.add(entry.getKey(), courseCode);
+            }
+        }
+    }
+
+    private Enrollment createEnrollment(String studentId, String courseCode) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentNumber(idGenerator.nextId());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode(courseCode);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setStatus("APPROVED");
+        return enrollment;
+    }
+
+    /**
+     * Mengganti pembangkit ID enrollment, misalnya SnowflakeIdGenerator dengan node ID per server
+     * @param idGenerator Pembangkit ID enrollment
+     */
+    public void setIdGenerator(EnrollmentIdGenerator idGenerator) {
+        this.idGenerator = Objects.requireNonNull(idGenerator, "idGenerator");
+    }
+
+    /**
+     * Mengaktifkan journal enrollment
+     * Jumlah kursi hasil replay journal (baseline mata kuliah ditambah enroll dan drop
+     * setelahnya) langsung dipakai untuk mengisi SeatAllocator. Mata kuliah yang belum
+     * pernah dicatat journal tetap memakai enrolledCount dari repository. Enrollment hasil
+     * replay dimasukkan ke EnrollmentIndex.
+     *
+     * @param journal Journal yang sudah dibuka dengan EnrollmentJournal.open
+     */
+    public void setJournal(EnrollmentJournal journal) {
+        this.journal = journal;
+        for (Map.Entry<String, Integer> entry : journal.getRecoveredState().getEnrolledCounts().entrySet()) {
+            seatAllocator.seed(entry.getKey(), entry.getValue());
+        }
+        loadIndexFromJournal();
+    }
+
+    /**
+     * Mengaktifkan waitlist
+     * Dengan waitlist aktif, enrollOrWaitlist memasukkan mahasiswa ke antrean saat
+     * mata kuliah penuh, dan dropCourse mempromosikan mahasiswa teratas secara otomatis.
+     *
+     * @param waitlist Waitlist per mata kuliah
+     */
+    public void setWaitlist(Waitlist waitlist) {
+        this.waitlist = waitlist;
+    }
+
+    /**
+     * Mengganti helper retry compareAndUpdate, misalnya dengan jumlah percobaan lain
+     * @param courseUpdater Helper retry untuk repository yang mendukung compareAndUpdate
+     */
+    public void setCourseUpdater(OptimisticCourseUpdater courseUpdater) {
+        this.courseUpdater = courseUpdater;
+    }
+
+    /**
+     * Mengaktifkan publikasi kejadian enrollment (change data capture)
+     * Setiap enroll, drop, promosi waitlist, dan penolakan dipublikasikan ke bus
+     * setelah perubahan tersimpan, sehingga sistem hilir tidak perlu polling repository.
+     * Publikasi berjalan tanpa lock, jadi urutan di bus untuk mahasiswa yang sama bisa
+     * tertukar; konsumen mengurutkan perubahan per mahasiswa dengan getChangeSequence.
+     *
+     * @param eventBus Event bus tujuan
+     */
+    public void setEventBus(EnrollmentEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Mengganti index enrollment bawaan, misalnya dengan index yang sudah berisi seluruh
+     * enrollment aktif. Peserta dari repository dan hasil replay journal tetap dimasukkan.
+     *
+     * @param enrollmentIndex Index enrollment aktif
      */
-    private String generateEnrollmentId() {
-        return "ENR-" + System.currentTimeMillis();
+    public void setEnrollmentIndex(EnrollmentIndex enrollmentIndex) {
+        this.enrollmentIndex = enrollmentIndex;
+        seededCourses.clear();
+        loadIndexFromJournal();
     }
 }
\ No newline at end of file
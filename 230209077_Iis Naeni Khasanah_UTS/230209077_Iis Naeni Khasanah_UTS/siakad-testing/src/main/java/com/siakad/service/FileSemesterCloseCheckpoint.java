@@ -0,0 +1,129 @@
+package com.siakad.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkpoint tutup semester berbasis file
+ * Baris pertama adalah header "#ukuranBatch,jumlahMahasiswa;" yang ditulis saat proses
+ * pertama dimulai. Setiap batch yang selesai ditulis sebagai satu baris "nomor;" lalu di-fsync.
+ * Baris terakhir yang terpotong atau tidak terbaca (proses mati saat menulis) diabaikan
+ * saat dibaca ulang.
+ */
+
+public class FileSemesterCloseCheckpoint implements SemesterCloseCheckpoint, Closeable {
+    private final Path file;
+    private final FileChannel channel;
+    private final Set<Integer> completed = ConcurrentHashMap.newKeySet();
+    private int batchSize = -1;
+    private int totalStudents = -1;
+
+    /**
+     * Membuka (atau membuat) file checkpoint dan membaca batch yang sudah selesai
+     * @param file Lokasi file checkpoint
+     * @throws UncheckedIOException jika file tidak bisa dibaca atau dibuat, atau baris selain
+     *         baris terakhir tidak terbaca
+     */
+    public FileSemesterCloseCheckpoint(Path file) {
+        this.file = file;
+        try {
+            if (Files.exists(file)) {
+                read(Files.readAllLines(file, StandardCharsets.UTF_8));
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open checkpoint file: " + file, e);
+        }
+    }
+
+    private void read(List<String> lines) throws IOException {
+        int last = lines.size() - 1;
+        while (last >= 0 && lines.get(last).isEmpty()) {
+            last--;
+        }
+        for (int i = 0; i <= last; i++) {
+            String line = lines.get(i);
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                if (!line.endsWith(";")) {
+                    throw new NumberFormatException("Unterminated line");
+                }
+                String value = line.substring(0, line.length() - 1);
+                if (value.startsWith("#")) {
+                    int comma = value.indexOf(',');
+                    batchSize = Integer.parseInt(value.substring(1, comma));
+                    totalStudents = Integer.parseInt(value.substring(comma + 1));
+                } else {
+                    completed.add(Integer.parseInt(value));
+                }
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                if (i != last) {
+                    throw new IOException("Corrupt checkpoint line " + (i + 1) + ": " + line, e);
+                }
+                // Baris terakhir terpotong: batch tersebut belum tercatat selesai
+            }
+        }
+    }
+
+    /**
+     * Menulis header pada checkpoint baru, atau memastikan header checkpoint lama sama
+     * @throws IllegalStateException jika ukuran batch atau jumlah mahasiswa berbeda,
+     *         atau checkpoint berisi batch selesai tanpa header
+     */
+    @Override
+    public synchronized void begin(int batchSize, int totalStudents) {
+        if (this.batchSize < 0) {
+            if (!completed.isEmpty()) {
+                throw new IllegalStateException("Checkpoint has completed batches but no header: " + file);
+            }
+            write("#" + batchSize + "," + totalStudents + ";");
+            this.batchSize = batchSize;
+            this.totalStudents = totalStudents;
+        } else if (this.batchSize != batchSize || this.totalStudents != totalStudents) {
+            throw new IllegalStateException("Checkpoint was written for batch size " + this.batchSize
+                    + " and " + this.totalStudents + " students, not " + batchSize + " and " + totalStudents);
+        }
+    }
+
+    @Override
+    public boolean isCompleted(int chunk) {
+        return completed.contains(chunk);
+    }
+
+    @Override
+    public synchronized void markCompleted(int chunk) {
+        write(chunk + ";");
+        completed.add(chunk);
+    }
+
+    private void write(String record) {
+        try {
+            // Diawali newline agar tidak menyambung ke baris terpotong sebelumnya
+            ByteBuffer line = ByteBuffer.wrap(("\n" + record).getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint file: " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,156 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Akumulator IPK inkremental untuk satu mahasiswa
+ * Total poin (grade point x SKS) disimpan sebagai bilangan bulat dalam perseratus,
+ * sehingga penambahan, penghapusan, dan penggantian nilai berulang kali tidak
+ * menimbulkan galat pembulatan. Setiap operasi O(1).
+ * Class ini tidak thread-safe.
+ */
+
+public class GpaAccumulator {
+    private final Map<String, long[]> grades = new HashMap<>(); // {credits, gradePoint x 100}
+    private long totalPoints;
+    private int totalCredits;
+
+    /**
+     * Membangun akumulator dari transkrip lengkap
+     * @param transcript Seluruh nilai mahasiswa
+     * @return GpaAccumulator berisi seluruh nilai
+     */
+    public static GpaAccumulator of(List<CourseGrade> transcript) {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.reset(transcript);
+        return accumulator;
+    }
+
+    /**
+     * Mengosongkan akumulator lalu mengisinya dari transkrip lengkap
+     * @param transcript Seluruh nilai mahasiswa, boleh null
+     */
+    public void reset(List<CourseGrade> transcript) {
+        grades.clear();
+        totalPoints = 0;
+        totalCredits = 0;
+        if (transcript != null) {
+            for (CourseGrade grade : transcript) {
+                put(grade);
+            }
+        }
+    }
+
+    /**
+     * Menambahkan nilai mata kuliah baru
+     * @throws IllegalArgumentException jika nilai mata kuliah sudah ada atau grade point invalid
+     */
+    public void add(CourseGrade grade) {
+        if (grades.containsKey(grade.getCourseCode())) {
+            throw new IllegalArgumentException("Grade already posted: " + grade.getCourseCode());
+        }
+        put(grade);
+    }
+
+    /**
+     * Mengganti nilai mata kuliah yang sudah ada (misalnya perbaikan nilai)
+     * @throws IllegalArgumentException jika nilai mata kuliah belum ada atau grade point invalid
+     */
+    public void replace(CourseGrade grade) {
+        if (!grades.containsKey(grade.getCourseCode())) {
+            throw new IllegalArgumentException("Grade not posted: " + grade.getCourseCode());
+        }
+        put(grade);
+    }
+
+    /**
+     * Menambahkan atau mengganti nilai mata kuliah
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public void put(CourseGrade grade) {
+        validate(grade);
+        long[] entry = {grade.getCredits(), Math.round(grade.getGradePoint() * 100)};
+        long[] previous = grades.put(grade.getCourseCode(), entry);
+        if (previous != null) {
+            subtract(previous);
+        }
+        totalPoints += entry[0] * entry[1];
+        totalCredits += (int) entry[0];
+    }
+
+    /**
+     * Memeriksa nilai tanpa mengubah akumulator, misalnya sebelum posting satu kelas
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public static void validate(CourseGrade grade) {
+        if (grade.getGradePoint() < 0 || grade.getGradePoint() > 4.0) {
+            throw new IllegalArgumentException("Invalid grade point: " + grade.getGradePoint());
+        }
+    }
+
+    /**
+     * Menghapus nilai mata kuliah
+     * @return true jika nilai ada dan sudah dihapus
+     */
+    public boolean remove(String courseCode) {
+        long[] previous = grades.remove(courseCode);
+        if (previous == null) {
+            return false;
+        }
+        subtract(previous);
+        return true;
+    }
+
+    /**
+     * @return IPK dengan pembulatan 2 desimal, 0.0 jika belum ada SKS
+     */
+    public double getGpa() {
+        if (totalCredits == 0) {
+            return 0.0;
+        }
+        return Math.round((double) totalPoints / totalCredits) / 100.0;
+    }
+
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * @return Total grade point x SKS dalam perseratus
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * @return true jika nilai mata kuliah sudah ada di akumulator
+     */
+    public boolean contains(String courseCode) {
+        return grades.containsKey(courseCode);
+    }
+
+    public int getGradeCount() {
+        return grades.size();
+    }
+
+    /**
+     * Pemeriksaan konsistensi terhadap transkrip lengkap
+     * @param transcript Seluruh nilai mahasiswa dari sumber data
+     * @return true jika total poin, total SKS, dan jumlah nilai sama persis
+     */
+    public boolean matches(List<CourseGrade> transcript) {
+        GpaAccumulator expected = of(transcript);
+        return expected.totalPoints == totalPoints
+                && expected.totalCredits == totalCredits
+                && expected.grades.size() == grades.size();
+    }
+
+    private void subtract(long[] entry) {
+        totalPoints -= entry[0] * entry[1];
+        totalCredits -= (int) entry[0];
+    }
+}
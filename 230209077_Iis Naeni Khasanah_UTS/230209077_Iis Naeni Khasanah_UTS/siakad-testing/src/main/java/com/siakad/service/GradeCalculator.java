@@ -1,5 +1,6 @@
 package com.siakad.service;
 
+import com.siakad.model.AcademicStatus;
 import com.siakad.model.CourseGrade;
 
 import java.util.List;
@@ -10,6 +11,18 @@ import java.util.List;
  */
 
 public class GradeCalculator {
+    private final AcademicPolicy policy;
+
+    public GradeCalculator() {
+        this(AcademicPolicy.defaults());
+    }
+
+    /**
+     * @param policy Kebijakan akademik yang sudah dikompilasi, misalnya dari AcademicPolicy.load
+     */
+    public GradeCalculator(AcademicPolicy policy) {
+        this.policy = policy;
+    }
 
     /**
      * Menghitung IPK (Indeks Prestasi Kumulatif) mahasiswa
@@ -43,10 +56,60 @@ public class GradeCalculator {
         return Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
     }
 
+    /**
+     * Menghitung IPK banyak mahasiswa sekaligus dari data transkrip kolumnar
+     * Nilai seluruh mahasiswa disimpan berurutan dalam array primitif; nilai milik
+     * mahasiswa ke-i berada pada indeks studentOffsets[i] sampai studentOffsets[i+1] - 1.
+     * Validasi dan pembulatan sama dengan calculateGPA.
+     *
+     * @param credits SKS setiap nilai
+     * @param gradePoints Grade point setiap nilai (0.0 - 4.0)
+     * @param studentOffsets Offset awal nilai setiap mahasiswa, panjang = jumlah mahasiswa + 1
+     * @return IPK setiap mahasiswa dengan pembulatan 2 desimal
+     * @throws IllegalArgumentException jika array tidak konsisten atau grade point invalid
+     */
+    public double[] calculateGPAs(int[] credits, double[] gradePoints, int[] studentOffsets) {
+        if (credits == null || gradePoints == null || studentOffsets == null || studentOffsets.length == 0) {
+            throw new IllegalArgumentException("Transcript columns must not be null or empty");
+        }
+        if (credits.length != gradePoints.length) {
+            throw new IllegalArgumentException("Credits and grade points must have the same length");
+        }
+        int students = studentOffsets.length - 1;
+        if (studentOffsets[0] != 0 || studentOffsets[students] != credits.length) {
+            throw new IllegalArgumentException("Student offsets must cover all grades");
+        }
+
+        // Validasi dalam satu loop datar tanpa percabangan per mahasiswa
+        for (double gradePoint : gradePoints) {
+            if (gradePoint < 0 || gradePoint > 4.0) {
+                throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+            }
+        }
+
+        double[] gpas = new double[students];
+        for (int s = 0; s < students; s++) {
+            int from = studentOffsets[s];
+            int to = studentOffsets[s + 1];
+            if (to < from) {
+                throw new IllegalArgumentException("Student offsets must not decrease");
+            }
+            // Urutan penjumlahan sama dengan calculateGPA agar hasil identik
+            double totalPoints = 0.0;
+            int totalCredits = 0;
+            for (int i = from; i < to; i++) {
+                totalPoints += gradePoints[i] * credits[i];
+                totalCredits += credits[i];
+            }
+            gpas[s] = totalCredits == 0 ? 0.0 : Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
+        }
+        return gpas;
+    }
+
     /**
      * Menentukan status akademik mahasiswa berdasarkan IPK dan semester
      *
-     * Aturan:
+     * Aturan default (AcademicPolicy.builtIn):
      * - Semester 1-2: IPK >= 2.0 → ACTIVE, IPK < 2.0 → PROBATION
      * - Semester 3-4: IPK >= 2.25 → ACTIVE, IPK 2.0-2.24 → PROBATION, IPK < 2.0 → SUSPENDED
      * - Semester 5+: IPK >= 2.5 → ACTIVE, IPK 2.0-2.49 → PROBATION, IPK < 2.0 → SUSPENDED
@@ -57,37 +120,27 @@ public class GradeCalculator {
      * @throws IllegalArgumentException jika gpa atau semester invalid
      */
     public String determineAcademicStatus(double gpa, int semester) {
-        if (gpa < 0 || gpa > 4.0) {
-            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
-        }
-
-        if (semester < 1) {
-            throw new IllegalArgumentException("Semester must be positive");
-        }
-
-        // Semester 1-2: minimal IPK 2.0
-        if (semester <= 2) {
-            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
-        }
-
-        // Semester 3-4: minimal IPK 2.25
-        if (semester <= 4) {
-            if (gpa >= 2.25) return "ACTIVE";
-            if (gpa >= 2.0) return "PROBATION";
-            return "SUSPENDED";
-        }
+        return policy.status(gpa, semester).name();
+    }
 
-        // Semester 5+: minimal IPK 2.5
-        if (gpa >= 2.5) return "ACTIVE";
-        if (gpa >= 2.0) return "PROBATION";
-        return "SUSPENDED";
+    /**
+     * Versi determineAcademicStatus yang mengembalikan enum
+     * Nilai diambil dari tabel AcademicPolicy tanpa percabangan aturan dan tanpa alokasi.
+     *
+     * @param gpa IPK mahasiswa (0.0 - 4.0)
+     * @param semester Semester mahasiswa (harus > 0)
+     * @return AcademicStatus
+     * @throws IllegalArgumentException jika gpa atau semester invalid
+     */
+    public AcademicStatus determineStatus(double gpa, int semester) {
+        return policy.status(gpa, semester);
     }
 
     /**
      * Menghitung jumlah SKS maksimal yang boleh diambil mahasiswa
      * berdasarkan IPK
      *
-     * Aturan:
+     * Aturan default (AcademicPolicy.builtIn):
      * - IPK >= 3.0: maksimal 24 SKS
      * - IPK 2.5-2.99: maksimal 21 SKS
      * - IPK 2.0-2.49: maksimal 18 SKS
@@ -98,13 +151,6 @@ public class GradeCalculator {
      * @throws IllegalArgumentException jika gpa invalid
      */
     public int calculateMaxCredits(double gpa) {
-        if (gpa < 0 || gpa > 4.0) {
-            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
-        }
-
-        if (gpa >= 3.0) return 24;
-        if (gpa >= 2.5) return 21;
-        if (gpa >= 2.0) return 18;
-        return 15;
+        return policy.maxCredits(gpa);
     }
 }
@@ -0,0 +1,215 @@
+package com.siakad.service;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.TranscriptRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service untuk posting nilai dengan pembaruan IPK inkremental
+ * Transkrip mahasiswa hanya dibaca sekali untuk mengisi GpaAccumulator; posting nilai
+ * berikutnya menulis nilai ke transkrip, memperbarui total poin dan SKS, lalu IPK dan
+ * status akademik mahasiswa langsung disimpan. reconcile() menghitung ulang dari
+ * transkrip lengkap sebagai pemeriksaan konsistensi berkala.
+ *
+ * Seluruh perubahan satu mahasiswa (transkrip, akumulator, dan penyimpanan mahasiswa)
+ * dilakukan sambil memegang lock mahasiswa tersebut, sehingga posting bersamaan tidak
+ * bisa menyimpan IPK yang lebih lama setelah IPK yang lebih baru. TranscriptRepository
+ * harus mendukung saveGrade dan removeGrade.
+ */
+
+public class GradePostingService {
+    private final StudentRepository studentRepository;
+    private final TranscriptRepository transcriptRepository;
+    private final GradeCalculator gradeCalculator;
+    private final ConcurrentMap<String, Tracked> accumulators = new ConcurrentHashMap<>();
+
+    public GradePostingService(StudentRepository studentRepository,
+                               TranscriptRepository transcriptRepository,
+                               GradeCalculator gradeCalculator) {
+        this.studentRepository = studentRepository;
+        this.transcriptRepository = transcriptRepository;
+        this.gradeCalculator = gradeCalculator;
+    }
+
+    /**
+     * Posting (atau perbaikan) nilai satu mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @param grade Nilai mata kuliah
+     * @return Mahasiswa dengan IPK dan status akademik yang sudah diperbarui
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws IllegalArgumentException jika grade point invalid
+     */
+    public Student postGrade(String studentId, CourseGrade grade) {
+        GpaAccumulator.validate(grade);
+        Tracked tracked = trackedFor(studentId);
+        tracked.lock.lock();
+        try {
+            Student student = studentRepository.findById(studentId);
+            if (student == null) {
+                throw new StudentNotFoundException("Student not found: " + studentId);
+            }
+            transcriptRepository.saveGrade(studentId, grade);
+            tracked.accumulator.put(grade);
+            refresh(student, tracked.accumulator);
+            studentRepository.update(student);
+            return student;
+        } finally {
+            tracked.lock.unlock();
+        }
+    }
+
+    /**
+     * Posting nilai satu kelas sekaligus
+     * Seluruh mahasiswa dimuat dengan satu panggilan batch, nilai disimpan dengan satu
+     * saveGrades, dan mahasiswa disimpan dengan satu updateAll. Lock mahasiswa diambil
+     * berurutan menurut ID agar tidak deadlock dengan posting lain.
+     *
+     * @param gradesByStudent Nilai per ID mahasiswa
+     * @return Mahasiswa yang sudah diperbarui
+     * @throws StudentNotFoundException jika salah satu mahasiswa tidak ditemukan (tidak ada yang diubah)
+     * @throws IllegalArgumentException jika salah satu grade point invalid (tidak ada yang diubah)
+     */
+    public List<Student> postGrades(Map<String, CourseGrade> gradesByStudent) {
+        for (CourseGrade grade : gradesByStudent.values()) {
+            GpaAccumulator.validate(grade);
+        }
+        List<Tracked> locked = new ArrayList<>(gradesByStudent.size());
+        try {
+            for (String studentId : new TreeSet<>(gradesByStudent.keySet())) {
+                Tracked tracked = trackedFor(studentId);
+                tracked.lock.lock();
+                locked.add(tracked);
+            }
+
+            Map<String, Student> students = studentRepository.findAllByIds(gradesByStudent.keySet());
+            for (String studentId : gradesByStudent.keySet()) {
+                if (!students.containsKey(studentId)) {
+                    throw new StudentNotFoundException("Student not found: " + studentId);
+                }
+            }
+            transcriptRepository.saveGrades(gradesByStudent);
+            List<Student> updated = new ArrayList<>(gradesByStudent.size());
+            for (Map.Entry<String, CourseGrade> entry : gradesByStudent.entrySet()) {
+                Student student = students.get(entry.getKey());
+                GpaAccumulator accumulator = accumulators.get(entry.getKey()).accumulator;
+                accumulator.put(entry.getValue());
+                refresh(student, accumulator);
+                updated.add(student);
+            }
+            studentRepository.updateAll(updated);
+            return updated;
+        } finally {
+            for (int i = locked.size() - 1; i >= 0; i--) {
+                locked.get(i).lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Menghapus nilai mata kuliah (misalnya nilai dibatalkan)
+     *
+     * @return true jika nilai ada dan sudah dihapus
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     */
+    public boolean removeGrade(String studentId, String courseCode) {
+        Tracked tracked = trackedFor(studentId);
+        tracked.lock.lock();
+        try {
+            Student student = studentRepository.findById(studentId);
+            if (student == null) {
+                throw new StudentNotFoundException("Student not found: " + studentId);
+            }
+            if (!tracked.accumulator.contains(courseCode)) {
+                return false;
+            }
+            transcriptRepository.removeGrade(studentId, courseCode);
+            tracked.accumulator.remove(courseCode);
+            refresh(student, tracked.accumulator);
+            studentRepository.update(student);
+            return true;
+        } finally {
+            tracked.lock.unlock();
+        }
+    }
+
+    /**
+     * Pemeriksaan konsistensi: seluruh akumulator dibandingkan dengan transkrip lengkap
+     * Akumulator yang berbeda (misalnya transkrip dikoreksi di luar service) diisi ulang
+     * dari transkrip dan IPK mahasiswanya disimpan ulang.
+     *
+     * @return Jumlah mahasiswa yang diperbaiki
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (Map.Entry<String, Tracked> entry : accumulators.entrySet()) {
+            String studentId = entry.getKey();
+            Tracked tracked = entry.getValue();
+            tracked.lock.lock();
+            try {
+                // Transkrip dibaca di bawah lock agar tidak mendahului posting yang sedang berjalan
+                List<CourseGrade> transcript = transcriptRepository.getTranscript(studentId);
+                if (tracked.accumulator.matches(transcript)) {
+                    continue;
+                }
+                tracked.accumulator.reset(transcript);
+                Student student = studentRepository.findById(studentId);
+                if (student != null) {
+                    refresh(student, tracked.accumulator);
+                    studentRepository.update(student);
+                    corrected++;
+                }
+            } finally {
+                tracked.lock.unlock();
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * @return IPK menurut akumulator, atau null jika mahasiswa belum pernah diposting
+     */
+    public Double getTrackedGpa(String studentId) {
+        Tracked tracked = accumulators.get(studentId);
+        if (tracked == null) {
+            return null;
+        }
+        tracked.lock.lock();
+        try {
+            return tracked.accumulator.getGpa();
+        } finally {
+            tracked.lock.unlock();
+        }
+    }
+
+    private void refresh(Student student, GpaAccumulator accumulator) {
+        double gpa = accumulator.getGpa();
+        student.setGpa(gpa);
+        student.setAcademicStatus(gradeCalculator.determineAcademicStatus(gpa, student.getSemester()));
+    }
+
+    private Tracked trackedFor(String studentId) {
+        // Transkrip lengkap hanya dibaca saat mahasiswa pertama kali diposting
+        return accumulators.computeIfAbsent(studentId,
+                id -> new Tracked(GpaAccumulator.of(transcriptRepository.getTranscript(id))));
+    }
+
+    private static final class Tracked {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final GpaAccumulator accumulator;
+
+        Tracked(GpaAccumulator accumulator) {
+            this.accumulator = accumulator;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.CourseSnapshot;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.UpdateResult;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Helper retry terbatas untuk CourseRepository.compareAndUpdate
+ * Perubahan diterapkan ke versi Course terbaru lalu disimpan dengan compare-and-set.
+ * Jika versi sudah berubah (node lain menyimpan lebih dulu), helper menunggu dengan
+ * exponential backoff dan jitter penuh, membaca ulang Course, lalu menerapkan perubahan
+ * lagi, maksimal maxAttempts kali. Konflik yang tersisa dikembalikan sebagai
+ * Outcome.CONFLICT, bukan exception.
+ */
+public class OptimisticCourseUpdater {
+    public static final int DEFAULT_MAX_ATTEMPTS = 32;
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(1);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMillis(50);
+
+    /**
+     * Hasil update
+     */
+    public enum Outcome {
+        /** Perubahan tersimpan */
+        APPLIED,
+        /** Dibatalkan oleh mutation, misalnya kelas penuh */
+        ABORTED,
+        /** Masih konflik setelah seluruh percobaan, atau thread di-interrupt saat backoff */
+        CONFLICT
+    }
+
+    private final CourseRepository courseRepository;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public OptimisticCourseUpdater(CourseRepository courseRepository) {
+        this(courseRepository, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * @param courseRepository Repository yang mendukung compareAndUpdate
+     * @param maxAttempts Jumlah percobaan maksimal, termasuk percobaan pertama
+     */
+    public OptimisticCourseUpdater(CourseRepository courseRepository, int maxAttempts) {
+        this(courseRepository, maxAttempts, DEFAULT_BASE_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * @param courseRepository Repository yang mendukung compareAndUpdate
+     * @param maxAttempts Jumlah percobaan maksimal, termasuk percobaan pertama
+     * @param baseBackoff Batas atas jeda setelah konflik pertama, digandakan setiap konflik berikutnya
+     * @param maxBackoff Batas atas jeda untuk satu konflik
+     */
+    public OptimisticCourseUpdater(CourseRepository courseRepository, int maxAttempts,
+                                   Duration baseBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (baseBackoff.isNegative() || maxBackoff.compareTo(baseBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= base <= max");
+        }
+        this.courseRepository = courseRepository;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * Menerapkan perubahan dan menyimpannya dengan compare-and-set
+     * Perubahan diterapkan ke salinan, bukan ke course milik pemanggil. Hanya setelah
+     * berhasil tersimpan, enrolledCount, capacity, dan version milik course disamakan
+     * dengan data yang tersimpan; jika dibatalkan atau konflik, course tidak berubah.
+     *
+     * @param course Course yang terakhir dibaca pemanggil
+     * @param mutation Mengubah salinan Course; mengembalikan false untuk membatalkan (misalnya kelas penuh)
+     * @return APPLIED, ABORTED jika dibatalkan oleh mutation, atau CONFLICT jika percobaan habis
+     * @throws CourseNotFoundException jika mata kuliah sudah tidak ada
+     */
+    public Outcome update(Course course, Predicate<Course> mutation) {
+        String courseCode = course.getCourseCode();
+        Course current = CourseSnapshot.of(course).toCourse();
+        for (int attempt = 1; ; attempt++) {
+            long expectedVersion = current.getVersion();
+            if (!mutation.test(current)) {
+                return Outcome.ABORTED;
+            }
+            UpdateResult result = courseRepository.compareAndUpdate(current, expectedVersion);
+            if (result == UpdateResult.APPLIED) {
+                sync(course, current);
+                return Outcome.APPLIED;
+            }
+            if (result == UpdateResult.NOT_FOUND) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+            if (attempt == maxAttempts || !backoff(attempt)) {
+                return Outcome.CONFLICT;
+            }
+            current = courseRepository.findByCourseCode(courseCode);
+            if (current == null) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+        }
+    }
+
+    /**
+     * Menambah satu peserta jika masih ada kursi
+     * @return APPLIED jika kursi berhasil dipesan, ABORTED jika kelas penuh, atau CONFLICT
+     */
+    public Outcome reserveSeat(Course course) {
+        return update(course, c -> {
+            if (c.getEnrolledCount() >= c.getCapacity()) {
+                return false;
+            }
+            c.setEnrolledCount(c.getEnrolledCount() + 1);
+            return true;
+        });
+    }
+
+    /**
+     * Mengurangi satu peserta, tidak pernah di bawah 0
+     * @return APPLIED jika ada kursi yang dilepas, ABORTED jika sudah 0, atau CONFLICT
+     */
+    public Outcome releaseSeat(Course course) {
+        return update(course, c -> {
+            if (c.getEnrolledCount() <= 0) {
+                return false;
+            }
+            c.setEnrolledCount(c.getEnrolledCount() - 1);
+            return true;
+        });
+    }
+
+    /**
+     * Jeda acak antara 0 dan min(maxBackoff, baseBackoff * 2^(attempt-1)), agar node yang
+     * bentrok tidak mencoba lagi pada saat yang sama
+     * @return false jika thread di-interrupt; status interrupt dipertahankan
+     */
+    private boolean backoff(int attempt) {
+        int shift = Math.min(attempt - 1, 62);
+        long ceiling = baseBackoffNanos > (maxBackoffNanos >>> shift) ? maxBackoffNanos : baseBackoffNanos << shift;
+        if (ceiling == 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sync(Course target, Course source) {
+        target.setEnrolledCount(source.getEnrolledCount());
+        target.setCapacity(source.getCapacity());
+        target.setVersion(source.getVersion());
+    }
+}
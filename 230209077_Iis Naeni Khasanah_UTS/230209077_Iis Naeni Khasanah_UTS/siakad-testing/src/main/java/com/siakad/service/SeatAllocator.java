@@ -0,0 +1,118 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Pengelola kursi (seat) mata kuliah berbasis counter atomik per mata kuliah.
+ * Reservasi dan pelepasan kursi memakai compare-and-set sehingga tidak ada
+ * lock global dan kapasitas tidak pernah terlampaui walaupun banyak thread
+ * mendaftar ke mata kuliah yang sama secara bersamaan.
+ */
+
+public class SeatAllocator {
+    private final ConcurrentMap<String, Seats> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Memesan satu kursi pada mata kuliah
+     * Counter diinisialisasi dari enrolledCount saat mata kuliah pertama kali dipakai
+     *
+     * @param course Mata kuliah yang akan dipesan
+     * @return true jika kursi berhasil dipesan, false jika kapasitas sudah penuh
+     */
+    public boolean tryReserve(Course course) {
+        AtomicInteger counter = counterFor(course);
+        int capacity = course.getCapacity();
+        while (true) {
+            int current = counter.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Melepaskan satu kursi pada mata kuliah
+     * Counter tidak pernah turun di bawah 0
+     *
+     * @param course Mata kuliah yang kursinya dilepas
+     * @return true jika ada kursi yang dilepas, false jika counter sudah 0
+     */
+    public boolean release(Course course) {
+        AtomicInteger counter = counterFor(course);
+        while (true) {
+            int current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Jumlah kursi terisi menurut counter
+     * @param course Mata kuliah
+     * @return Jumlah mahasiswa terdaftar
+     */
+    public int enrolledCount(Course course) {
+        return counterFor(course).get();
+    }
+
+    /**
+     * Menyimpan jumlah kursi terkini, satu penulis per mata kuliah
+     * Jumlah dibaca saat lock penulis dipegang, sehingga penulisan yang lebih akhir selalu
+     * membawa nilai yang lebih baru dan jumlah yang tersimpan tidak mundur karena
+     * penulis yang membaca counter lebih dulu tetapi menyimpan belakangan.
+     *
+     * @param course Mata kuliah
+     * @param writer Menyimpan jumlah kursi, misalnya lewat CourseRepository.update
+     */
+    public void writeEnrolledCount(Course course, IntConsumer writer) {
+        Seats seats = counterFor(course);
+        seats.writeLock.lock();
+        try {
+            writer.accept(seats.get());
+        } finally {
+            seats.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Mengisi ulang counter mata kuliah, misalnya saat memuat data awal
+     * @param courseCode Kode mata kuliah
+     * @param enrolledCount Jumlah kursi terisi
+     */
+    public void seed(String courseCode, int enrolledCount) {
+        counters.computeIfAbsent(courseCode, code -> new Seats(0)).set(Math.max(0, enrolledCount));
+    }
+
+    private Seats counterFor(Course course) {
+        Seats counter = counters.get(course.getCourseCode());
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(course.getCourseCode(),
+                code -> new Seats(Math.max(0, course.getEnrolledCount())));
+    }
+
+    /**
+     * Counter kursi satu mata kuliah beserta lock untuk menyimpannya
+     */
+    private static final class Seats extends AtomicInteger {
+        final ReentrantLock writeLock = new ReentrantLock();
+
+        Seats(int initialValue) {
+            super(initialValue);
+        }
+    }
+}
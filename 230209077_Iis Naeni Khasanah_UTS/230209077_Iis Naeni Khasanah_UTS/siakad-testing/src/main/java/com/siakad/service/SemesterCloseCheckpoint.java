@@ -0,0 +1,66 @@
+package com.siakad.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkpoint proses tutup semester
+ * Menyimpan nomor batch (chunk) yang sudah selesai ditulis, sehingga proses yang
+ * terhenti bisa dilanjutkan tanpa mengulang batch yang sudah tersimpan.
+ */
+
+public interface SemesterCloseCheckpoint {
+
+    /**
+     * Dipanggil sebelum batch pertama diproses
+     * Nomor batch hanya berarti untuk ukuran batch dan daftar mahasiswa yang sama,
+     * sehingga checkpoint yang sudah dipakai menolak nilai yang berbeda.
+     *
+     * @param batchSize Ukuran batch
+     * @param totalStudents Jumlah seluruh mahasiswa
+     * @throws IllegalStateException jika checkpoint dibuat untuk ukuran batch atau jumlah mahasiswa lain
+     */
+    default void begin(int batchSize, int totalStudents) {
+    }
+
+    /**
+     * @param chunk Nomor batch
+     * @return true jika batch sudah selesai pada eksekusi sebelumnya
+     */
+    boolean isCompleted(int chunk);
+
+    /**
+     * Mencatat batch sebagai selesai (dipanggil setelah update tersimpan)
+     * @param chunk Nomor batch
+     */
+    void markCompleted(int chunk);
+
+    /**
+     * @return Checkpoint di memori, hanya bertahan selama proses berjalan
+     */
+    static SemesterCloseCheckpoint inMemory() {
+        Set<Integer> completed = ConcurrentHashMap.newKeySet();
+        return new SemesterCloseCheckpoint() {
+            private long layout = -1;
+
+            @Override
+            public synchronized void begin(int batchSize, int totalStudents) {
+                long requested = ((long) batchSize << 32) | totalStudents;
+                if (layout >= 0 && layout != requested) {
+                    throw new IllegalStateException("Checkpoint was used with another batch size or student count");
+                }
+                layout = requested;
+            }
+
+            @Override
+            public boolean isCompleted(int chunk) {
+                return completed.contains(chunk);
+            }
+
+            @Override
+            public void markCompleted(int chunk) {
+                completed.add(chunk);
+            }
+        };
+    }
+}
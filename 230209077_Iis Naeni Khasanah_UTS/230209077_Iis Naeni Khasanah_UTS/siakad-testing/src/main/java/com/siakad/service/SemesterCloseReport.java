@@ -0,0 +1,75 @@
+package com.siakad.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hasil proses tutup semester
+ */
+
+public class SemesterCloseReport {
+    private final int totalStudents;
+    private final int processedStudents;
+    private final int resumedChunks;
+    private final boolean completed;
+    private final List<String> notFound;
+    private final Map<String, String> failures;
+    private final Map<String, Integer> maxCredits;
+
+    public SemesterCloseReport(int totalStudents, int processedStudents, int resumedChunks, boolean completed,
+                               List<String> notFound, Map<String, String> failures,
+                               Map<String, Integer> maxCredits) {
+        this.totalStudents = totalStudents;
+        this.processedStudents = processedStudents;
+        this.resumedChunks = resumedChunks;
+        this.completed = completed;
+        this.notFound = Collections.unmodifiableList(notFound);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.maxCredits = Collections.unmodifiableMap(maxCredits);
+    }
+
+    // Getters
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang diproses pada eksekusi ini (tidak termasuk batch dari checkpoint)
+     */
+    public int getProcessedStudents() {
+        return processedStudents;
+    }
+
+    /**
+     * @return Jumlah batch yang dilewati karena sudah selesai menurut checkpoint
+     */
+    public int getResumedChunks() {
+        return resumedChunks;
+    }
+
+    /**
+     * @return true jika seluruh batch sudah selesai, false jika dibatalkan di tengah jalan
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public List<String> getNotFound() {
+        return notFound;
+    }
+
+    /**
+     * @return ID mahasiswa ke pesan error untuk mahasiswa yang gagal dihitung
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return ID mahasiswa ke batas SKS semester berikutnya
+     */
+    public Map<String, Integer> getMaxCredits() {
+        return maxCredits;
+    }
+}
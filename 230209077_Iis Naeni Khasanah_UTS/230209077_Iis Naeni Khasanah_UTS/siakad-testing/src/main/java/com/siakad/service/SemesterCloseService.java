@@ -0,0 +1,202 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.TranscriptRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service untuk proses tutup semester
+ * Menghitung ulang IPK, status akademik, dan batas SKS seluruh mahasiswa secara paralel.
+ * Daftar mahasiswa dibagi menjadi batch berukuran tetap; batch dikerjakan di ForkJoinPool,
+ * disimpan dengan StudentRepository.updateAll, lalu dicatat di checkpoint.
+ * Proses yang terhenti dapat dilanjutkan dengan daftar mahasiswa (urutan sama) dan checkpoint yang sama.
+ */
+
+public class SemesterCloseService {
+
+    /**
+     * Listener progress proses tutup semester
+     */
+    public interface ProgressListener {
+        /**
+         * Dipanggil setiap kali satu batch selesai disimpan
+         * @param processedStudents Jumlah mahasiswa yang sudah diproses pada eksekusi ini
+         * @param totalStudents Jumlah mahasiswa yang perlu diproses pada eksekusi ini
+         */
+        void onProgress(int processedStudents, int totalStudents);
+    }
+
+    private final StudentRepository studentRepository;
+    private final TranscriptRepository transcriptRepository;
+    private final GradeCalculator gradeCalculator;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    public SemesterCloseService(StudentRepository studentRepository,
+                                TranscriptRepository transcriptRepository,
+                                GradeCalculator gradeCalculator,
+                                ForkJoinPool pool,
+                                int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.transcriptRepository = transcriptRepository;
+        this.gradeCalculator = gradeCalculator;
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Menjalankan proses tutup semester
+     *
+     * @param studentIds Seluruh ID mahasiswa, urutan harus sama saat melanjutkan dari checkpoint
+     * @param checkpoint Checkpoint batch yang sudah selesai
+     * @param listener Listener progress, boleh null
+     * @return Ringkasan hasil proses
+     * @throws IllegalStateException jika checkpoint dibuat dengan ukuran batch atau jumlah mahasiswa lain
+     */
+    public SemesterCloseReport closeSemester(List<String> studentIds,
+                                             SemesterCloseCheckpoint checkpoint,
+                                             ProgressListener listener) {
+        checkpoint.begin(batchSize, studentIds.size());
+        int chunks = (studentIds.size() + batchSize - 1) / batchSize;
+
+        int pendingStudents = 0;
+        int resumedChunks = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (checkpoint.isCompleted(chunk)) {
+                resumedChunks++;
+            } else {
+                pendingStudents += chunkEnd(chunk, studentIds.size()) - chunk * batchSize;
+            }
+        }
+
+        Run run = new Run(studentIds, checkpoint, listener, pendingStudents);
+        if (chunks > 0) {
+            pool.invoke(new ChunkTask(run, 0, chunks));
+        }
+
+        if (run.stopped) {
+            // Pembatalan sudah dipakai eksekusi ini
+            cancelled.set(false);
+        }
+        boolean completed = run.completedChunks.get() + resumedChunks == chunks;
+        return new SemesterCloseReport(studentIds.size(), run.processed.get(), resumedChunks, completed,
+                new ArrayList<>(run.notFound), run.failures, run.maxCredits);
+    }
+
+    /**
+     * Menghentikan proses yang sedang berjalan setelah batch aktif selesai
+     * Batch yang belum dimulai tidak dikerjakan dan bisa dilanjutkan dari checkpoint.
+     * Jika belum ada proses yang berjalan, proses berikutnya langsung berhenti.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    private void processChunk(Run run, int chunk) {
+        if (cancelled.get()) {
+            run.stopped = true;
+            return;
+        }
+        if (run.checkpoint.isCompleted(chunk)) {
+            return;
+        }
+        List<String> ids = run.studentIds.subList(chunk * batchSize, chunkEnd(chunk, run.studentIds.size()));
+        Map<String, Student> students = studentRepository.findAllByIds(ids);
+
+        List<Student> updated = new ArrayList<>(ids.size());
+        for (String studentId : ids) {
+            Student student = students.get(studentId);
+            if (student == null) {
+                run.notFound.add(studentId);
+                continue;
+            }
+            try {
+                List<CourseGrade> transcript = transcriptRepository.getTranscript(studentId);
+                double gpa = gradeCalculator.calculateGPA(transcript);
+                String status = gradeCalculator.determineAcademicStatus(gpa, student.getSemester());
+                int maxCredits = gradeCalculator.calculateMaxCredits(gpa);
+                student.setGpa(gpa);
+                student.setAcademicStatus(status);
+                run.maxCredits.put(studentId, maxCredits);
+                updated.add(student);
+            } catch (IllegalArgumentException e) {
+                run.failures.put(studentId, e.getMessage());
+            }
+        }
+
+        // Write back per batch, lalu catat checkpoint
+        if (!updated.isEmpty()) {
+            studentRepository.updateAll(updated);
+        }
+        run.checkpoint.markCompleted(chunk);
+        run.completedChunks.incrementAndGet();
+        int processed = run.processed.addAndGet(ids.size());
+        if (run.listener != null) {
+            run.listener.onProgress(processed, run.pendingStudents);
+        }
+    }
+
+    private int chunkEnd(int chunk, int total) {
+        return Math.min(total, (chunk + 1) * batchSize);
+    }
+
+    private static final class Run {
+        final List<String> studentIds;
+        final SemesterCloseCheckpoint checkpoint;
+        final ProgressListener listener;
+        final int pendingStudents;
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger completedChunks = new AtomicInteger();
+        final ConcurrentLinkedQueue<String> notFound = new ConcurrentLinkedQueue<>();
+        final Map<String, String> failures = new ConcurrentHashMap<>();
+        final Map<String, Integer> maxCredits = new ConcurrentHashMap<>();
+        volatile boolean stopped;
+
+        Run(List<String> studentIds, SemesterCloseCheckpoint checkpoint,
+            ProgressListener listener, int pendingStudents) {
+            this.studentIds = studentIds;
+            this.checkpoint = checkpoint;
+            this.listener = listener;
+            this.pendingStudents = pendingStudents;
+        }
+    }
+
+    // Membagi rentang batch secara rekursif sampai tersisa satu batch per task
+    private final class ChunkTask extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Run run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                processChunk(run, from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(run, from, mid), new ChunkTask(run, mid, to));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.siakad.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pembangkit ID 64-bit bergaya Snowflake
+ * Susunan bit: 41 bit timestamp (ms sejak 2024-01-01 UTC), 10 bit node ID, 12 bit sequence.
+ * Timestamp dan sequence disimpan dalam satu AtomicLong dan dimajukan dengan CAS,
+ * sehingga lock-free dan selalu naik (monotonic) per node, termasuk ketika jam sistem
+ * mundur atau lebih dari 4096 ID diminta dalam satu milidetik.
+ * Node ID yang berbeda per server menjamin ID tidak bentrok antar node, sehingga
+ * server yang berbagi data harus memakai node ID eksplisit masing-masing.
+ */
+
+public class SnowflakeIdGenerator implements EnrollmentIdGenerator {
+    /** 2024-01-01T00:00:00Z */
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    /** System property untuk node ID; environment variable SIAKAD_NODE_ID dipakai jika tidak diisi */
+    public static final String NODE_ID_PROPERTY = "siakad.node.id";
+    static final String NODE_ID_ENV = "SIAKAD_NODE_ID";
+    /** Node ID untuk server tunggal yang tidak mengatur node ID */
+    public static final long DEFAULT_NODE_ID = 0;
+
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (timestamp << SEQUENCE_BITS) | sequence dari ID terakhir
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Membuat generator dari node ID yang diatur untuk server ini
+     * Node ID dibaca dari system property siakad.node.id, lalu environment variable SIAKAD_NODE_ID.
+     *
+     * @return Generator untuk node tersebut, atau null jika node ID belum diatur
+     * @throws IllegalArgumentException jika node ID bukan angka atau di luar rentang
+     */
+    public static SnowflakeIdGenerator fromEnvironment() {
+        String value = System.getProperty(NODE_ID_PROPERTY);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(NODE_ID_ENV);
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new SnowflakeIdGenerator(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid node ID in " + NODE_ID_PROPERTY + ": " + value, e);
+        }
+    }
+
+    /**
+     * Seperti fromEnvironment, tetapi memakai defaultNodeId jika node ID belum diatur
+     * @throws IllegalArgumentException jika node ID bukan angka atau di luar rentang
+     */
+    public static SnowflakeIdGenerator fromEnvironment(long defaultNodeId) {
+        SnowflakeIdGenerator generator = fromEnvironment();
+        return generator != null ? generator : new SnowflakeIdGenerator(defaultNodeId);
+    }
+
+    @Override
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long previous = lastState.get();
+            long candidate = now << SEQUENCE_BITS;
+            // Milidetik sama, jam mundur, atau sequence habis: lanjutkan dari state terakhir
+            long next = candidate > previous ? candidate : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * @param id ID yang dihasilkan generator ini
+     * @return Node ID yang tersimpan di dalam ID
+     */
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * @param id ID yang dihasilkan generator ini
+     * @return Waktu pembuatan ID dalam epoch milidetik
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
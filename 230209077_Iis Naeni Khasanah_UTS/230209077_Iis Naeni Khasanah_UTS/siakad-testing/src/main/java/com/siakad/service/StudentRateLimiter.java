@@ -0,0 +1,120 @@
+package com.siakad.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter token bucket per mahasiswa tanpa lock
+ * Memakai algoritma GCRA: setiap mahasiswa hanya punya satu AtomicLong berisi
+ * waktu kedatangan teoretis berikutnya, yang dimajukan dengan compare-and-set.
+ * Setara dengan token bucket berkapasitas burst yang diisi ulang sebanyak
+ * permitsPerSecond token per detik.
+ * Entry yang dibuang evictIdle ditandai EVICTED lebih dulu, sehingga tryAcquire yang
+ * masih memegang entry lama mengulang dengan entry baru dan token tidak hilang.
+ */
+
+public class StudentRateLimiter {
+    private static final long EVICTED = Long.MAX_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerSecond Laju request rata-rata per mahasiswa
+     * @param burst Jumlah request yang boleh dikirim sekaligus
+     */
+    public StudentRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    StudentRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Mengambil satu token untuk mahasiswa
+     * @param studentId ID mahasiswa
+     * @return true jika request boleh diteruskan
+     */
+    public boolean tryAcquire(String studentId) {
+        AtomicLong arrival = arrivals.get(studentId);
+        if (arrival == null) {
+            arrival = arrivals.computeIfAbsent(studentId, id -> new AtomicLong(Long.MIN_VALUE));
+        }
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long stored = arrival.get();
+            if (stored == EVICTED) {
+                // Entry sedang dibuang evictIdle; pakai entry baru untuk mahasiswa ini
+                arrivals.remove(studentId, arrival);
+                arrival = arrivals.computeIfAbsent(studentId, id -> new AtomicLong(Long.MIN_VALUE));
+                continue;
+            }
+            long theoretical = stored == Long.MIN_VALUE ? now : Math.max(stored, now);
+            if (theoretical - now > toleranceNanos) {
+                return false;
+            }
+            if (arrival.compareAndSet(stored, theoretical + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan token yang diambil tryAcquire, misalnya saat request ditolak
+     * karena server penuh dan tidak pernah diproses
+     * @param studentId ID mahasiswa
+     */
+    public void refund(String studentId) {
+        AtomicLong arrival = arrivals.get(studentId);
+        if (arrival == null) {
+            return;
+        }
+        while (true) {
+            long stored = arrival.get();
+            if (stored == EVICTED || stored == Long.MIN_VALUE) {
+                return;
+            }
+            if (arrival.compareAndSet(stored, stored - emissionIntervalNanos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Membuang state mahasiswa yang bucket-nya sudah penuh kembali,
+     * misalnya dipanggil berkala setelah masa registrasi ramai
+     * @return Jumlah entry yang dibuang
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : arrivals.entrySet()) {
+            AtomicLong arrival = entry.getValue();
+            long stored = arrival.get();
+            // Ditandai dengan CAS agar tryAcquire yang bersamaan tidak memajukan entry yang dibuang
+            if (stored != EVICTED && stored - now <= 0 && arrival.compareAndSet(stored, EVICTED)) {
+                arrivals.remove(entry.getKey(), arrival);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang sedang dilacak
+     */
+    public int trackedStudents() {
+        return arrivals.size();
+    }
+}
@@ -0,0 +1,225 @@
+package com.siakad.service;
+
+import com.siakad.model.Student;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waitlist per mata kuliah
+ * Setiap mata kuliah memiliki antrean prioritas sendiri yang dikunci per mata kuliah,
+ * sehingga tidak ada lock global. Panjang antrean per mata kuliah dan jumlah posisi
+ * waitlist yang boleh dipegang satu mahasiswa dibatasi.
+ */
+
+public class Waitlist {
+    private final Comparator<WaitlistEntry> order;
+    private final int maxLengthPerCourse;
+    private final int maxPositionsPerStudent;
+    private final ConcurrentMap<String, CourseQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> positionsByStudent = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param policy Urutan prioritas
+     * @param maxLengthPerCourse Panjang maksimal waitlist satu mata kuliah
+     * @param maxPositionsPerStudent Jumlah maksimal mata kuliah yang bisa di-waitlist satu mahasiswa
+     */
+    public Waitlist(WaitlistPolicy policy, int maxLengthPerCourse, int maxPositionsPerStudent) {
+        if (maxLengthPerCourse <= 0 || maxPositionsPerStudent <= 0) {
+            throw new IllegalArgumentException("Waitlist limits must be positive");
+        }
+        this.order = comparatorFor(policy);
+        this.maxLengthPerCourse = maxLengthPerCourse;
+        this.maxPositionsPerStudent = maxPositionsPerStudent;
+    }
+
+    /**
+     * Memasukkan mahasiswa ke waitlist mata kuliah
+     * Pemanggilan ulang untuk mahasiswa yang sudah ada di waitlist tidak mengubah posisi.
+     *
+     * @param student Mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Posisi (mulai 1), atau 0 jika waitlist penuh atau batas posisi mahasiswa tercapai
+     */
+    public int join(Student student, String courseCode) {
+        CourseQueue queue = queues.computeIfAbsent(courseCode, code -> new CourseQueue(order));
+        int existing = queue.position(student.getStudentId());
+        if (existing > 0) {
+            return existing;
+        }
+        if (!acquirePosition(student.getStudentId())) {
+            return 0;
+        }
+        WaitlistEntry entry = new WaitlistEntry(student.getStudentId(), courseCode,
+                student.getSemester(), student.getGpa(), sequence.incrementAndGet());
+        int position = queue.offer(entry, maxLengthPerCourse);
+        if (position <= 0) {
+            // Sudah ada (join bersamaan) atau antrean penuh: slot mahasiswa dikembalikan
+            releasePosition(student.getStudentId());
+            return position < 0 ? queue.position(student.getStudentId()) : 0;
+        }
+        return position;
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari waitlist mata kuliah
+     * @return true jika mahasiswa ada di waitlist
+     */
+    public boolean leave(String studentId, String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        if (queue != null && queue.remove(studentId)) {
+            releasePosition(studentId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mengambil mahasiswa dengan prioritas tertinggi untuk dipromosikan
+     * @param courseCode Kode mata kuliah
+     * @return Entry teratas, atau null jika waitlist kosong
+     */
+    public WaitlistEntry poll(String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        WaitlistEntry entry = queue == null ? null : queue.poll();
+        if (entry != null) {
+            releasePosition(entry.getStudentId());
+        }
+        return entry;
+    }
+
+    /**
+     * Mengembalikan entry yang gagal dipromosikan ke posisi semula
+     * Batas panjang antrean dan batas posisi mahasiswa tetap berlaku, karena slot yang
+     * dilepas poll bisa sudah dipakai mahasiswa lain.
+     *
+     * @return true jika entry kembali ke waitlist atau sudah ada di sana
+     */
+    boolean requeue(WaitlistEntry entry) {
+        CourseQueue queue = queues.computeIfAbsent(entry.getCourseCode(), code -> new CourseQueue(order));
+        if (!acquirePosition(entry.getStudentId())) {
+            return false;
+        }
+        int position = queue.offer(entry, maxLengthPerCourse);
+        if (position <= 0) {
+            releasePosition(entry.getStudentId());
+        }
+        return position != 0;
+    }
+
+    /**
+     * @return Posisi mahasiswa (mulai 1), atau 0 jika tidak ada di waitlist
+     */
+    public int position(String studentId, String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        return queue == null ? 0 : queue.position(studentId);
+    }
+
+    /**
+     * @return Panjang waitlist mata kuliah
+     */
+    public int size(String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private boolean acquirePosition(String studentId) {
+        AtomicInteger held = positionsByStudent.computeIfAbsent(studentId, id -> new AtomicInteger());
+        while (true) {
+            int current = held.get();
+            if (current >= maxPositionsPerStudent) {
+                return false;
+            }
+            if (held.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releasePosition(String studentId) {
+        AtomicInteger held = positionsByStudent.get(studentId);
+        if (held != null) {
+            held.decrementAndGet();
+        }
+    }
+
+    private static Comparator<WaitlistEntry> comparatorFor(WaitlistPolicy policy) {
+        Comparator<WaitlistEntry> fifo = Comparator.comparingLong(WaitlistEntry::getSequence);
+        switch (policy) {
+            case SEMESTER:
+                return Comparator.comparingInt(WaitlistEntry::getSemester).reversed().thenComparing(fifo);
+            case GPA:
+                return Comparator.comparingDouble(WaitlistEntry::getGpa).reversed().thenComparing(fifo);
+            default:
+                return fifo;
+        }
+    }
+
+    /**
+     * Antrean satu mata kuliah, dikunci dengan monitor miliknya sendiri
+     */
+    private static final class CourseQueue {
+        private final Comparator<WaitlistEntry> order;
+        private final PriorityQueue<WaitlistEntry> heap;
+        private final Map<String, WaitlistEntry> members = new HashMap<>();
+
+        CourseQueue(Comparator<WaitlistEntry> order) {
+            this.order = order;
+            this.heap = new PriorityQueue<>(order);
+        }
+
+        /**
+         * @return Posisi baru, 0 jika penuh, -1 jika mahasiswa sudah ada
+         */
+        synchronized int offer(WaitlistEntry entry, int maxLength) {
+            if (members.containsKey(entry.getStudentId())) {
+                return -1;
+            }
+            if (heap.size() >= maxLength) {
+                return 0;
+            }
+            heap.add(entry);
+            members.put(entry.getStudentId(), entry);
+            return positionOf(entry);
+        }
+
+        synchronized WaitlistEntry poll() {
+            WaitlistEntry entry = heap.poll();
+            if (entry != null) {
+                members.remove(entry.getStudentId());
+            }
+            return entry;
+        }
+
+        synchronized boolean remove(String studentId) {
+            WaitlistEntry entry = members.remove(studentId);
+            return entry != null && heap.remove(entry);
+        }
+
+        synchronized int position(String studentId) {
+            WaitlistEntry entry = members.get(studentId);
+            return entry == null ? 0 : positionOf(entry);
+        }
+
+        synchronized int size() {
+            return heap.size();
+        }
+
+        private int positionOf(WaitlistEntry entry) {
+            int ahead = 0;
+            for (WaitlistEntry other : heap) {
+                if (order.compare(other, entry) < 0) {
+                    ahead++;
+                }
+            }
+            return ahead + 1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.siakad.service;
+
+/**
+ * Posisi satu mahasiswa di waitlist mata kuliah (tidak berubah setelah dibuat)
+ * Semester dan IPK disalin saat mahasiswa masuk waitlist untuk menentukan prioritas.
+ */
+
+public class WaitlistEntry {
+    private final String studentId;
+    private final String courseCode;
+    private final int semester;
+    private final double gpa;
+    private final long sequence;
+
+    WaitlistEntry(String studentId, String courseCode, int semester, double gpa, long sequence) {
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.semester = semester;
+        this.gpa = gpa;
+        this.sequence = sequence;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    /**
+     * @return Nomor urut global saat masuk waitlist (untuk FIFO)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,15 @@
+package com.siakad.service;
+
+/**
+ * Urutan prioritas waitlist mata kuliah
+ * Mahasiswa dengan prioritas sama tetap dilayani sesuai urutan mendaftar (FIFO).
+ */
+
+public enum WaitlistPolicy {
+    /** Urutan mendaftar saja */
+    FIFO,
+    /** Semester lebih tinggi didahulukan */
+    SEMESTER,
+    /** IPK lebih tinggi didahulukan */
+    GPA
+}
@@ -0,0 +1,152 @@
+package com.siakad.util;
+
+import java.util.Arrays;
+
+/**
+ * Himpunan int primitif dengan open addressing (linear probing)
+ * Tidak ada boxing ke Integer, sehingga cocok untuk menyimpan ID hasil interning.
+ * Hanya menerima nilai non-negatif karena -1 dipakai sebagai penanda slot kosong.
+ * Class ini tidak thread-safe.
+ */
+
+public class IntHashSet {
+    private static final int EMPTY = -1;
+
+    private int[] slots;
+    private int size;
+
+    public IntHashSet() {
+        this(4);
+    }
+
+    /**
+     * @param expectedSize Perkiraan jumlah elemen
+     */
+    public IntHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * @param value Nilai non-negatif
+     * @return true jika nilai baru ditambahkan, false jika sudah ada
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        if (++size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @param value Nilai yang dicari
+     * @return true jika nilai ada di himpunan
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Menghapus nilai dengan backward-shift, sehingga tidak ada tombstone
+     * @param value Nilai yang dihapus
+     * @return true jika nilai ada dan sudah dihapus
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != value) {
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Geser elemen berikutnya dalam cluster yang sama ke slot yang kosong
+        int gap = i;
+        int j = (i + 1) & mask;
+        while (slots[j] != EMPTY) {
+            int home = mix(slots[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        slots[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Salinan seluruh elemen, urutan tidak dijamin
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int value : slots) {
+            if (value != EMPTY) {
+                result[n++] = value;
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value != EMPTY) {
+                int i = mix(value) & mask;
+                while (slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.siakad.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabel simbol yang meng-intern string (kode mata kuliah, ID mahasiswa)
+ * menjadi handle int padat 0..n-1
+ * Handle tidak pernah berubah atau dipakai ulang, sehingga struktur data lain
+ * bisa memakai handle sebagai indeks array atau elemen IntHashSet dan hanya
+ * mengubahnya kembali ke string di batas API. Pencarian tidak memakai lock,
+ * hanya penambahan simbol baru yang disinkronkan.
+ */
+
+public class SymbolTable {
+    public static final int ABSENT = -1;
+
+    private final ConcurrentHashMap<String, Integer> handles;
+    private volatile String[] names;
+    private volatile int size;
+
+    public SymbolTable() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Perkiraan jumlah simbol
+     */
+    public SymbolTable(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        this.handles = new ConcurrentHashMap<>(capacity);
+        this.names = new String[capacity];
+    }
+
+    /**
+     * @param name String yang akan di-intern
+     * @return Handle milik string, dibuat baru jika belum ada
+     */
+    public int intern(String name) {
+        Integer handle = handles.get(Objects.requireNonNull(name, "name"));
+        if (handle != null) {
+            return handle;
+        }
+        synchronized (this) {
+            handle = handles.get(name);
+            if (handle != null) {
+                return handle;
+            }
+            int next = size;
+            String[] current = names;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, next << 1);
+            }
+            current[next] = name;
+            names = current;
+            size = next + 1;
+            // Dipublikasikan terakhir agar pembaca yang menemukan handle pasti bisa memanggil name()
+            handles.put(name, next);
+            return next;
+        }
+    }
+
+    /**
+     * @param name String yang dicari
+     * @return Handle milik string, atau ABSENT jika belum pernah di-intern
+     */
+    public int lookup(String name) {
+        if (name == null) {
+            return ABSENT;
+        }
+        Integer handle = handles.get(name);
+        return handle == null ? ABSENT : handle;
+    }
+
+    /**
+     * @param handle Handle hasil intern
+     * @return String asli milik handle
+     * @throws IndexOutOfBoundsException jika handle tidak dikenal
+     */
+    public String name(int handle) {
+        Objects.checkIndex(handle, size);
+        return names[handle];
+    }
+
+    /**
+     * @return Jumlah simbol yang sudah di-intern
+     */
+    public int size() {
+        return size;
+    }
+}
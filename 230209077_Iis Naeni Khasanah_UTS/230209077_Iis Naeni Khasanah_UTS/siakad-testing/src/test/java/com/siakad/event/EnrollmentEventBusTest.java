@@ -0,0 +1,262 @@
+package com.siakad.event;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentIndex;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk EnrollmentEventBus
+ * Meliputi:
+ * - Replay sinkron dan kejadian yang sudah tertimpa
+ * - Banyak subscriber dengan batch
+ * - Subscriber yang mulai dari nomor urut lama dan celah akibat tertimpa
+ * - Handler yang gagal tidak menghentikan subscriber
+ * - Kejadian setelah bus ditutup dibuang dan dihitung
+ * - Kejadian yang dipublikasikan EnrollmentService, termasuk urutan changeSequence enroll dan drop bersamaan
+ */
+public class EnrollmentEventBusTest {
+
+    // 1. readFrom mengembalikan kejadian berurutan mulai dari yang masih tersedia
+    @Test
+    void readFrom_replaysRetainedEvents() {
+        EnrollmentEventBus bus = new EnrollmentEventBus(4, () -> 1_000L);
+        for (int i = 1; i <= 6; i++) {
+            assertEquals(i, bus.publish(EnrollmentEvent.Type.ENROLLED, "S00" + i, "CS101", null, i));
+        }
+
+        assertEquals(6, bus.getCursor());
+        assertEquals(3, bus.getOldestSequence());
+        List<EnrollmentEvent> events = bus.readFrom(1, 10);
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(events));
+        assertEquals("S005", bus.readFrom(5, 1).get(0).getStudentId());
+        assertEquals(1_000L, events.get(0).getTimestamp());
+        assertTrue(bus.readFrom(7, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentEventBus(3));
+    }
+
+    // 2. Setiap subscriber menerima seluruh kejadian berurutan, batch diakhiri endOfBatch
+    @Test
+    void subscribe_multipleSubscribersReceiveAllEvents() throws Exception {
+        try (EnrollmentEventBus bus = new EnrollmentEventBus(1024)) {
+            Recorder first = new Recorder(100);
+            Recorder second = new Recorder(100);
+            bus.subscribe(first);
+            bus.subscribe(second);
+
+            for (int i = 0; i < 100; i++) {
+                bus.publish(EnrollmentEvent.Type.ENROLLED, "S" + i, "CS101", null, i + 1);
+            }
+
+            assertTrue(first.done.await(5, TimeUnit.SECONDS));
+            assertTrue(second.done.await(5, TimeUnit.SECONDS));
+            List<Long> expected = new ArrayList<>();
+            for (long s = 1; s <= 100; s++) {
+                expected.add(s);
+            }
+            assertEquals(expected, sequences(first.events));
+            assertEquals(expected, sequences(second.events));
+            assertTrue(first.endOfBatch.get(first.endOfBatch.size() - 1));
+        }
+    }
+
+    // 3. Subscriber bisa mulai dari nomor urut lama; yang sudah tertimpa dilaporkan sebagai celah
+    @Test
+    void subscribe_fromSequence_replaysAndReportsGap() throws Exception {
+        try (EnrollmentEventBus bus = new EnrollmentEventBus(4)) {
+            for (int i = 1; i <= 6; i++) {
+                bus.publish(EnrollmentEvent.Type.DROPPED, "S00" + i, "CS101", null, 0);
+            }
+
+            Recorder replay = new Recorder(4);
+            EnrollmentEventBus.Subscription subscription = bus.subscribe(replay, 1);
+            assertTrue(replay.done.await(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(3L, 4L, 5L, 6L), sequences(replay.events));
+            assertEquals(List.of(1L, 2L), replay.gaps);
+            assertEquals(2, subscription.getMissedCount());
+            subscription.close();
+            assertEquals(6, subscription.getSequence());
+        }
+    }
+
+    // 4. Exception dari handler dihitung dan subscriber tetap berjalan
+    @Test
+    void subscribe_failingHandler_keepsRunning() throws Exception {
+        try (EnrollmentEventBus bus = new EnrollmentEventBus(16)) {
+            CountDownLatch seen = new CountDownLatch(3);
+            EnrollmentEventBus.Subscription subscription = bus.subscribe((event, endOfBatch) -> {
+                seen.countDown();
+                if (event.getSequence() == 2) {
+                    throw new IllegalStateException("downstream unavailable");
+                }
+            });
+            for (int i = 0; i < 3; i++) {
+                bus.publish(EnrollmentEvent.Type.ENROLLED, "S001", "CS10" + i, null, 1);
+            }
+
+            assertTrue(seen.await(5, TimeUnit.SECONDS));
+            subscription.close();
+            assertEquals(1, subscription.getFailedCount());
+            assertEquals(3, subscription.getSequence());
+        }
+    }
+
+    // 5. Kejadian yang dipublikasikan setelah bus ditutup dibuang dan dihitung, bukan dilempar
+    @Test
+    void publish_afterClose_dropsAndCounts() {
+        EnrollmentEventBus bus = new EnrollmentEventBus(2);
+        bus.publish(EnrollmentEvent.Type.ENROLLED, "S001", "CS101", null, 1);
+        bus.close();
+
+        assertEquals(0, bus.publish(EnrollmentEvent.Type.DROPPED, "S001", "CS101", null, 0));
+        assertEquals(1, bus.getDroppedCount());
+        assertEquals(1, bus.getCursor());
+        assertThrows(IllegalStateException.class, () -> bus.subscribe((event, endOfBatch) -> { }));
+    }
+
+    // 6. EnrollmentService mempublikasikan enroll, penolakan beserta alasan, dan drop
+    @Test
+    void enrollmentService_publishesChanges() {
+        StudentRepository students = mock(StudentRepository.class);
+        CourseRepository courses = mock(CourseRepository.class);
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+        EnrollmentEventBus bus = new EnrollmentEventBus(16);
+        service.setEventBus(bus);
+
+        Student ani = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE");
+        Student budi = new Student("S002", "Budi", "budi@poltek.ac.id", "TI", 3, 3.4, "ACTIVE");
+        Course course = new Course("CS101", "Pemrograman Java", 3, 1, 0, "Dosen A");
+        when(students.findById("S001")).thenReturn(ani);
+        when(students.findById("S002")).thenReturn(budi);
+        when(courses.findByCourseCode("CS101")).thenReturn(course);
+        when(courses.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+        service.enrollCourse("S001", "CS101");
+        assertThrows(CourseFullException.class, () -> service.enrollCourse("S002", "CS101"));
+        assertEquals(EnrollmentResult.STUDENT_NOT_FOUND, service.tryEnroll("S404", "CS101"));
+        service.dropCourse("S001", "CS101");
+
+        List<EnrollmentEvent> events = bus.readFrom(1, 10);
+        assertEquals(4, events.size());
+        assertEquals(EnrollmentEvent.Type.ENROLLED, events.get(0).getType());
+        assertEquals(1, events.get(0).getEnrolledCount());
+        assertEquals(EnrollmentEvent.Type.REJECTED, events.get(1).getType());
+        assertEquals(EnrollmentResult.COURSE_FULL, events.get(1).getReason());
+        assertEquals("S002", events.get(1).getStudentId());
+        assertEquals(EnrollmentResult.STUDENT_NOT_FOUND, events.get(2).getReason());
+        assertEquals(EnrollmentEvent.Type.DROPPED, events.get(3).getType());
+        assertEquals(0, events.get(3).getEnrolledCount());
+        assertNull(events.get(3).getReason());
+    }
+
+    // 7. Enroll dan drop bersamaan untuk mahasiswa yang sama: diurutkan dengan changeSequence,
+    //    kejadiannya selalu bergantian sesuai urutan perubahan
+    @Test
+    void enrollmentService_concurrentEnrollAndDrop_changeSequenceOrdersChanges() throws InterruptedException {
+        StudentRepository students = mock(StudentRepository.class);
+        CourseRepository courses = mock(CourseRepository.class);
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+        service.setEnrollmentIndex(new EnrollmentIndex());
+        EnrollmentEventBus bus = new EnrollmentEventBus(8192);
+        service.setEventBus(bus);
+
+        Student ani = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE");
+        Course course = new Course("CS101", "Pemrograman Java", 3, 10, 0, "Dosen A");
+        when(students.findById("S001")).thenReturn(ani);
+        when(courses.findByCourseCode("CS101")).thenReturn(course);
+        when(courses.isPrerequisiteMet("S001", "CS101")).thenReturn(true);
+
+        Thread enroller = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                service.tryEnroll("S001", "CS101");
+            }
+        });
+        Thread dropper = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    service.dropCourse("S001", "CS101");
+                } catch (EnrollmentException e) {
+                    // Belum terdaftar
+                }
+            }
+        });
+        enroller.start();
+        dropper.start();
+        enroller.join(10_000);
+        dropper.join(10_000);
+
+        List<EnrollmentEvent> changes = new ArrayList<>();
+        for (EnrollmentEvent event : bus.readFrom(1, 8192)) {
+            if (event.getType() == EnrollmentEvent.Type.REJECTED) {
+                assertEquals(0, event.getChangeSequence());
+            } else {
+                changes.add(event);
+            }
+        }
+        changes.sort(Comparator.comparingLong(EnrollmentEvent::getChangeSequence));
+
+        EnrollmentEvent.Type expected = EnrollmentEvent.Type.ENROLLED;
+        long previous = 0;
+        for (EnrollmentEvent event : changes) {
+            assertTrue(event.getChangeSequence() > previous, "change " + event.getChangeSequence());
+            assertEquals(expected, event.getType(), "change " + event.getChangeSequence());
+            expected = expected == EnrollmentEvent.Type.ENROLLED
+                    ? EnrollmentEvent.Type.DROPPED : EnrollmentEvent.Type.ENROLLED;
+            previous = event.getChangeSequence();
+        }
+        assertFalse(changes.isEmpty());
+    }
+
+    private static List<Long> sequences(List<EnrollmentEvent> events) {
+        List<Long> result = new ArrayList<>();
+        for (EnrollmentEvent event : events) {
+            result.add(event.getSequence());
+        }
+        return result;
+    }
+
+    private static final class Recorder implements EnrollmentEventHandler {
+        final List<EnrollmentEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final List<Boolean> endOfBatch = Collections.synchronizedList(new ArrayList<>());
+        final List<Long> gaps = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done;
+
+        Recorder(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(EnrollmentEvent event, boolean endOfBatch) {
+            events.add(event);
+            this.endOfBatch.add(endOfBatch);
+            done.countDown();
+        }
+
+        @Override
+        public void onGap(long fromSequence, long toSequence) {
+            gaps.add(fromSequence);
+            gaps.add(toSequence);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.siakad.exception;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit Test untuk paket com.siakad.exception
@@ -103,4 +105,37 @@ public class ExceptionTest {
         assertEquals("Tidak bisa menambah peserta!", ex.getMessage());
         assertEquals(cause, ex.getCause());
     }
+
+    // 11. Test konstruktor stackless: tanpa stack trace, tanpa suppressed, cause tidak bisa diubah
+    @Test
+    public void testStacklessConstructors() {
+        RuntimeException[] stackless = {
+                new EnrollmentException("a", false),
+                new StudentNotFoundException("b", false),
+                new CourseNotFoundException("c", false),
+                new PrerequisiteNotMetException("d", false),
+                new CourseFullException("e", false)
+        };
+        for (RuntimeException ex : stackless) {
+            assertEquals(0, ex.getStackTrace().length);
+            ex.addSuppressed(new RuntimeException("ignored"));
+            assertEquals(0, ex.getSuppressed().length);
+            assertThrows(IllegalStateException.class, () -> ex.initCause(new RuntimeException()));
+        }
+        assertEquals("e", stackless[4].getMessage());
+    }
+
+    // 12. Test AdmissionRejectedException menyimpan alasan penolakan
+    @Test
+    public void testAdmissionRejectedException() {
+        AdmissionRejectedException ex = new AdmissionRejectedException(
+                AdmissionRejectedException.Reason.OVERLOADED, "Sibuk");
+        assertEquals("Sibuk", ex.getMessage());
+        assertEquals(AdmissionRejectedException.Reason.OVERLOADED, ex.getReason());
+
+        AdmissionRejectedException stackless = new AdmissionRejectedException(
+                AdmissionRejectedException.Reason.RATE_LIMITED, "Terlalu cepat", false);
+        assertEquals(0, stackless.getStackTrace().length);
+        assertEquals(AdmissionRejectedException.Reason.RATE_LIMITED, stackless.getReason());
+    }
 }
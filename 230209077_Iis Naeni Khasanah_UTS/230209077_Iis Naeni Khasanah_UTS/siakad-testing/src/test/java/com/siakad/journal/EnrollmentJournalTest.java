@@ -0,0 +1,500 @@
+package com.siakad.journal;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk EnrollmentJournal
+ * Meliputi:
+ * - Replay journal membangun ulang jumlah kursi dan daftar enrollment
+ * - Record terpotong / rusak di akhir file dibuang
+ * - Append bersamaan dari banyak thread (group commit)
+ * - Kegagalan write/fsync tidak merusak record yang sudah dikonfirmasi
+ * - Integrasi dengan EnrollmentService
+ * - Replay per potongan, compaction ke snapshot, dan append dari thread yang di-interrupt
+ */
+public class EnrollmentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    // 1. Replay setelah dibuka ulang
+    @Test
+    void open_replaysEntries() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(1, journal.append(JournalEntry.Type.ENROLL, "S001", "CS101"));
+            journal.append(JournalEntry.Type.ENROLL, "S002", "CS101");
+            journal.appendAll(JournalEntry.Type.ENROLL, "S001", List.of("CS102", "CS103"));
+            journal.append(JournalEntry.Type.DROP, "S001", "CS102");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            JournalState state = journal.getRecoveredState();
+            assertEquals(5, state.getEntryCount());
+            assertEquals(5, state.getLastSequence());
+            assertEquals(2, state.getEnrolledCount("CS101"));
+            assertEquals(0, state.getEnrolledCount("CS102"));
+            assertEquals(Set.of("CS101", "CS103"), state.getEnrollments("S001"));
+            // Nomor urut berlanjut setelah replay
+            assertEquals(6, journal.append(JournalEntry.Type.ENROLL, "S003", "CS103"));
+        }
+    }
+
+    // 2. Record terakhir yang terpotong dibuang dan file dipotong
+    @Test
+    void open_truncatesTornTail() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            journal.append(JournalEntry.Type.ENROLL, "S002", "CS101");
+        }
+        long goodSize = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(2, journal.getRecoveredState().getEntryCount());
+            assertEquals(goodSize, Files.size(file));
+            assertEquals(3, journal.append(JournalEntry.Type.DROP, "S002", "CS101"));
+        }
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(1, journal.getRecoveredState().getEnrolledCount("CS101"));
+        }
+    }
+
+    // 3. Record dengan CRC tidak cocok dianggap akhir journal
+    @Test
+    void open_stopsAtCorruptedRecord() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            journal.append(JournalEntry.Type.ENROLL, "S002", "CS102");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 0x55; // rusak di record kedua
+        Files.write(file, bytes);
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(1, journal.getRecoveredState().getEntryCount());
+            assertEquals(0, journal.getRecoveredState().getEnrolledCount("CS102"));
+        }
+    }
+
+    // 4. Append bersamaan menghasilkan nomor urut unik dan semuanya ter-replay
+    @Test
+    void append_concurrent_allDurable() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                pool.execute(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        sequences.add(journal.append(JournalEntry.Type.ENROLL, "S" + thread, "CS" + i));
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        assertEquals(400, sequences.size());
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(400, journal.getRecoveredState().getEntryCount());
+            assertEquals(8, journal.getRecoveredState().getEnrolledCount("CS7"));
+        }
+    }
+
+    // 5. EnrollmentService mencatat enroll/drop dan memakai hasil replay untuk kursi
+    @Test
+    void enrollmentService_recordsAndRecoversSeats() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        StudentRepository studentRepo = mock(StudentRepository.class);
+        CourseRepository courseRepo = mock(CourseRepository.class);
+        when(studentRepo.findById(anyString())).thenAnswer(inv -> new Student(inv.getArgument(0), "Mhs",
+                "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        when(courseRepo.isPrerequisiteMet(anyString(), anyString())).thenReturn(true);
+        when(courseRepo.findByCourseCode("CS101"))
+                .thenAnswer(inv -> new Course("CS101", "Pemrograman Java", 3, 30, 0, "Dosen A"));
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setJournal(journal);
+            service.enrollCourse("S001", "CS101");
+            service.enrollCourse("S002", "CS101");
+            service.dropCourse("S001", "CS101");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setJournal(journal);
+            // Repository masih melaporkan 0, tetapi counter kursi diisi dari journal (1)
+            Course course = courseRepo.findByCourseCode("CS101");
+            when(courseRepo.findByCourseCode("CS101")).thenReturn(course);
+            service.enrollCourse("S003", "CS101");
+            assertEquals(2, course.getEnrolledCount());
+            // Enrollment yang dipulihkan dari journal tetap tercatat di index
+            assertThrows(EnrollmentException.class, () -> service.enrollCourse("S002", "CS101"));
+        }
+    }
+
+    // 6. Write gagal di tengah batch: byte yang sempat tertulis dibuang dan nomor urut dipakai ulang
+    @Test
+    void append_writeFailsMidBatch_keepsLaterRecords() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        FaultyChannel channel = FaultyChannel.open(file);
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file, channel)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            channel.failNextWrite = true;
+            assertThrows(UncheckedIOException.class,
+                    () -> journal.appendAll(JournalEntry.Type.ENROLL, "S002", List.of("CS101", "CS102", "CS103")));
+            assertEquals(2, journal.append(JournalEntry.Type.ENROLL, "S003", "CS102"));
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            JournalState state = journal.getRecoveredState();
+            assertEquals(2, state.getEntryCount());
+            assertEquals(Set.of("CS101"), state.getEnrollments("S001"));
+            assertEquals(Set.of(), state.getEnrollments("S002"));
+            assertEquals(Set.of("CS102"), state.getEnrollments("S003"));
+        }
+    }
+
+    // 7. Fsync gagal: record yang ditolak tidak muncul kembali saat replay
+    @Test
+    void append_forceFails_noPhantomOnReplay() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        FaultyChannel channel = FaultyChannel.open(file);
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file, channel)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            channel.failNextForce = true;
+            assertThrows(UncheckedIOException.class, () -> journal.append(JournalEntry.Type.ENROLL, "S002", "CS101"));
+            journal.append(JournalEntry.Type.DROP, "S001", "CS101");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(2, journal.getRecoveredState().getEntryCount());
+            assertEquals(Set.of(), journal.getRecoveredState().getEnrollments("S002"));
+            assertEquals(0, journal.getRecoveredState().getEnrolledCount("CS101"));
+        }
+    }
+
+    // 8. Jika pemotongan juga gagal, journal menolak record baru sampai dibuka ulang
+    @Test
+    void append_rollbackFails_poisonsJournal() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        FaultyChannel channel = FaultyChannel.open(file);
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file, channel)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            channel.failNextWrite = true;
+            channel.failTruncate = true;
+            assertThrows(UncheckedIOException.class, () -> journal.append(JournalEntry.Type.ENROLL, "S002", "CS101"));
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> journal.append(JournalEntry.Type.ENROLL, "S003", "CS101"));
+            assertInstanceOf(UncheckedIOException.class, ex.getCause());
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(1, journal.getRecoveredState().getEntryCount());
+            assertEquals(2, journal.append(JournalEntry.Type.ENROLL, "S003", "CS101"));
+        }
+    }
+
+    // 9. Enrollment sebelum journal aktif ikut terhitung lewat baseline, termasuk drop-nya
+    @Test
+    void enrollmentService_baselineKeepsPreJournalEnrollments() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        StudentRepository studentRepo = mock(StudentRepository.class);
+        CourseRepository courseRepo = mock(CourseRepository.class);
+        when(studentRepo.findById(anyString())).thenAnswer(inv -> new Student(inv.getArgument(0), "Mhs",
+                "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        when(courseRepo.isPrerequisiteMet(anyString(), anyString())).thenReturn(true);
+        // Repository sudah mencatat 10 peserta sebelum journal dibuat
+        when(courseRepo.findByCourseCode("CS101"))
+                .thenAnswer(inv -> new Course("CS101", "Pemrograman Java", 3, 12, 10, "Dosen A"));
+        when(courseRepo.findEnrolledStudentIds("CS101")).thenReturn(List.of("S000"));
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setJournal(journal);
+            service.dropCourse("S000", "CS101");
+            service.enrollCourse("S001", "CS101");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(10, journal.getRecoveredState().getEnrolledCount("CS101"));
+            EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setJournal(journal);
+            service.enrollCourse("S002", "CS101");
+            service.enrollCourse("S003", "CS101");
+            assertThrows(CourseFullException.class, () -> service.enrollCourse("S004", "CS101"));
+        }
+    }
+
+    // 10. Journal lebih besar dari satu potongan baca: record di batas potongan tetap utuh,
+    //     hanya ekor yang terpotong yang dibuang
+    @Test
+    void open_replaysAcrossChunks_truncatesOnlyTornTail() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        List<String> courseCodes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            courseCodes.add("CS" + i);
+        }
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(10_000, journal.appendAll(JournalEntry.Type.ENROLL, "S001", courseCodes));
+        }
+        long goodSize = Files.size(file);
+        assertTrue(goodSize > 3 * 64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            JournalState state = journal.getRecoveredState();
+            assertEquals(10_000, state.getEntryCount());
+            assertEquals(10_000, state.getEnrollments("S001").size());
+            assertEquals(1, state.getEnrolledCount("CS9999"));
+            assertEquals(goodSize, Files.size(file));
+            assertEquals(10_001, journal.append(JournalEntry.Type.DROP, "S001", "CS0"));
+        }
+    }
+
+    // 11. Compaction: journal dikosongkan, state dimuat dari snapshot, nomor urut berlanjut
+    @Test
+    void compact_replaysFromSnapshot() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            journal.recordBaseline("CS101", 10);
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            journal.append(JournalEntry.Type.ENROLL, "S002", "CS101");
+            journal.append(JournalEntry.Type.DROP, "S001", "CS101");
+            assertEquals(4, journal.compact());
+            assertEquals(0, Files.size(file));
+            assertEquals(5, journal.append(JournalEntry.Type.ENROLL, "S003", "CS102"));
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            JournalState state = journal.getRecoveredState();
+            assertEquals(1, state.getEntryCount());
+            assertEquals(5, state.getLastSequence());
+            assertEquals(11, state.getEnrolledCount("CS101"));
+            assertEquals(1, state.getEnrolledCount("CS102"));
+            assertEquals(Set.of(), state.getEnrollments("S001"));
+            assertEquals(Set.of("CS101"), state.getEnrollments("S002"));
+            // Compaction otomatis setelah setiap batch karena batasnya 1 byte
+            journal.setAutoCompactBytes(1);
+            assertEquals(6, journal.append(JournalEntry.Type.DROP, "S002", "CS101"));
+            assertEquals(7, journal.append(JournalEntry.Type.ENROLL, "S004", "CS101"));
+        }
+        assertEquals(0, Files.size(file));
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            JournalState state = journal.getRecoveredState();
+            assertEquals(7, state.getLastSequence());
+            assertEquals(11, state.getEnrolledCount("CS101"));
+            assertEquals(Set.of("CS101"), state.getEnrollments("S004"));
+        }
+    }
+
+    // 12. Crash setelah snapshot tersimpan tetapi sebelum journal dipotong: record lama tidak dihitung dua kali
+    @Test
+    void open_skipsRecordsCoveredBySnapshot() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        byte[] beforeCompaction;
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            journal.append(JournalEntry.Type.ENROLL, "S002", "CS101");
+            beforeCompaction = Files.readAllBytes(file);
+            journal.compact();
+        }
+        Files.write(file, beforeCompaction);
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(0, journal.getRecoveredState().getEntryCount());
+            assertEquals(2, journal.getRecoveredState().getEnrolledCount("CS101"));
+            assertEquals(beforeCompaction.length, Files.size(file));
+            assertEquals(3, journal.append(JournalEntry.Type.DROP, "S001", "CS101"));
+        }
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(1, journal.getRecoveredState().getEntryCount());
+            assertEquals(1, journal.getRecoveredState().getEnrolledCount("CS101"));
+        }
+    }
+
+    // 13. Pemanggil yang di-interrupt tetap menunggu hasil commit; status interrupt dipertahankan
+    @Test
+    void append_interruptedCaller_waitsForCommit() throws Exception {
+        Path file = dir.resolve("enroll.log");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            Thread.currentThread().interrupt();
+            long sequence;
+            try {
+                sequence = journal.append(JournalEntry.Type.ENROLL, "S001", "CS101");
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+            assertEquals(1, sequence);
+        }
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(Set.of("CS101"), journal.getRecoveredState().getEnrollments("S001"));
+        }
+    }
+
+    /**
+     * FileChannel yang meneruskan ke file asli dan bisa gagal sesuai permintaan test
+     */
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel delegate;
+        volatile boolean failNextWrite;
+        volatile boolean failNextForce;
+        volatile boolean failTruncate;
+
+        private FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        static FaultyChannel open(Path file) throws IOException {
+            return new FaultyChannel(FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                // Sebagian batch sempat tertulis sebelum gagal
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2);
+                delegate.write(half);
+                throw new IOException("Injected write failure");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failNextForce) {
+                failNextForce = false;
+                throw new IOException("Injected fsync failure");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Injected truncate failure");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
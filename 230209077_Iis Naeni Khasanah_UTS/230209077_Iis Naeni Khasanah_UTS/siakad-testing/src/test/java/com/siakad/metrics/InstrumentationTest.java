@@ -0,0 +1,121 @@
+package com.siakad.metrics;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk wrapper Instrumented* dan MetricsRegistry
+ * Jam palsu maju 1 mikrodetik setiap dibaca, sehingga latency bisa diprediksi.
+ */
+public class InstrumentationTest {
+
+    private StudentRepository studentRepo;
+    private CourseRepository courseRepo;
+    private MetricsRegistry registry;
+    private InstrumentedEnrollmentService service;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong clock = new AtomicLong();
+        registry = new MetricsRegistry(() -> clock.addAndGet(1_000));
+        studentRepo = mock(StudentRepository.class);
+        courseRepo = mock(CourseRepository.class);
+        EnrollmentService enrollmentService = new EnrollmentService(
+                new InstrumentedStudentRepository(studentRepo, registry),
+                new InstrumentedCourseRepository(courseRepo, registry),
+                new InstrumentedNotificationService(mock(NotificationService.class), registry),
+                new GradeCalculator());
+        service = new InstrumentedEnrollmentService(enrollmentService, registry);
+    }
+
+    // 1. Sukses dan kegagalan per tipe exception tercatat per operasi
+    @Test
+    void enrollCourse_countsOutcomesPerExceptionType() {
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+        when(studentRepo.findById("S001")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Java", 3, 30, 0, "Dosen A"));
+        when(courseRepo.findByCourseCode("CS102")).thenReturn(new Course("CS102", "Basis Data", 3, 1, 1, "Dosen B"));
+        when(courseRepo.isPrerequisiteMet(anyString(), anyString())).thenReturn(true);
+
+        service.enrollCourse("S001", "CS101");
+        assertThrows(CourseFullException.class, () -> service.enrollCourse("S001", "CS102"));
+        assertThrows(StudentNotFoundException.class, () -> service.enrollCourse("S404", "CS101"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        OperationSnapshot enroll = snapshot.getOperation("enrollment.enrollCourse");
+        assertEquals(3, enroll.getTotalCount());
+        assertEquals(1, enroll.getSuccessCount());
+        assertEquals(1, enroll.getFailureCount("CourseFullException"));
+        assertEquals(1, enroll.getFailureCount("StudentNotFoundException"));
+
+        assertEquals(3, snapshot.getOperation("studentRepository.findById").getSuccessCount());
+        assertEquals(2, snapshot.getOperation("courseRepository.findByCourseCode").getTotalCount());
+        assertEquals(1, snapshot.getOperation("notification.sendEmail").getSuccessCount());
+        // Jam palsu: satu panggilan repository = 1 mikrodetik
+        assertEquals(1_000L, snapshot.getOperation("studentRepository.findById").getLatency().getMaxNanos());
+    }
+
+    // 2. Kegagalan di repository tercatat di operasi repository dan diteruskan ke pemanggil
+    @Test
+    void repositoryFailure_recordedAndRethrown() {
+        when(studentRepo.findById("S001")).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> service.validateCreditLimit("S001", 20));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(1, snapshot.getOperation("studentRepository.findById").getFailureCount("IllegalStateException"));
+        assertEquals(1, snapshot.getOperation("enrollment.validateCreditLimit").getFailureCount("IllegalStateException"));
+    }
+
+    // 3. Format teks untuk endpoint pull
+    @Test
+    void format_oneLinePerOperation() {
+        when(studentRepo.findById("S001")).thenReturn(null);
+        assertThrows(StudentNotFoundException.class, () -> service.dropCourse("S001", "CS101"));
+
+        String text = registry.snapshot().format();
+        assertTrue(text.contains("enrollment.dropCourse count=1 success=0"));
+        assertTrue(text.contains("StudentNotFoundException=1"));
+        assertTrue(text.contains("studentRepository.findById count=1 success=1 mean_us=1.000"));
+    }
+
+    // 4. tryEnroll dan enrollOrWaitlist dicatat, penolakan dihitung per EnrollmentResult
+    @Test
+    void resultReturningOperations_countRejectionsPerResult() {
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+        when(studentRepo.findById("S001")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Java", 3, 30, 0, "Dosen A"));
+        when(courseRepo.findByCourseCode("CS102")).thenReturn(new Course("CS102", "Basis Data", 3, 1, 1, "Dosen B"));
+        when(courseRepo.isPrerequisiteMet(anyString(), anyString())).thenReturn(true);
+
+        assertEquals(EnrollmentResult.SUCCESS, service.tryEnroll("S001", "CS101"));
+        assertEquals(EnrollmentResult.ALREADY_ENROLLED, service.tryEnroll("S001", "CS101"));
+        assertEquals(EnrollmentResult.COURSE_FULL, service.enrollOrWaitlist("S001", "CS102"));
+        assertEquals(EnrollmentResult.STUDENT_NOT_FOUND, service.enrollOrWaitlist("S404", "CS102"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        OperationSnapshot tryEnroll = snapshot.getOperation("enrollment.tryEnroll");
+        assertEquals(2, tryEnroll.getTotalCount());
+        assertEquals(1, tryEnroll.getSuccessCount());
+        assertEquals(1, tryEnroll.getFailureCount("ALREADY_ENROLLED"));
+        OperationSnapshot waitlist = snapshot.getOperation("enrollment.enrollOrWaitlist");
+        assertEquals(0, waitlist.getSuccessCount());
+        assertEquals(1, waitlist.getFailureCount("COURSE_FULL"));
+        assertEquals(1, waitlist.getFailureCount("STUDENT_NOT_FOUND"));
+    }
+}
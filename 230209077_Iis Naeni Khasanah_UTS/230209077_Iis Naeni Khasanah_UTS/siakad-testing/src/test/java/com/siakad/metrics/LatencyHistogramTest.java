@@ -0,0 +1,56 @@
+package com.siakad.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk LatencyHistogram
+ * Meliputi:
+ * - Pemetaan nilai ke bucket dan galat relatif
+ * - Persentil, rata-rata, dan nilai maksimum
+ */
+public class LatencyHistogramTest {
+
+    // 1. Setiap nilai jatuh ke bucket yang batas atasnya >= nilai, galat relatif <= 1/16
+    @Test
+    void bucketIndex_boundedRelativeError() {
+        long[] samples = {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE};
+        for (long value : samples) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value);
+            assertTrue(upper - value <= value / 16, "value=" + value + " upper=" + upper);
+        }
+    }
+
+    // 2. Persentil dan statistik dasar
+    @Test
+    void snapshot_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5); // dianggap 0
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(101, snapshot.getCount());
+        assertEquals(100_000L, snapshot.getMaxNanos());
+        assertEquals(5_050_000.0 / 101, snapshot.getMeanNanos(), 0.001);
+        assertEquals(50_000.0, snapshot.getPercentile(50), 50_000 / 16.0);
+        assertEquals(99_000.0, snapshot.getPercentile(99), 99_000 / 16.0);
+        assertEquals(100_000L, snapshot.getPercentile(100));
+        assertEquals(0L, snapshot.getPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(101));
+    }
+
+    // 3. Histogram kosong
+    @Test
+    void snapshot_empty() {
+        HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0.0, snapshot.getMeanNanos());
+        assertEquals(0L, snapshot.getPercentile(99));
+    }
+}
@@ -15,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * 2. Course
  * 3. CourseGrade
  * 4. Enrollment
+ * 5. CourseSnapshot dan StudentSnapshot
  *
  * Tujuan: memastikan seluruh getter, setter, dan logika sederhana
  * teruji dengan baik untuk mencapai coverage di atas 90%.
@@ -217,4 +218,75 @@ public class ModelTest {
         assertEquals(time, enrollment.getEnrollmentDate());
         assertEquals("APPROVED", enrollment.getStatus());
     }
+
+    // 4.4 Uji ID numerik dirender menjadi string hanya saat dibutuhkan
+    @Test
+    void testEnrollmentNumberRenderedLazily() {
+        enrollment.setEnrollmentNumber(32L * 32 + 31);
+        assertEquals(1055L, enrollment.getEnrollmentNumber());
+        assertEquals("ENR-10Z", enrollment.getEnrollmentId());
+        assertSame(enrollment.getEnrollmentId(), enrollment.getEnrollmentId());
+
+        enrollment.setEnrollmentId("E03");
+        assertEquals("E03", enrollment.getEnrollmentId());
+        assertEquals(0L, enrollment.getEnrollmentNumber());
+    }
+
+    // ================ 5. TEST UNTUK CLASS COURSESNAPSHOT DAN STUDENTSNAPSHOT ================
+
+    // 5.1 Uji snapshot Course tidak terpengaruh perubahan Course asal
+    @Test
+    void testCourseSnapshotRoundTrip() {
+        Course source = new Course("CS201", "Struktur Data", 3, 30, 29, "Dosen B");
+        source.addPrerequisite("CS101");
+        CourseSnapshot snapshot = CourseSnapshot.of(source);
+
+        source.setEnrolledCount(30);
+        source.addPrerequisite("MA101");
+        assertEquals(29, snapshot.getEnrolledCount());
+        assertEquals(List.of("CS101"), snapshot.getPrerequisites());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPrerequisites().add("X"));
+        assertFalse(snapshot.isFull());
+
+        Course copy = snapshot.toCourse();
+        copy.addPrerequisite("MA101");
+        assertEquals(List.of("CS101"), snapshot.getPrerequisites());
+        assertEquals(snapshot, CourseSnapshot.of(snapshot.toCourse()));
+    }
+
+    // 5.2 Uji helper with* CourseSnapshot mengembalikan instance baru
+    @Test
+    void testCourseSnapshotCopyOnWrite() {
+        CourseSnapshot snapshot = new CourseSnapshot("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A", null);
+
+        CourseSnapshot full = snapshot.withEnrolledCount(30);
+        assertEquals(10, snapshot.getEnrolledCount());
+        assertTrue(full.isFull());
+        assertSame(snapshot.getPrerequisites(), full.getPrerequisites());
+        assertSame(snapshot, snapshot.withEnrolledCount(10));
+        assertEquals(40, full.withCapacity(40).getCapacity());
+        assertNotEquals(snapshot, full);
+    }
+
+    // 5.3 Uji StudentSnapshot memakai enum status dan helper with*
+    @Test
+    void testStudentSnapshot() {
+        Student source = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.4, "ACTIVE");
+        StudentSnapshot snapshot = StudentSnapshot.of(source);
+        assertEquals(AcademicStatus.ACTIVE, snapshot.getAcademicStatus());
+        assertFalse(snapshot.isSuspended());
+
+        StudentSnapshot updated = snapshot.withGpaAndStatus(1.5, AcademicStatus.SUSPENDED);
+        assertTrue(updated.isSuspended());
+        assertEquals(3.4, snapshot.getGpa());
+        assertEquals("SUSPENDED", updated.toStudent().getAcademicStatus());
+        assertEquals(4, snapshot.withSemester(4).getSemester());
+        assertSame(snapshot, snapshot.withAcademicStatus(AcademicStatus.ACTIVE));
+        assertEquals(snapshot, StudentSnapshot.of(snapshot.toStudent()));
+
+        source.setAcademicStatus("GRADUATED");
+        assertThrows(IllegalArgumentException.class, () -> StudentSnapshot.of(source));
+        source.setAcademicStatus(null);
+        assertNull(StudentSnapshot.of(source).getAcademicStatus());
+    }
 }
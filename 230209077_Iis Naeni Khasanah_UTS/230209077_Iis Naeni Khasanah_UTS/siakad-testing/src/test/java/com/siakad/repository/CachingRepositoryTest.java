@@ -0,0 +1,198 @@
+package com.siakad.repository;
+
+import com.siakad.model.AcademicStatus;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk CachingCourseRepository dan CachingStudentRepository
+ * Meliputi:
+ * - Read-through (hit dan miss)
+ * - Eviction LRU saat ukuran maksimum terlampaui
+ * - Kedaluwarsa TTL (memakai clock palsu)
+ * - Invalidate pada update()
+ * - Load yang bersaing dengan update tidak menyimpan data lama
+ * - Hit mengembalikan salinan dari snapshot yang di-cache
+ */
+public class CachingRepositoryTest {
+
+    private CourseRepository courseDelegate;
+    private StudentRepository studentDelegate;
+    private AtomicLong clock;
+    private CachingCourseRepository courseCache;
+    private CachingStudentRepository studentCache;
+
+    @BeforeEach
+    void setUp() {
+        courseDelegate = mock(CourseRepository.class);
+        studentDelegate = mock(StudentRepository.class);
+        clock = new AtomicLong();
+        courseCache = new CachingCourseRepository(courseDelegate, 2, Duration.ofSeconds(10), clock::get);
+        studentCache = new CachingStudentRepository(studentDelegate, 2, Duration.ofSeconds(10), clock::get);
+    }
+
+    // 1. Lookup kedua dilayani dari cache, berupa salinan yang tidak memengaruhi cache
+    @Test
+    void findByCourseCode_secondLookupIsHit() {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        when(courseDelegate.findByCourseCode("CS101")).thenReturn(course);
+
+        assertSame(course, courseCache.findByCourseCode("CS101"));
+        course.setEnrolledCount(29); // Diubah pemanggil setelah masuk cache
+        Course hit = courseCache.findByCourseCode("CS101");
+        assertNotSame(course, hit);
+        assertEquals(10, hit.getEnrolledCount());
+        hit.setEnrolledCount(30);
+        assertEquals(10, courseCache.findByCourseCode("CS101").getEnrolledCount());
+        assertSame(courseCache.findSnapshot("CS101"), courseCache.findSnapshot("CS101"));
+
+        verify(courseDelegate, times(1)).findByCourseCode("CS101");
+        assertEquals(4, courseCache.stats().getHitCount());
+        assertEquals(1, courseCache.stats().getMissCount());
+    }
+
+    // 2. Entry yang paling lama tidak diakses dibuang saat cache penuh
+    @Test
+    void findByCourseCode_evictsLeastRecentlyUsed() {
+        when(courseDelegate.findByCourseCode(anyString())).thenAnswer(
+                inv -> new Course(inv.getArgument(0), "MK", 3, 30, 0, "Dosen"));
+
+        courseCache.findByCourseCode("CS101");
+        courseCache.findByCourseCode("CS102");
+        courseCache.findByCourseCode("CS101"); // CS101 menjadi paling baru diakses
+        courseCache.findByCourseCode("CS103"); // CS102 dibuang
+
+        courseCache.findByCourseCode("CS101");
+        courseCache.findByCourseCode("CS102");
+
+        verify(courseDelegate, times(1)).findByCourseCode("CS101");
+        verify(courseDelegate, times(2)).findByCourseCode("CS102");
+        assertTrue(courseCache.stats().getEvictionCount() >= 1);
+        assertEquals(2, courseCache.stats().getSize());
+    }
+
+    // 3. Entry kedaluwarsa setelah TTL
+    @Test
+    void findByCourseCode_expiresAfterTtl() {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        when(courseDelegate.findByCourseCode("CS101")).thenReturn(course);
+
+        courseCache.findByCourseCode("CS101");
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        courseCache.findByCourseCode("CS101");
+
+        verify(courseDelegate, times(2)).findByCourseCode("CS101");
+        assertEquals(1, courseCache.stats().getExpirationCount());
+    }
+
+    // 4. update() diteruskan ke repository asli dan meng-invalidate cache
+    @Test
+    void update_writesThroughAndInvalidates() {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        when(courseDelegate.findByCourseCode("CS101")).thenReturn(course);
+
+        courseCache.findByCourseCode("CS101");
+        course.setEnrolledCount(11);
+        courseCache.update(course);
+        courseCache.findByCourseCode("CS101");
+
+        verify(courseDelegate).update(course);
+        verify(courseDelegate, times(2)).findByCourseCode("CS101");
+    }
+
+    // 5. Batch lookup hanya meneruskan kode yang belum ada di cache
+    @Test
+    void findAllByCourseCodes_onlyLoadsMisses() {
+        Course c1 = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        Course c2 = new Course("CS102", "Basis Data", 3, 30, 10, "Dosen B");
+        when(courseDelegate.findByCourseCode("CS101")).thenReturn(c1);
+        when(courseDelegate.findAllByCourseCodes(anyCollection())).thenAnswer(inv -> {
+            Collection<String> codes = inv.getArgument(0);
+            assertEquals(List.of("CS102"), List.copyOf(codes));
+            return Map.of("CS102", c2);
+        });
+
+        courseCache.findByCourseCode("CS101");
+        Map<String, Course> result = courseCache.findAllByCourseCodes(List.of("CS101", "CS102"));
+
+        assertEquals(10, result.get("CS101").getEnrolledCount());
+        assertSame(c2, result.get("CS102"));
+        assertEquals("Basis Data", courseCache.findSnapshot("CS102").getCourseName());
+    }
+
+    // 6. Cache mahasiswa: hit, update, lalu miss
+    @Test
+    void studentCache_readThroughAndInvalidate() {
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+        when(studentDelegate.findById("S001")).thenReturn(student);
+
+        studentCache.findById("S001");
+        assertEquals(AcademicStatus.ACTIVE, studentCache.findSnapshot("S001").getAcademicStatus());
+        studentCache.update(student);
+        studentCache.findById("S001");
+
+        verify(studentDelegate, times(2)).findById("S001");
+        verify(studentDelegate).update(student);
+        assertEquals(1, studentCache.stats().getHitCount());
+
+        // Status yang tidak dikenal tidak di-cache, tetapi tetap dikembalikan apa adanya
+        when(studentDelegate.findById("S002"))
+                .thenReturn(new Student("S002", "Budi", "budi@poltek.ac.id", "TI", 3, 3.5, "CUTI"));
+        assertEquals("CUTI", studentCache.findById("S002").getAcademicStatus());
+        assertEquals("CUTI", studentCache.findById("S002").getAcademicStatus());
+        verify(studentDelegate, times(2)).findById("S002");
+    }
+
+    // 7. Mahasiswa yang tidak ditemukan tidak di-cache
+    @Test
+    void studentCache_doesNotCacheNull() {
+        when(studentDelegate.findById("S404")).thenReturn(null);
+
+        assertNull(studentCache.findById("S404"));
+        assertNull(studentCache.findById("S404"));
+
+        verify(studentDelegate, times(2)).findById("S404");
+    }
+
+    // 8. Konfigurasi invalid ditolak
+    @Test
+    void constructor_invalidConfig_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingCourseRepository(courseDelegate, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingStudentRepository(studentDelegate, 10, Duration.ZERO));
+    }
+
+    // 9. Update + invalidate terjadi saat load berjalan: hasil load lama tidak masuk cache
+    @Test
+    void findByCourseCode_updateDuringLoad_doesNotCacheStaleValue() {
+        Course stale = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        Course fresh = new Course("CS101", "Pemrograman Java", 3, 30, 11, "Dosen A");
+        when(courseDelegate.findByCourseCode("CS101"))
+                .thenAnswer(inv -> {
+                    // Node lain menyimpan perubahan setelah data lama terbaca
+                    courseCache.update(fresh);
+                    return stale;
+                })
+                .thenReturn(fresh);
+
+        assertSame(stale, courseCache.findByCourseCode("CS101"));
+        assertSame(fresh, courseCache.findByCourseCode("CS101"));
+        assertEquals(11, courseCache.findByCourseCode("CS101").getEnrolledCount());
+
+        verify(courseDelegate, times(2)).findByCourseCode("CS101");
+        assertEquals(1, courseCache.stats().getSize());
+    }
+}
@@ -0,0 +1,129 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk InMemoryCourseRepository
+ * Meliputi:
+ * - Simpan, baca, dan hapus mata kuliah
+ * - Course yang dikembalikan adalah salinan, snapshot dibagikan apa adanya
+ * - Snapshot tidak terpengaruh update setelahnya
+ * - Update bersyarat berdasarkan versi
+ * - Pengecekan prasyarat dari StudentRepository
+ */
+public class InMemoryCourseRepositoryTest {
+
+    private StudentRepository students;
+    private InMemoryCourseRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        students = mock(StudentRepository.class);
+        repo = new InMemoryCourseRepository(students, 4);
+    }
+
+    // 1. Mata kuliah yang disimpan bisa dibaca dan dihapus
+    @Test
+    void updateFindRemove_roundTrip() {
+        for (int i = 0; i < 50; i++) {
+            repo.update(new Course("CS" + i, "MK " + i, 3, 30, i, "Dosen"));
+        }
+
+        assertEquals(50, repo.size());
+        assertEquals(42, repo.findByCourseCode("CS42").getEnrolledCount());
+        assertNull(repo.findByCourseCode("XX999"));
+        assertTrue(repo.remove("CS42"));
+        assertFalse(repo.remove("CS42"));
+        assertNull(repo.findByCourseCode("CS42"));
+        assertEquals(49, repo.size());
+    }
+
+    // 2. Perubahan pada objek hasil find tidak tersimpan sebelum update
+    @Test
+    void findByCourseCode_returnsCopy() {
+        repo.update(new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A"));
+
+        Course loaded = repo.findByCourseCode("CS101");
+        loaded.setEnrolledCount(11);
+        assertEquals(10, repo.findByCourseCode("CS101").getEnrolledCount());
+
+        repo.update(loaded);
+        assertEquals(11, repo.findByCourseCode("CS101").getEnrolledCount());
+        assertSame(repo.findSnapshot("CS101"), repo.findSnapshot("CS101"));
+
+        repo.update(repo.findSnapshot("CS101").withEnrolledCount(12));
+        assertEquals(12, repo.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    // 3. Snapshot mencerminkan satu titik waktu
+    @Test
+    void snapshotIterator_isolatedFromLaterUpdates() {
+        repo.update(new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A"));
+        repo.update(new Course("CS102", "Basis Data", 3, 30, 5, "Dosen B"));
+
+        Iterator<CourseSnapshot> snapshot = repo.snapshotIterator();
+        repo.update(new Course("CS101", "Pemrograman Java", 3, 30, 20, "Dosen A"));
+        repo.update(new Course("CS103", "Jaringan", 3, 30, 0, "Dosen C"));
+        repo.remove("CS102");
+
+        List<CourseSnapshot> seen = new ArrayList<>();
+        snapshot.forEachRemaining(seen::add);
+        assertEquals(2, seen.size());
+        for (CourseSnapshot course : seen) {
+            if (course.getCourseCode().equals("CS101")) {
+                assertEquals(10, course.getEnrolledCount());
+            } else {
+                assertEquals("CS102", course.getCourseCode());
+            }
+        }
+        assertFalse(snapshot.hasNext());
+    }
+
+    // 4. compareAndUpdate hanya menyimpan jika versi belum berubah
+    @Test
+    void compareAndUpdate_rejectsStaleVersion() {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        repo.update(course);
+        assertEquals(1, course.getVersion());
+
+        Course first = repo.findByCourseCode("CS101");
+        Course second = repo.findByCourseCode("CS101");
+        first.setEnrolledCount(11);
+        assertEquals(UpdateResult.APPLIED, repo.compareAndUpdate(first, first.getVersion()));
+        assertEquals(2, first.getVersion());
+
+        second.setEnrolledCount(11);
+        assertEquals(UpdateResult.CONFLICT, repo.compareAndUpdate(second, second.getVersion()));
+        assertEquals(11, repo.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(2, repo.findSnapshot("CS101").getVersion());
+        assertEquals(UpdateResult.NOT_FOUND,
+                repo.compareAndUpdate(new Course("XX999", "X", 3, 30, 0, "X"), 0));
+        assertTrue(repo.supportsConditionalUpdate());
+    }
+
+    // 5. Prasyarat dicocokkan dengan mata kuliah yang sudah diselesaikan
+    @Test
+    void isPrerequisiteMet_checksCompletedCourses() {
+        Course cs201 = new Course("CS201", "Struktur Data", 3, 30, 0, "Dosen B");
+        cs201.addPrerequisite("CS101");
+        repo.update(cs201);
+        when(students.getCompletedCourses("S001"))
+                .thenReturn(List.of(new Course("CS101", "Pemrograman Java", 3, 30, 0, "Dosen A")));
+        when(students.getCompletedCourses("S002")).thenReturn(List.of());
+
+        assertTrue(repo.isPrerequisiteMet("S001", "CS201"));
+        assertFalse(repo.isPrerequisiteMet("S002", "CS201"));
+        assertTrue(repo.isPrerequisiteMet("S002", "XX999"));
+        verify(students, never()).getCompletedCourses("S003");
+    }
+}
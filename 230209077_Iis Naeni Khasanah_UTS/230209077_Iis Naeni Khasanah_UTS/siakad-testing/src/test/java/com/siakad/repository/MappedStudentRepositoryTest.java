@@ -0,0 +1,130 @@
+package com.siakad.repository;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk MappedStudentRepository
+ * Meliputi:
+ * - Simpan dan baca ulang data mahasiswa
+ * - Update di tempat tanpa menambah string pool
+ * - Data tetap ada setelah file dibuka ulang
+ * - Batas kapasitas dan status yang tidak dikenal
+ * - Update yang gagal tidak meninggalkan record setengah jadi
+ */
+public class MappedStudentRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    // 1. Mahasiswa yang disimpan bisa dibaca kembali
+    @Test
+    void updateAndFindById_roundTrip() throws Exception {
+        try (MappedStudentRepository repo = MappedStudentRepository.open(dir.resolve("s.dat"), 10, 4096)) {
+            repo.update(new Student("S001", "Ani", "ani@poltek.ac.id", "Informatika", 3, 3.5, "ACTIVE"));
+            repo.update(new Student("S002", "Budi", null, "TI", 1, 1.8, "PROBATION"));
+
+            Student ani = repo.findById("S001");
+            assertEquals("Ani", ani.getName());
+            assertEquals("ani@poltek.ac.id", ani.getEmail());
+            assertEquals("Informatika", ani.getMajor());
+            assertEquals(3, ani.getSemester());
+            assertEquals(3.5, ani.getGpa());
+            assertEquals("ACTIVE", ani.getAcademicStatus());
+            assertNull(repo.findById("S002").getEmail());
+            assertNull(repo.findById("S404"));
+            assertEquals(2, repo.size());
+        }
+    }
+
+    // 2. Update IPK dan status ditulis di tempat tanpa menulis ulang string
+    @Test
+    void update_existingStudent_writesInPlace() throws Exception {
+        try (MappedStudentRepository repo = MappedStudentRepository.open(dir.resolve("s.dat"), 10, 4096)) {
+            Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "Informatika", 3, 3.5, "ACTIVE");
+            repo.update(student);
+            int poolBefore = repo.getPoolBytesUsed();
+
+            student.setGpa(2.1);
+            student.setAcademicStatus("PROBATION");
+            student.setSemester(4);
+            repo.update(student);
+
+            assertEquals(poolBefore, repo.getPoolBytesUsed());
+            assertEquals(1, repo.size());
+            Student reloaded = repo.findById("S001");
+            assertEquals(2.1, reloaded.getGpa());
+            assertEquals("PROBATION", reloaded.getAcademicStatus());
+            assertEquals(4, reloaded.getSemester());
+
+            student.setEmail("ani.baru@poltek.ac.id");
+            repo.update(student);
+            assertEquals("ani.baru@poltek.ac.id", repo.findById("S001").getEmail());
+        }
+    }
+
+    // 3. Data dan index tetap ada setelah file dibuka ulang
+    @Test
+    void reopen_rebuildsIndex() throws Exception {
+        Path file = dir.resolve("s.dat");
+        try (MappedStudentRepository repo = MappedStudentRepository.open(file, 100, 8192)) {
+            for (int i = 0; i < 60; i++) {
+                repo.update(new Student("S" + i, "Mhs " + i, null, "TI", 2, 3.0, "ACTIVE"));
+            }
+        }
+        try (MappedStudentRepository repo = MappedStudentRepository.open(file, 1, 1)) {
+            assertEquals(60, repo.size());
+            assertEquals("Mhs 42", repo.findById("S42").getName());
+            repo.updateAll(List.of(new Student("S60", "Baru", null, "TI", 1, 0.0, null)));
+            assertEquals(61, repo.size());
+            assertNull(repo.findById("S60").getAcademicStatus());
+        }
+    }
+
+    // 4. Kapasitas penuh dan status tidak dikenal ditolak
+    @Test
+    void update_invalid_shouldThrow() throws Exception {
+        try (MappedStudentRepository repo = MappedStudentRepository.open(dir.resolve("s.dat"), 1, 4096)) {
+            repo.update(new Student("S001", "Ani", null, "TI", 1, 3.0, "ACTIVE"));
+            assertThrows(IllegalStateException.class,
+                    () -> repo.update(new Student("S002", "Budi", null, "TI", 1, 3.0, "ACTIVE")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> repo.update(new Student("S001", "Ani", null, "TI", 1, 3.0, "GRADUATED")));
+        }
+    }
+
+    // 5. String pool penuh atau string terlalu panjang: tidak ada perubahan yang tersimpan
+    @Test
+    void update_poolFullOrStringTooLong_leavesRecordsUntouched() throws Exception {
+        Path file = dir.resolve("s.dat");
+        try (MappedStudentRepository repo = MappedStudentRepository.open(file, 10, 64)) {
+            repo.update(new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+            int poolBefore = repo.getPoolBytesUsed();
+
+            assertThrows(IllegalStateException.class,
+                    () -> repo.update(new Student("S002", "Budi Santoso", "budi.santoso@poltek.ac.id", "TI", 1, 3.0, "ACTIVE")));
+            assertNull(repo.findById("S002"));
+            assertEquals(1, repo.size());
+            assertEquals(poolBefore, repo.getPoolBytesUsed());
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> repo.update(new Student("S001", "Ani Baru", "x".repeat(40_000), "TI", 4, 2.0, "PROBATION")));
+            Student ani = repo.findById("S001");
+            assertEquals("Ani", ani.getName());
+            assertEquals("ani@poltek.ac.id", ani.getEmail());
+            assertEquals(3.5, ani.getGpa());
+            assertEquals(poolBefore, repo.getPoolBytesUsed());
+        }
+
+        try (MappedStudentRepository repo = MappedStudentRepository.open(file, 10, 64)) {
+            assertEquals(1, repo.size());
+            assertNull(repo.findById("S002"));
+        }
+    }
+}
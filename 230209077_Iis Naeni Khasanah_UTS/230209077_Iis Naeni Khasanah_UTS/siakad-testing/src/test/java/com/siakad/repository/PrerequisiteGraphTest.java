@@ -0,0 +1,154 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.StudentCourse;
+import com.siakad.util.SymbolTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk PrerequisiteGraph dan GraphPrerequisiteCourseRepository
+ * Meliputi:
+ * - Prasyarat langsung dan transitif
+ * - Deteksi siklus saat graf dibangun
+ * - Pengecekan prasyarat berbasis bitset (termasuk lebih dari 64 mata kuliah)
+ * - Tabel simbol yang dipakai bersama
+ * - Mata kuliah yang tidak dikenal graf dicek oleh repository asli
+ */
+public class PrerequisiteGraphTest {
+
+    private Course cs101;
+    private Course cs201;
+    private Course cs301;
+    private PrerequisiteGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        // CS101 <- CS201 <- CS301, CS301 juga butuh MA101
+        cs101 = new Course("CS101", "Pemrograman Dasar", 3, 30, 0, "Dosen A");
+        cs201 = new Course("CS201", "Struktur Data", 3, 30, 0, "Dosen B");
+        cs201.addPrerequisite("CS101");
+        cs301 = new Course("CS301", "Algoritma Lanjut", 3, 30, 0, "Dosen C");
+        cs301.addPrerequisite("CS201");
+        cs301.addPrerequisite("MA101");
+        graph = PrerequisiteGraph.build(List.of(cs101, cs201, cs301));
+    }
+
+    // 1. Prasyarat langsung dan transitif
+    @Test
+    void prerequisites_directAndTransitive() {
+        assertEquals(Set.of("CS201", "MA101"), graph.directPrerequisites("CS301"));
+        assertEquals(Set.of("CS201", "CS101", "MA101"), graph.transitivePrerequisites("CS301"));
+        assertTrue(graph.transitivePrerequisites("CS101").isEmpty());
+        assertEquals(4, graph.size()); // MA101 tetap mendapat ID
+    }
+
+    // 2. Pengecekan prasyarat dari daftar mata kuliah yang sudah selesai
+    @Test
+    void isPrerequisiteMet_usesCompletedSet() {
+        Course ma101 = new Course("MA101", "Kalkulus", 3, 30, 0, "Dosen D");
+
+        assertTrue(graph.isPrerequisiteMet("CS101", List.of()));
+        assertTrue(graph.isPrerequisiteMet("CS201", List.of(cs101)));
+        assertFalse(graph.isPrerequisiteMet("CS301", List.of(cs101, cs201)));
+        assertTrue(graph.isPrerequisiteMet("CS301", List.of(cs201, ma101)));
+        assertTrue(graph.isPrerequisiteMet("XX999", List.of())); // tidak dikenal
+    }
+
+    // 3. Siklus prasyarat ditolak
+    @Test
+    void build_cycle_shouldThrow() {
+        Course a = new Course("A", "A", 3, 30, 0, "X");
+        Course b = new Course("B", "B", 3, 30, 0, "X");
+        a.addPrerequisite("B");
+        b.addPrerequisite("A");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> PrerequisiteGraph.build(List.of(a, b)));
+        assertTrue(ex.getMessage().contains("A -> B -> A"));
+    }
+
+    // 4. Bitset lebih dari satu word (> 64 mata kuliah)
+    @Test
+    void isPrerequisiteMet_spansMultipleWords() {
+        List<Course> chain = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Course c = new Course("C" + i, "MK " + i, 2, 30, 0, "X");
+            if (i > 0) {
+                c.addPrerequisite("C" + (i - 1));
+            }
+            chain.add(c);
+        }
+        PrerequisiteGraph big = PrerequisiteGraph.build(chain);
+
+        assertEquals(99, big.transitivePrerequisites("C99").size());
+        assertTrue(big.isPrerequisiteMet("C99", List.of(chain.get(98))));
+        assertFalse(big.isPrerequisiteMet("C99", List.of(chain.get(70))));
+    }
+
+    // 5. Decorator repository: transkrip diambil sekali per mahasiswa pada pengecekan batch
+    @Test
+    void graphRepository_batchFetchesTranscriptOncePerStudent() {
+        CourseRepository delegate = mock(CourseRepository.class);
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.getCompletedCourses("S001")).thenReturn(List.of(cs101));
+        GraphPrerequisiteCourseRepository repo = new GraphPrerequisiteCourseRepository(delegate, students, graph);
+
+        Map<StudentCourse, Boolean> result = repo.arePrerequisitesMet(List.of(
+                new StudentCourse("S001", "CS201"),
+                new StudentCourse("S001", "CS301")));
+
+        assertTrue(result.get(new StudentCourse("S001", "CS201")));
+        assertFalse(result.get(new StudentCourse("S001", "CS301")));
+        assertTrue(repo.isPrerequisiteMet("S001", "CS201"));
+        verify(students, times(2)).getCompletedCourses("S001");
+        verify(delegate, never()).isPrerequisiteMet(anyString(), anyString());
+    }
+
+    // 6. Tabel simbol bersama: kode yang di-intern setelah graf dibuat dianggap tidak dikenal
+    @Test
+    void build_sharedSymbolTable() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.intern("MA101");
+        PrerequisiteGraph shared = PrerequisiteGraph.build(List.of(cs101, cs201, cs301), symbols);
+
+        assertEquals(0, symbols.lookup("MA101"));
+        assertEquals(4, shared.size());
+        assertEquals(Set.of("CS201", "CS101", "MA101"), shared.transitivePrerequisites("CS301"));
+
+        int late = symbols.intern("CS999");
+        assertEquals(4, late);
+        assertTrue(shared.isPrerequisiteMet("CS999", List.of()));
+        assertFalse(shared.contains("CS999"));
+        assertFalse(shared.contains("MA101"));
+        assertTrue(shared.contains("CS301"));
+        assertEquals(1, shared.toCourseSet(List.of(new Course("CS999", "Baru", 3, 30, 0, "X"))).length);
+    }
+
+    // 7. Mata kuliah yang ditambahkan setelah graf dibangun tidak otomatis lolos
+    @Test
+    void graphRepository_unknownCourse_delegatesToRepository() {
+        CourseRepository delegate = mock(CourseRepository.class);
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.getCompletedCourses("S001")).thenReturn(List.of(cs101));
+        when(delegate.isPrerequisiteMet("S001", "CS401")).thenReturn(false);
+        StudentCourse late = new StudentCourse("S001", "CS401");
+        when(delegate.arePrerequisitesMet(List.of(late))).thenReturn(Map.of(late, false));
+        GraphPrerequisiteCourseRepository repo = new GraphPrerequisiteCourseRepository(delegate, students, graph);
+
+        assertFalse(repo.isPrerequisiteMet("S001", "CS401"));
+        Map<StudentCourse, Boolean> result = repo.arePrerequisitesMet(List.of(
+                new StudentCourse("S001", "CS201"), late));
+        assertTrue(result.get(new StudentCourse("S001", "CS201")));
+        assertFalse(result.get(late));
+        verify(delegate, never()).isPrerequisiteMet("S001", "CS201");
+    }
+}
@@ -0,0 +1,76 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.model.StudentCourse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk implementasi default method batch pada repository
+ *
+ * Tujuan:
+ * - Memastikan implementasi default (looping) memanggil method single-key
+ * - Memastikan kunci yang tidak ditemukan tidak dimasukkan ke hasil
+ */
+public class RepositoryBatchDefaultsTest {
+
+    // 1. findAllByIds memanggil findById untuk setiap ID
+    @Test
+    void findAllByIds_loopsOverFindById() {
+        StudentRepository repo = mock(StudentRepository.class, CALLS_REAL_METHODS);
+        Student s1 = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+        doReturn(s1).when(repo).findById("S001");
+        doReturn(null).when(repo).findById("S404");
+
+        Map<String, Student> result = repo.findAllByIds(List.of("S001", "S404"));
+
+        assertEquals(1, result.size());
+        assertSame(s1, result.get("S001"));
+        verify(repo, times(2)).findById(anyString());
+    }
+
+    // 2. findAllByCourseCodes memanggil findByCourseCode untuk setiap kode
+    @Test
+    void findAllByCourseCodes_loopsOverFindByCourseCode() {
+        CourseRepository repo = mock(CourseRepository.class, CALLS_REAL_METHODS);
+        Course c1 = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        doReturn(c1).when(repo).findByCourseCode("CS101");
+        doReturn(null).when(repo).findByCourseCode("CS404");
+
+        Map<String, Course> result = repo.findAllByCourseCodes(List.of("CS101", "CS404"));
+
+        assertEquals(1, result.size());
+        assertSame(c1, result.get("CS101"));
+    }
+
+    // 3. arePrerequisitesMet memanggil isPrerequisiteMet untuk setiap pasangan
+    @Test
+    void arePrerequisitesMet_loopsOverIsPrerequisiteMet() {
+        CourseRepository repo = mock(CourseRepository.class, CALLS_REAL_METHODS);
+        doReturn(true).when(repo).isPrerequisiteMet("S001", "CS101");
+        doReturn(false).when(repo).isPrerequisiteMet("S002", "CS101");
+
+        Map<StudentCourse, Boolean> result = repo.arePrerequisitesMet(List.of(
+                new StudentCourse("S001", "CS101"),
+                new StudentCourse("S002", "CS101")));
+
+        assertTrue(result.get(new StudentCourse("S001", "CS101")));
+        assertFalse(result.get(new StudentCourse("S002", "CS101")));
+    }
+
+    // 4. Update bersyarat tidak didukung secara default
+    @Test
+    void compareAndUpdate_unsupportedByDefault() {
+        CourseRepository repo = mock(CourseRepository.class, CALLS_REAL_METHODS);
+        Course c1 = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+
+        assertFalse(repo.supportsConditionalUpdate());
+        assertThrows(UnsupportedOperationException.class, () -> repo.compareAndUpdate(c1, 0));
+    }
+}
@@ -0,0 +1,121 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicPolicy
+ * Meliputi:
+ * - Tabel default identik dengan aturan percabangan lama untuk seluruh IPK 0.00 - 4.00
+ * - Kebijakan baru dari file tanpa perubahan kode
+ * - Konfigurasi tidak valid ditolak
+ * - Aturan bawaan tanpa file, dan file yang hanya menimpa sebagian aturan
+ */
+public class AcademicPolicyTest {
+
+    // 1. Kebijakan default sama dengan aturan lama
+    @Test
+    void defaults_matchLegacyRules() {
+        AcademicPolicy policy = AcademicPolicy.defaults();
+        for (int hundredths = 0; hundredths <= 400; hundredths++) {
+            double gpa = hundredths / 100.0;
+            assertEquals(legacyMaxCredits(gpa), policy.maxCredits(gpa), "gpa=" + gpa);
+            for (int semester = 1; semester <= 14; semester++) {
+                assertEquals(legacyStatus(gpa, semester), policy.status(gpa, semester).name(),
+                        "gpa=" + gpa + " semester=" + semester);
+            }
+        }
+        // Nilai di antara dua perseratus tetap di bawah ambang
+        assertEquals(AcademicStatus.PROBATION, policy.status(2.2499, 3));
+        assertEquals(21, policy.maxCredits(2.999));
+    }
+
+    // 2. Kebijakan baru dibaca dari file
+    @Test
+    void load_customPolicyFromFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("policy.properties");
+        Files.writeString(file, String.join("\n",
+                "semester.bands=1",
+                "band.0.active=1.50",
+                "band.0.probation=1.00",
+                "band.1.active=2.75",
+                "band.1.probation=2.29",
+                "credits.limits=0.00:12,3.50:22"));
+
+        GradeCalculator calculator = new GradeCalculator(AcademicPolicy.load(file));
+
+        assertEquals("ACTIVE", calculator.determineAcademicStatus(1.5, 1));
+        assertEquals(AcademicStatus.SUSPENDED, calculator.determineStatus(0.99, 1));
+        assertEquals(AcademicStatus.PROBATION, calculator.determineStatus(2.29, 7));
+        assertEquals(AcademicStatus.SUSPENDED, calculator.determineStatus(2.28, 7));
+        assertEquals(12, calculator.calculateMaxCredits(3.49));
+        assertEquals(22, calculator.calculateMaxCredits(4.0));
+    }
+
+    // 3. Konfigurasi dan input tidak valid
+    @Test
+    void compile_invalid_shouldThrow() {
+        Properties missingBand = new Properties();
+        missingBand.setProperty("semester.bands", "2");
+        missingBand.setProperty("band.0.active", "2.00");
+        missingBand.setProperty("band.0.probation", "1.00");
+        missingBand.setProperty("credits.limits", "0.00:15");
+        assertThrows(IllegalArgumentException.class, () -> AcademicPolicy.compile(missingBand));
+
+        Properties noZeroCredits = new Properties();
+        noZeroCredits.setProperty("semester.bands", "2");
+        for (int band = 0; band < 2; band++) {
+            noZeroCredits.setProperty("band." + band + ".active", "2.00");
+            noZeroCredits.setProperty("band." + band + ".probation", "2.50");
+        }
+        noZeroCredits.setProperty("credits.limits", "2.00:18");
+        assertThrows(IllegalArgumentException.class, () -> AcademicPolicy.compile(noZeroCredits));
+
+        AcademicPolicy policy = AcademicPolicy.defaults();
+        assertThrows(IllegalArgumentException.class, () -> policy.status(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> policy.status(3.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> policy.maxCredits(4.01));
+    }
+
+    // 4. Aturan bawaan tidak membaca file; file override cukup berisi key yang diubah
+    @Test
+    void builtIn_withPartialOverride() throws Exception {
+        AcademicPolicy builtIn = AcademicPolicy.builtIn();
+        assertEquals(AcademicStatus.PROBATION, builtIn.status(2.49, 5));
+        assertEquals(18, builtIn.maxCredits(2.49));
+        assertEquals("ACTIVE", new GradeCalculator().determineAcademicStatus(2.5, 5));
+
+        AcademicPolicy policy = AcademicPolicy.load(new ByteArrayInputStream(
+                "band.2.active=2.40\n".getBytes(StandardCharsets.ISO_8859_1)));
+        assertEquals(AcademicStatus.ACTIVE, policy.status(2.40, 5));
+        assertEquals(AcademicStatus.PROBATION, policy.status(2.24, 3));
+        assertEquals(AcademicStatus.SUSPENDED, policy.status(1.99, 5));
+        assertEquals(18, policy.maxCredits(2.49));
+    }
+
+    private static String legacyStatus(double gpa, int semester) {
+        if (semester <= 2) {
+            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+        }
+        if (semester <= 4) {
+            return gpa >= 2.25 ? "ACTIVE" : gpa >= 2.0 ? "PROBATION" : "SUSPENDED";
+        }
+        return gpa >= 2.5 ? "ACTIVE" : gpa >= 2.0 ? "PROBATION" : "SUSPENDED";
+    }
+
+    private static int legacyMaxCredits(double gpa) {
+        if (gpa >= 3.0) return 24;
+        if (gpa >= 2.5) return 21;
+        if (gpa >= 2.0) return 18;
+        return 15;
+    }
+}
@@ -0,0 +1,172 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk StudentRateLimiter, AdmissionController, dan AdmissionControlledEnrollmentService
+ * Meliputi:
+ * - Burst dan pengisian ulang token per mahasiswa (jam palsu)
+ * - Load shedding saat batas request bersamaan tercapai
+ * - Request yang ditolak tidak menyentuh repository
+ * - Token dikembalikan saat request ditolak OVERLOADED
+ * - evictIdle yang bersamaan dengan tryAcquire tidak memberi token tambahan
+ */
+public class AdmissionControllerTest {
+
+    // 1. Burst diizinkan, sisanya ditolak sampai token terisi lagi; mahasiswa lain tidak terpengaruh
+    @Test
+    void rateLimiter_burstThenRefill() {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        StudentRateLimiter limiter = new StudentRateLimiter(2.0, 3, clock::get); // 1 token per 500 ms
+
+        assertTrue(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S001"));
+        assertFalse(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S002"));
+
+        clock.addAndGet(500_000_000L);
+        assertTrue(limiter.tryAcquire("S001"));
+        assertFalse(limiter.tryAcquire("S001"));
+
+        clock.addAndGet(10_000_000_000L);
+        assertEquals(2, limiter.evictIdle());
+        assertEquals(0, limiter.trackedStudents());
+    }
+
+    // 2. Kena rate limit: penolakan RATE_LIMITED dan action tidak dijalankan
+    @Test
+    void admit_rateLimited_rejectsWithReason() {
+        AtomicLong clock = new AtomicLong();
+        AdmissionController controller = new AdmissionController(
+                new StudentRateLimiter(1.0, 1, clock::get), 4, Duration.ofMillis(10));
+
+        assertEquals("ok", controller.admit("S001", () -> "ok"));
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> controller.admit("S001", () -> fail("tidak boleh dijalankan")));
+        assertEquals(AdmissionRejectedException.Reason.RATE_LIMITED, ex.getReason());
+        assertEquals(1, controller.getAdmittedCount());
+        assertEquals(1, controller.getRateLimitedCount());
+    }
+
+    // 3. Semua izin terpakai: request berikutnya menunggu sampai timeout lalu ditolak OVERLOADED
+    @Test
+    void admit_saturated_shedsLoad() throws Exception {
+        AdmissionController controller = new AdmissionController(
+                new StudentRateLimiter(1000.0, 100), 1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> controller.admit("S001", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "done";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                    () -> controller.admit("S002", () -> "late"));
+            assertEquals(AdmissionRejectedException.Reason.OVERLOADED, ex.getReason());
+
+            release.countDown();
+            assertEquals("done", slow.get(5, TimeUnit.SECONDS));
+            assertEquals("again", controller.admit("S002", () -> "again"));
+            assertEquals(1, controller.getOverloadedCount());
+            assertEquals(1, controller.getAvailablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 4. Wrapper: request yang ditolak tidak pernah sampai ke repository
+    @Test
+    void controlledService_rejectedRequestSkipsRepository() {
+        StudentRepository studentRepo = mock(StudentRepository.class);
+        EnrollmentService service = new EnrollmentService(studentRepo, mock(CourseRepository.class),
+                mock(NotificationService.class), new GradeCalculator());
+        AtomicLong clock = new AtomicLong();
+        AdmissionControlledEnrollmentService controlled = new AdmissionControlledEnrollmentService(service,
+                new AdmissionController(new StudentRateLimiter(1.0, 1, clock::get), 8, Duration.ofMillis(10)));
+
+        assertEquals(EnrollmentResult.STUDENT_NOT_FOUND, controlled.tryEnroll("S001", "CS101"));
+        assertThrows(AdmissionRejectedException.class, () -> controlled.dropCourse("S001", "CS101"));
+        verify(studentRepo, times(1)).findById("S001");
+    }
+
+    // 5. Request yang ditolak OVERLOADED tidak menghabiskan token rate limit
+    @Test
+    void admit_overloaded_refundsRateLimitToken() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        AdmissionController controller = new AdmissionController(
+                new StudentRateLimiter(1.0, 1, clock::get), 1, Duration.ofMillis(20));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> controller.admit("S001", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "done";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                    () -> controller.admit("S002", () -> "late"));
+            assertEquals(AdmissionRejectedException.Reason.OVERLOADED, ex.getReason());
+            release.countDown();
+            assertEquals("done", slow.get(5, TimeUnit.SECONDS));
+
+            // Jam tidak maju: token S002 masih ada karena request sebelumnya tidak diproses
+            assertEquals("retry", controller.admit("S002", () -> "retry"));
+            assertEquals(0, controller.getRateLimitedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 6. Entry yang dibuang saat tryAcquire sedang berjalan tidak menghasilkan bucket penuh kedua
+    @Test
+    void rateLimiter_evictDuringAcquire_doesNotGrantExtraToken() {
+        AtomicLong time = new AtomicLong(1_000_000_000L);
+        StudentRateLimiter[] holder = new StudentRateLimiter[1];
+        boolean[] evictOnRead = {false};
+        StudentRateLimiter limiter = new StudentRateLimiter(1.0, 1, () -> {
+            if (evictOnRead[0]) {
+                // evictIdle berjalan di antara pengambilan entry dan compare-and-set pada tryAcquire
+                evictOnRead[0] = false;
+                assertEquals(1, holder[0].evictIdle());
+            }
+            return time.get();
+        });
+        holder[0] = limiter;
+
+        assertTrue(limiter.tryAcquire("S001"));
+        time.addAndGet(5_000_000_000L);
+        evictOnRead[0] = true;
+        assertTrue(limiter.tryAcquire("S001"));
+        assertEquals(1, limiter.trackedStudents());
+        assertFalse(limiter.tryAcquire("S001"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AsyncNotificationService
+ * Menggunakan sink palsu (FakeSink) yang mencatat setiap pesan yang dikirim.
+ * Meliputi:
+ * - Penggabungan (coalescing) pesan per penerima
+ * - Drain antrian saat shutdown
+ * - Kebijakan backpressure DROP dan CALLER_RUNS
+ * - Interrupt worker dan pengiriman yang bersamaan dengan shutdown
+ */
+public class AsyncNotificationServiceTest {
+
+    // Sink palsu: mencatat pesan, email ke "a@poltek.ac.id" ditahan sampai gate dibuka
+    static class FakeSink implements NotificationService {
+        final List<String[]> emails = new CopyOnWriteArrayList<>();
+        final List<String[]> sms = new CopyOnWriteArrayList<>();
+        final CountDownLatch gate;
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        FakeSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+            if ("a@poltek.ac.id".equals(email)) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            emails.add(new String[]{email, subject, message, Thread.currentThread().getName()});
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+            sms.add(new String[]{phone, message});
+        }
+    }
+
+    // 1. Pesan untuk penerima yang sama dalam satu jendela digabung menjadi satu email
+    @Test
+    void sendEmail_coalescesPerRecipient() throws InterruptedException {
+        FakeSink sink = new FakeSink(new CountDownLatch(0));
+        AsyncNotificationService service = new AsyncNotificationService(sink, 100, 1,
+                Duration.ofMillis(300), AsyncNotificationService.BackpressurePolicy.BLOCK);
+
+        service.sendEmail("ani@poltek.ac.id", "Enrollment Confirmation", "CS101");
+        service.sendEmail("ani@poltek.ac.id", "Enrollment Confirmation", "CS102");
+        service.sendEmail("budi@poltek.ac.id", "Course Drop Confirmation", "CS103");
+        service.sendSMS("0812", "Kode OTP 1234");
+
+        assertTrue(service.shutdown(Duration.ofSeconds(5)));
+
+        assertEquals(2, sink.emails.size());
+        String[] ani = sink.emails.get(0);
+        assertEquals("ani@poltek.ac.id", ani[0]);
+        assertTrue(ani[2].contains("CS101") && ani[2].contains("CS102"));
+        assertEquals("Course Drop Confirmation", sink.emails.get(1)[1]);
+        assertEquals(1, sink.sms.size());
+        assertEquals(4, service.getDeliveredCount());
+    }
+
+    // 2. Shutdown mengirim seluruh isi antrian sebelum worker berhenti
+    @Test
+    void shutdown_drainsQueue() throws InterruptedException {
+        FakeSink sink = new FakeSink(new CountDownLatch(0));
+        AsyncNotificationService service = new AsyncNotificationService(sink, 1000, 2,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.BLOCK);
+
+        for (int i = 0; i < 200; i++) {
+            service.sendEmail("s" + i + "@poltek.ac.id", "Subject", "Body " + i);
+        }
+
+        assertTrue(service.shutdown(Duration.ofSeconds(5)));
+        assertEquals(200, sink.emails.size());
+        assertEquals(0, service.getQueueSize());
+        assertThrows(IllegalStateException.class, () -> service.sendEmail("x@poltek.ac.id", "S", "B"));
+    }
+
+    // 3. Kebijakan DROP membuang pesan saat antrian penuh
+    @Test
+    void backpressureDrop_dropsWhenFull() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSink sink = new FakeSink(gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 1, 1,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.DROP);
+
+        service.sendEmail("a@poltek.ac.id", "S", "1");
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS)); // worker tertahan di sink
+        service.sendEmail("b@poltek.ac.id", "S", "2");       // mengisi antrian
+        service.sendEmail("c@poltek.ac.id", "S", "3");       // dibuang
+
+        gate.countDown();
+        assertTrue(service.shutdown(Duration.ofSeconds(5)));
+        assertEquals(1, service.getDroppedCount());
+        assertEquals(2, sink.emails.size());
+    }
+
+    // 4. Kebijakan CALLER_RUNS mengirim di thread pemanggil saat antrian penuh
+    @Test
+    void backpressureCallerRuns_deliversOnCallerThread() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSink sink = new FakeSink(gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 1, 1,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.CALLER_RUNS);
+
+        service.sendEmail("a@poltek.ac.id", "S", "1");
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        service.sendEmail("b@poltek.ac.id", "S", "2");
+        service.sendEmail("c@poltek.ac.id", "S", "3");       // antrian penuh → thread ini
+        gate.countDown();
+
+        assertTrue(service.shutdown(Duration.ofSeconds(5)));
+        assertEquals(3, sink.emails.size());
+        assertTrue(sink.emails.stream().anyMatch(e -> "c@poltek.ac.id".equals(e[0])
+                && Thread.currentThread().getName().equals(e[3])));
+    }
+
+    // 5. Konfigurasi invalid ditolak
+    @Test
+    void constructor_invalidConfig_shouldThrow() {
+        FakeSink sink = new FakeSink(new CountDownLatch(0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncNotificationService(sink, 0, 1,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.BLOCK));
+    }
+
+    // 6. Interrupt hanya menghentikan satu worker; setelah semua worker berhenti pesan dikirim di thread pemanggil
+    @Test
+    void workerInterrupt_stopsOnlyThatWorker() throws InterruptedException {
+        FakeSink sink = new FakeSink(new CountDownLatch(0));
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            workers.add(thread);
+            return thread;
+        };
+        AsyncNotificationService service = new AsyncNotificationService(sink, 100, 2,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.BLOCK, factory);
+
+        workers.get(0).interrupt();
+        workers.get(0).join(5_000);
+        assertFalse(workers.get(0).isAlive());
+        service.sendEmail("s1@poltek.ac.id", "S", "1");
+        awaitDelivered(service, 1);
+        assertEquals(workers.get(1).getName(), sink.emails.get(0)[3]);
+
+        workers.get(1).interrupt();
+        workers.get(1).join(5_000);
+        service.sendEmail("s2@poltek.ac.id", "S", "2");
+        assertEquals(2, sink.emails.size());
+        assertEquals(Thread.currentThread().getName(), sink.emails.get(1)[3]);
+        assertTrue(service.shutdown(Duration.ofSeconds(5)));
+    }
+
+    // 7. Setiap pesan yang diterima sendEmail tetap terkirim walaupun bersamaan dengan shutdown
+    @Test
+    void sendDuringShutdown_acceptedMessagesAreDelivered() throws InterruptedException {
+        FakeSink sink = new FakeSink(new CountDownLatch(0));
+        AsyncNotificationService service = new AsyncNotificationService(sink, 16, 2,
+                Duration.ZERO, AsyncNotificationService.BackpressurePolicy.BLOCK);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            // Penerima unik per pesan agar tidak ada SMS yang digabung
+            String prefix = "08" + t + "-";
+            Thread sender = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; ; i++) {
+                    try {
+                        service.sendSMS(prefix + i, "Pesan " + i);
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            });
+            sender.start();
+            senders.add(sender);
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+
+        assertTrue(service.shutdown(Duration.ofSeconds(10)));
+        for (Thread sender : senders) {
+            sender.join(5_000);
+        }
+        assertEquals(accepted.get(), sink.sms.size());
+        assertEquals(accepted.get(), service.getDeliveredCount());
+    }
+
+    private static void awaitDelivered(AsyncNotificationService service, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getDeliveredCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, service.getDeliveredCount());
+    }
+}
@@ -0,0 +1,110 @@
+package com.siakad.service;
+
+import com.siakad.util.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk EnrollmentIndex
+ * Meliputi:
+ * - Enrollment ganda dan drop yang tidak ada
+ * - Daftar mata kuliah mahasiswa dan daftar peserta mata kuliah
+ * - Tabel simbol yang dipakai bersama
+ * - Enroll/drop bersamaan dari banyak thread
+ */
+public class EnrollmentIndexTest {
+
+    // 1. Enrollment ganda ditolak, drop hanya untuk enrollment yang ada
+    @Test
+    void addRemove_rejectsDuplicatesAndUnknown() {
+        EnrollmentIndex index = new EnrollmentIndex();
+        assertTrue(index.add("S001", "CS101"));
+        assertFalse(index.add("S001", "CS101"));
+        assertFalse(index.remove("S001", "CS999"));
+        assertFalse(index.remove("S404", "CS101"));
+        assertEquals(1, index.size());
+
+        assertTrue(index.remove("S001", "CS101"));
+        assertFalse(index.contains("S001", "CS101"));
+        assertEquals(0, index.size());
+    }
+
+    // 2. Query dua arah tanpa memindai seluruh enrollment
+    @Test
+    void getCoursesAndRoster() {
+        EnrollmentIndex index = new EnrollmentIndex();
+        index.add("S001", "CS101");
+        index.add("S001", "CS102");
+        index.add("S002", "CS101");
+        index.add("S003", "CS101");
+        index.remove("S003", "CS101");
+
+        assertEquals(Set.of("CS101", "CS102"), Set.copyOf(index.getCourses("S001")));
+        assertEquals(Set.of("S001", "S002"), Set.copyOf(index.getRoster("CS101")));
+        assertEquals(2, index.getRosterSize("CS101"));
+        assertEquals(List.of(), index.getCourses("S003"));
+        assertEquals(List.of(), index.getRoster("CS404"));
+    }
+
+    // 3. Handle dari tabel simbol bersama yang sudah berisi simbol lain
+    @Test
+    void sharedSymbolTables_handlesBeyondIndex() {
+        SymbolTable students = new SymbolTable();
+        SymbolTable courses = new SymbolTable();
+        for (int i = 0; i < 40; i++) {
+            courses.intern("MK" + i);
+        }
+        EnrollmentIndex index = new EnrollmentIndex(students, courses);
+
+        assertFalse(index.contains("S001", "MK39"));
+        assertTrue(index.add("S001", "MK39"));
+        assertTrue(index.contains("S001", "MK39"));
+        assertEquals(List.of("S001"), index.getRoster("MK39"));
+        assertEquals(0, index.getRosterSize("MK0"));
+        assertEquals(0, students.lookup("S001"));
+    }
+
+    // 4. Thread berbeda mengubah stripe yang sama maupun berbeda tanpa kehilangan update
+    @Test
+    void concurrentAddRemove_keepsBothDirectionsConsistent() throws Exception {
+        EnrollmentIndex index = new EnrollmentIndex(new SymbolTable(), new SymbolTable(), 4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 50;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 50; i++) {
+                    String studentId = "S" + (offset + i);
+                    for (int c = 0; c < 10; c++) {
+                        index.add(studentId, "CS" + c);
+                    }
+                    index.remove(studentId, "CS0");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400 * 9, index.size());
+        assertEquals(0, index.getRosterSize("CS0"));
+        assertEquals(400, index.getRosterSize("CS9"));
+        assertEquals(9, index.getCourses("S399").size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new EnrollmentIndex(new SymbolTable(), new SymbolTable(), 0));
+    }
+}
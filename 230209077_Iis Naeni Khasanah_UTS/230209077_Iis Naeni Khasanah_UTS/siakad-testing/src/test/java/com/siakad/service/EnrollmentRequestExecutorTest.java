@@ -0,0 +1,200 @@
+package com.siakad.service;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk EnrollmentRequestExecutor
+ * Meliputi:
+ * - Pemuatan mahasiswa dan mata kuliah secara paralel
+ * - Kegagalan satu fork membatalkan fork lain
+ * - Deadline dan pembatalan request selama tahap pemuatan
+ * - Pool thread platform berukuran tetap saat virtual thread tidak tersedia
+ */
+public class EnrollmentRequestExecutorTest {
+
+    private StudentRepository studentRepo;
+    private CourseRepository courseRepo;
+    private EnrollmentRequestExecutor executor;
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        studentRepo = mock(StudentRepository.class);
+        courseRepo = mock(CourseRepository.class);
+        EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                mock(NotificationService.class), new GradeCalculator());
+        executor = new EnrollmentRequestExecutor(service, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    // 1. Mahasiswa dan mata kuliah dimuat bersamaan (keduanya menunggu satu sama lain)
+    @Test
+    void submitEnroll_loadsStudentAndCourseInParallel() throws Exception {
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 0, "Dosen A");
+        when(studentRepo.findById("S001")).thenAnswer(rendezvous(bothLoading, student));
+        when(courseRepo.findByCourseCode("CS101")).thenAnswer(rendezvous(bothLoading, course));
+        when(courseRepo.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+        Enrollment enrollment = executor.submitEnroll("S001", "CS101").get(5, TimeUnit.SECONDS);
+
+        assertEquals("S001", enrollment.getStudentId());
+        assertEquals(1, course.getEnrolledCount());
+        when(studentRepo.findById("S002"))
+                .thenReturn(new Student("S002", "Budi", "budi@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        assertEquals(enrollment.getCourseCode(), executor.enroll("S002", "CS101").getCourseCode());
+    }
+
+    // 2. Mahasiswa tidak ditemukan: exception sama seperti enrollCourse
+    @Test
+    void submitEnroll_studentNotFound() {
+        when(studentRepo.findById("S404")).thenReturn(null);
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Java", 3, 30, 0, "Dosen A"));
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> executor.submitEnroll("S404", "CS101").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StudentNotFoundException.class, ex.getCause());
+        assertThrows(StudentNotFoundException.class, () -> executor.enroll("S404", "CS101"));
+    }
+
+    // 3. Fork yang gagal membatalkan fork lain yang masih berjalan
+    @Test
+    void submitEnroll_forkFailureCancelsSibling() throws Exception {
+        CountDownLatch courseLoading = new CountDownLatch(1);
+        when(courseRepo.findByCourseCode("CS101")).thenAnswer(invocation -> {
+            courseLoading.countDown();
+            return blockUntilInterrupted().answer(invocation);
+        });
+        when(studentRepo.findById("S001")).thenAnswer(invocation -> {
+            assertTrue(courseLoading.await(5, TimeUnit.SECONDS));
+            throw new IllegalStateException("db down");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> executor.submitEnroll("S001", "CS101").get(5, TimeUnit.SECONDS));
+        assertEquals("db down", ex.getCause().getMessage());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    // 4. Deadline terlewati: TimeoutException, pemuatan di-interrupt, tidak ada penulisan
+    @Test
+    void submitEnroll_deadlineExceeded() throws Exception {
+        when(studentRepo.findById("S001")).thenAnswer(blockUntilInterrupted());
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Java", 3, 30, 0, "Dosen A"));
+
+        CompletableFuture<Enrollment> future = executor.submitEnroll("S001", "CS101", Duration.ofMillis(50));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        verify(courseRepo, never()).update(any(Course.class));
+    }
+
+    // 5. Pembatalan selama tahap pemuatan
+    @Test
+    void submitEnroll_cancelWhileLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(studentRepo.findById("S001")).thenAnswer(invocation -> {
+            loading.countDown();
+            return blockUntilInterrupted().answer(invocation);
+        });
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Java", 3, 30, 0, "Dosen A"));
+
+        CompletableFuture<Enrollment> future = executor.submitEnroll("S001", "CS101");
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        verify(courseRepo, never()).update(any(Course.class));
+    }
+
+    // 6. Tanpa virtual thread, request yang berjalan bersamaan dibatasi ukuran pool; sisanya mengantre lalu selesai
+    @Test
+    void submitEnroll_platformFallback_boundsConcurrentRequests() throws Exception {
+        EnrollmentService service = new EnrollmentService(studentRepo, courseRepo,
+                mock(NotificationService.class), new GradeCalculator());
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 0, "Dosen A");
+        AtomicInteger loading = new AtomicInteger();
+        AtomicInteger maxLoading = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentRepo.findById(anyString())).thenAnswer(invocation -> {
+            maxLoading.accumulateAndGet(loading.incrementAndGet(), Math::max);
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                return new Student(invocation.getArgument(0), "Mhs", "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE");
+            } finally {
+                loading.decrementAndGet();
+            }
+        });
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+        try (EnrollmentRequestExecutor bounded = new EnrollmentRequestExecutor(service, Duration.ofSeconds(10), 2)) {
+            assertFalse(bounded.usesVirtualThreads());
+            List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(bounded.submitEnroll("S" + i, "CS101"));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (loading.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(100);
+            assertEquals(2, loading.get());
+
+            release.countDown();
+            for (CompletableFuture<Enrollment> future : futures) {
+                assertNotNull(future.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(2, maxLoading.get());
+        assertEquals(6, course.getEnrolledCount());
+    }
+
+    private static <T> Answer<T> rendezvous(CountDownLatch latch, T value) {
+        return invocation -> {
+            latch.countDown();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "pemuatan tidak berjalan paralel");
+            return value;
+        };
+    }
+
+    private <T> Answer<T> blockUntilInterrupted() {
+        return invocation -> {
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        };
+    }
+}
@@ -4,10 +4,18 @@ import com.siakad.exception.*;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
 import com.siakad.model.Student;
+import com.siakad.model.StudentCourse;
 import com.siakad.repository.CourseRepository;
 import com.siakad.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -118,6 +126,7 @@ public class EnrollmentServiceMockTest {
 
         when(studentRepo.findById("S009")).thenReturn(student);
         when(courseRepo.findByCourseCode("CS107")).thenReturn(course);
+        when(courseRepo.findEnrolledStudentIds("CS107")).thenReturn(List.of("S009"));
 
         enrollmentService.dropCourse("S009", "CS107");
 
@@ -126,4 +135,381 @@ public class EnrollmentServiceMockTest {
                 .sendEmail(eq("hana@poltek.ac.id"), contains("Drop"), contains("PBO"));
         verify(courseRepo, times(1)).update(course);
     }
+
+    // 8. Test enroll KRS berhasil: satu lookup mahasiswa, satu batch course, satu email
+    @Test
+    void testEnrollCourses_Success() {
+        Student student = new Student("S020", "Joko", "joko@poltek.ac.id", "TI", 3, 3.2, "ACTIVE");
+        Course c1 = new Course("CS201", "Struktur Data", 3, 30, 10, "Dosen A");
+        Course c2 = new Course("CS202", "Sistem Operasi", 3, 30, 29, "Dosen B");
+        Map<String, Course> courses = new LinkedHashMap<>();
+        courses.put("CS201", c1);
+        courses.put("CS202", c2);
+
+        when(studentRepo.findById("S020")).thenReturn(student);
+        when(courseRepo.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(courseRepo.arePrerequisitesMet(anyCollection())).thenAnswer(allMet());
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(24);
+
+        List<Enrollment> result = enrollmentService.enrollCourses("S020", List.of("CS201", "CS202"));
+
+        assertEquals(2, result.size());
+        assertEquals("CS201", result.get(0).getCourseCode());
+        assertEquals(11, c1.getEnrolledCount());
+        assertEquals(30, c2.getEnrolledCount());
+        verify(studentRepo, times(1)).findById("S020");
+        verify(courseRepo, never()).findByCourseCode(anyString());
+        verify(courseRepo, never()).isPrerequisiteMet(anyString(), anyString());
+        verify(notificationService, times(1))
+                .sendEmail(eq("joko@poltek.ac.id"), anyString(), contains("Sistem Operasi"));
+    }
+
+    // 9. Test enroll KRS gagal karena satu mata kuliah penuh: tidak ada kursi yang dipesan
+    @Test
+    void testEnrollCourses_OneCourseFull_AllOrNothing() {
+        Student student = new Student("S021", "Kiki", "kiki@poltek.ac.id", "TI", 3, 3.2, "ACTIVE");
+        Course c1 = new Course("CS203", "Jaringan", 3, 30, 10, "Dosen A");
+        Course c2 = new Course("CS204", "Kecerdasan Buatan", 3, 30, 30, "Dosen B");
+        Map<String, Course> courses = new LinkedHashMap<>();
+        courses.put("CS203", c1);
+        courses.put("CS204", c2);
+
+        when(studentRepo.findById("S021")).thenReturn(student);
+        when(courseRepo.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(courseRepo.arePrerequisitesMet(anyCollection())).thenAnswer(allMet());
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(24);
+
+        assertThrows(CourseFullException.class,
+                () -> enrollmentService.enrollCourses("S021", List.of("CS203", "CS204")));
+
+        // Kursi CS203 dikembalikan: pendaftaran tunggal berikutnya masih melihat 10 kursi terisi
+        when(studentRepo.findById("S021")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS203")).thenReturn(c1);
+        when(courseRepo.isPrerequisiteMet("S021", "CS203")).thenReturn(true);
+        enrollmentService.enrollCourse("S021", "CS203");
+        assertEquals(11, c1.getEnrolledCount());
+        verify(courseRepo, times(1)).update(any(Course.class));
+    }
+
+    // 10. Test enroll KRS melebihi batas SKS
+    @Test
+    void testEnrollCourses_CreditLimitExceeded() {
+        Student student = new Student("S022", "Lina", "lina@poltek.ac.id", "TI", 3, 1.8, "ACTIVE");
+        Course c1 = new Course("CS205", "Kalkulus", 4, 30, 0, "Dosen A");
+        Course c2 = new Course("CS206", "Statistika", 4, 30, 0, "Dosen B");
+        Map<String, Course> courses = new LinkedHashMap<>();
+        courses.put("CS205", c1);
+        courses.put("CS206", c2);
+
+        when(studentRepo.findById("S022")).thenReturn(student);
+        when(courseRepo.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(gradeCalculator.calculateMaxCredits(1.8)).thenReturn(6);
+
+        assertThrows(EnrollmentException.class,
+                () -> enrollmentService.enrollCourses("S022", List.of("CS205", "CS206")));
+        verify(courseRepo, never()).update(any(Course.class));
+        verifyNoInteractions(notificationService);
+    }
+
+    // 11. Test enroll KRS dengan mata kuliah yang tidak ditemukan
+    @Test
+    void testEnrollCourses_CourseNotFound() {
+        Student student = new Student("S023", "Mira", "mira@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+
+        when(studentRepo.findById("S023")).thenReturn(student);
+        when(courseRepo.findAllByCourseCodes(anyCollection())).thenReturn(new LinkedHashMap<>());
+
+        assertThrows(CourseNotFoundException.class,
+                () -> enrollmentService.enrollCourses("S023", List.of("CS404")));
+    }
+
+    // 12. Test enroll KRS dengan prasyarat yang belum terpenuhi (batch)
+    @Test
+    void testEnrollCourses_PrerequisiteNotMet() {
+        Student student = new Student("S024", "Nina", "nina@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course c1 = new Course("CS207", "Kompilator", 3, 30, 0, "Dosen A");
+        Map<String, Course> courses = new LinkedHashMap<>();
+        courses.put("CS207", c1);
+        Map<StudentCourse, Boolean> unmet = new HashMap<>();
+        unmet.put(new StudentCourse("S024", "CS207"), false);
+
+        when(studentRepo.findById("S024")).thenReturn(student);
+        when(courseRepo.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(courseRepo.arePrerequisitesMet(anyCollection())).thenReturn(unmet);
+        when(gradeCalculator.calculateMaxCredits(3.0)).thenReturn(24);
+
+        assertThrows(PrerequisiteNotMetException.class,
+                () -> enrollmentService.enrollCourses("S024", List.of("CS207")));
+        assertEquals(0, c1.getEnrolledCount());
+    }
+
+    // 13. Test enroll ganda ditolak jika index enrollment aktif
+    @Test
+    void testEnrollCourse_DuplicateRejectedWithIndex() {
+        Student student = new Student("S025", "Oki", "oki@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 0, "Dosen A");
+        EnrollmentIndex index = new EnrollmentIndex();
+        enrollmentService.setEnrollmentIndex(index);
+
+        when(studentRepo.findById("S025")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet("S025", "CS101")).thenReturn(true);
+
+        enrollmentService.enrollCourse("S025", "CS101");
+        assertThrows(EnrollmentException.class, () -> enrollmentService.enrollCourse("S025", "CS101"));
+        assertEquals(1, course.getEnrolledCount());
+        assertEquals(List.of("CS101"), index.getCourses("S025"));
+        verify(courseRepo, times(1)).update(any(Course.class));
+    }
+
+    // 14. Test drop mata kuliah yang tidak diambil ditolak, kursi tidak berkurang
+    @Test
+    void testDropCourse_NotEnrolledRejectedWithIndex() {
+        Student student = new Student("S026", "Putri", "putri@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS102", "Basis Data", 3, 30, 5, "Dosen B");
+        enrollmentService.setEnrollmentIndex(new EnrollmentIndex());
+
+        when(studentRepo.findById("S026")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS102")).thenReturn(course);
+
+        assertThrows(EnrollmentException.class, () -> enrollmentService.dropCourse("S026", "CS102"));
+        assertEquals(5, course.getEnrolledCount());
+        verify(courseRepo, never()).update(any(Course.class));
+    }
+
+    // 15. Test gagal di tengah enroll melepas klaim index, sehingga bisa dicoba lagi
+    @Test
+    void testEnrollCourse_FailureReleasesIndexClaim() {
+        Student student = new Student("S027", "Raka", "raka@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS103", "Jaringan", 3, 30, 0, "Dosen C");
+        EnrollmentIndex index = new EnrollmentIndex();
+        enrollmentService.setEnrollmentIndex(index);
+
+        when(studentRepo.findById("S027")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS103")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet("S027", "CS103")).thenReturn(false, true);
+
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.enrollCourse("S027", "CS103"));
+        assertFalse(index.contains("S027", "CS103"));
+        assertNotNull(enrollmentService.enrollCourse("S027", "CS103"));
+        assertTrue(index.contains("S027", "CS103"));
+    }
+
+    // 16. Test tryEnroll mengembalikan alasan penolakan tanpa exception
+    @Test
+    void testTryEnroll_RejectionsReturnResult() {
+        Student active = new Student("S028", "Sari", "sari@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student suspended = new Student("S029", "Tono", "tono@poltek.ac.id", "TI", 3, 1.0, "SUSPENDED");
+        when(studentRepo.findById("S028")).thenReturn(active);
+        when(studentRepo.findById("S029")).thenReturn(suspended);
+        when(courseRepo.findByCourseCode("CS110")).thenReturn(new Course("CS110", "Penuh", 3, 1, 1, "Dosen A"));
+        when(courseRepo.findByCourseCode("CS111")).thenReturn(new Course("CS111", "Lanjut", 3, 30, 0, "Dosen B"));
+        when(courseRepo.isPrerequisiteMet("S028", "CS111")).thenReturn(false);
+
+        assertEquals(EnrollmentResult.STUDENT_NOT_FOUND, enrollmentService.tryEnroll("S404", "CS110"));
+        assertEquals(EnrollmentResult.STUDENT_SUSPENDED, enrollmentService.tryEnroll("S029", "CS110"));
+        assertEquals(EnrollmentResult.COURSE_NOT_FOUND, enrollmentService.tryEnroll("S028", "CS404"));
+        assertEquals(EnrollmentResult.COURSE_FULL, enrollmentService.tryEnroll("S028", "CS110"));
+        assertEquals(EnrollmentResult.PREREQUISITE_NOT_MET, enrollmentService.tryEnroll("S028", "CS111"));
+
+        // Exception stackless yang sama dipakai ulang
+        RuntimeException full = EnrollmentResult.COURSE_FULL.toException();
+        assertInstanceOf(CourseFullException.class, full);
+        assertSame(full, assertThrows(CourseFullException.class, EnrollmentResult.COURSE_FULL::orThrow));
+        assertEquals(0, full.getStackTrace().length);
+        verify(courseRepo, never()).update(any(Course.class));
+        verifyNoInteractions(notificationService);
+    }
+
+    // 17. Test tryEnroll berhasil: kursi, update, dan email sama seperti enrollCourse
+    @Test
+    void testTryEnroll_Success() {
+        Student student = new Student("S030", "Umi", "umi@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS112", "Pemrograman Web", 3, 30, 4, "Dosen C");
+        EnrollmentIndex index = new EnrollmentIndex();
+        enrollmentService.setEnrollmentIndex(index);
+        when(studentRepo.findById("S030")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS112")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet("S030", "CS112")).thenReturn(true);
+
+        assertEquals(EnrollmentResult.SUCCESS, enrollmentService.tryEnroll("S030", "CS112"));
+        assertEquals(EnrollmentResult.ALREADY_ENROLLED, enrollmentService.tryEnroll("S030", "CS112"));
+        assertEquals(5, course.getEnrolledCount());
+        verify(courseRepo, times(1)).update(course);
+        verify(notificationService, times(1)).sendEmail(eq("umi@poltek.ac.id"), anyString(), anyString());
+        assertThrows(IllegalStateException.class, EnrollmentResult.SUCCESS::toException);
+    }
+
+    // 18. Test mata kuliah penuh: mahasiswa masuk waitlist, drop mempromosikan tanpa melepas kursi
+    @Test
+    void testEnrollOrWaitlist_DropPromotesHead() {
+        Student holder = new Student("S031", "Vina", "vina@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student waiting = new Student("S032", "Wawan", "wawan@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS113", "Kecerdasan Buatan", 3, 1, 0, "Dosen D");
+        EnrollmentIndex index = new EnrollmentIndex();
+        Waitlist waitlist = new Waitlist(WaitlistPolicy.FIFO, 10, 3);
+        enrollmentService.setEnrollmentIndex(index);
+        enrollmentService.setWaitlist(waitlist);
+
+        when(studentRepo.findById("S031")).thenReturn(holder);
+        when(studentRepo.findById("S032")).thenReturn(waiting);
+        when(courseRepo.findByCourseCode("CS113")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet(anyString(), eq("CS113"))).thenReturn(true);
+
+        assertEquals(EnrollmentResult.SUCCESS, enrollmentService.enrollOrWaitlist("S031", "CS113"));
+        assertEquals(EnrollmentResult.WAITLISTED, enrollmentService.enrollOrWaitlist("S032", "CS113"));
+        assertEquals(EnrollmentResult.WAITLISTED, enrollmentService.enrollOrWaitlist("S032", "CS113"));
+        assertEquals(1, waitlist.size("CS113"));
+
+        enrollmentService.dropCourse("S031", "CS113");
+
+        assertEquals(1, course.getEnrolledCount());
+        assertEquals(List.of("S032"), index.getRoster("CS113"));
+        assertEquals(0, waitlist.size("CS113"));
+        verify(notificationService).sendEmail(eq("wawan@poltek.ac.id"), eq("Waitlist Promotion"),
+                matches(".*\\(enrollment ENR-[0-9A-Z]+\\)"));
+    }
+
+    // 19. Test promosi melewati mahasiswa yang sudah di-suspend; waitlist kosong berarti kursi dilepas
+    @Test
+    void testDropCourse_PromotionSkipsIneligible() {
+        Student holder = new Student("S033", "Xena", "xena@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student waiting = new Student("S034", "Yudi", "yudi@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS114", "Grafika", 3, 1, 0, "Dosen E");
+        Waitlist waitlist = new Waitlist(WaitlistPolicy.FIFO, 10, 3);
+        enrollmentService.setWaitlist(waitlist);
+
+        when(studentRepo.findById("S033")).thenReturn(holder);
+        when(studentRepo.findById("S034")).thenReturn(waiting);
+        when(courseRepo.findByCourseCode("CS114")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet(anyString(), eq("CS114"))).thenReturn(true);
+
+        enrollmentService.enrollCourse("S033", "CS114");
+        assertEquals(EnrollmentResult.WAITLISTED, enrollmentService.enrollOrWaitlist("S034", "CS114"));
+        waiting.setAcademicStatus("SUSPENDED");
+
+        enrollmentService.dropCourse("S033", "CS114");
+
+        assertEquals(0, course.getEnrolledCount());
+        verify(notificationService, never()).sendEmail(eq("yudi@poltek.ac.id"), anyString(), anyString());
+    }
+
+    // 20. Test drop terjadi di antara penolakan (penuh) dan join waitlist: kursi yang dilepas tetap diambil
+    @Test
+    void testEnrollOrWaitlist_DropBeforeJoin_TakesReleasedSeat() {
+        Student holder = new Student("S035", "Zaki", "zaki@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student waiting = new Student("S036", "Ayu", "ayu@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS115", "Komputasi Awan", 3, 1, 0, "Dosen F");
+        Waitlist waitlist = spy(new Waitlist(WaitlistPolicy.FIFO, 10, 3));
+        enrollmentService.setWaitlist(waitlist);
+
+        when(studentRepo.findById("S035")).thenReturn(holder);
+        when(studentRepo.findById("S036")).thenReturn(waiting);
+        when(courseRepo.findByCourseCode("CS115")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet(anyString(), eq("CS115"))).thenReturn(true);
+        enrollmentService.enrollCourse("S035", "CS115");
+        doAnswer(invocation -> {
+            // Drop selesai sebelum S036 masuk waitlist, sehingga tidak ada yang dipromosikan
+            enrollmentService.dropCourse("S035", "CS115");
+            return invocation.callRealMethod();
+        }).when(waitlist).join(waiting, "CS115");
+
+        assertEquals(EnrollmentResult.SUCCESS, enrollmentService.enrollOrWaitlist("S036", "CS115"));
+
+        assertEquals(1, course.getEnrolledCount());
+        assertEquals(0, waitlist.size("CS115"));
+        verify(notificationService).sendEmail(eq("ayu@poltek.ac.id"), eq("Enrollment Confirmation"), anyString());
+    }
+
+    // 21. Test prasyarat dicek sebelum kursi dipesan: mahasiswa yang ditolak tidak pernah memegang kursi terakhir
+    @Test
+    void testEnrollCourse_PrerequisiteCheckedBeforeSeatReserved() {
+        Student lacking = new Student("S037", "Bima", "bima@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student eligible = new Student("S038", "Citra", "citra@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS116", "Keamanan Jaringan", 3, 1, 0, "Dosen G");
+
+        when(studentRepo.findById("S037")).thenReturn(lacking);
+        when(studentRepo.findById("S038")).thenReturn(eligible);
+        when(courseRepo.findByCourseCode("CS116")).thenReturn(course);
+        when(courseRepo.isPrerequisiteMet("S038", "CS116")).thenReturn(true);
+        when(courseRepo.isPrerequisiteMet("S037", "CS116")).thenAnswer(invocation -> {
+            // Selama prasyarat S037 dicek, kursi terakhir masih bisa diambil mahasiswa lain
+            assertNotNull(enrollmentService.enrollCourse("S038", "CS116"));
+            return false;
+        });
+
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.enrollCourse("S037", "CS116"));
+        assertEquals(1, course.getEnrolledCount());
+    }
+
+    // 22. Test I/O lambat satu enrollment tidak menahan perubahan lain milik mahasiswa yang sama;
+    //     drop untuk pasangan yang enroll-nya belum selesai ditolak
+    @Test
+    void testEnrollCourse_SlowPrerequisiteDoesNotBlockOtherChanges() throws Exception {
+        Student student = new Student("S039", "Dewi", "dewi@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course slow = new Course("CS117", "Data Mining", 3, 30, 0, "Dosen H");
+        Course fast = new Course("CS118", "Sistem Terdistribusi", 3, 30, 0, "Dosen H");
+
+        when(studentRepo.findById("S039")).thenReturn(student);
+        when(courseRepo.findByCourseCode("CS117")).thenReturn(slow);
+        when(courseRepo.findByCourseCode("CS118")).thenReturn(fast);
+        when(courseRepo.isPrerequisiteMet("S039", "CS118")).thenReturn(true);
+        when(courseRepo.isPrerequisiteMet("S039", "CS117")).thenAnswer(invocation -> {
+            // Dijalankan di thread lain selama prasyarat CS117 masih dicek
+            Map<String, Object> outcome = new HashMap<>();
+            Thread other = new Thread(() -> {
+                outcome.put("enroll", enrollmentService.tryEnroll("S039", "CS118"));
+                try {
+                    enrollmentService.dropCourse("S039", "CS117");
+                } catch (EnrollmentException e) {
+                    outcome.put("drop", e.getMessage());
+                }
+            });
+            other.start();
+            other.join(5_000);
+            assertEquals(EnrollmentResult.SUCCESS, outcome.get("enroll"));
+            assertEquals("Student is not enrolled in: CS117", outcome.get("drop"));
+            return true;
+        });
+
+        assertNotNull(enrollmentService.enrollCourse("S039", "CS117"));
+        assertEquals(1, slow.getEnrolledCount());
+        assertEquals(1, fast.getEnrolledCount());
+    }
+
+    // 23. Test konfigurasi bawaan (tanpa setEnrollmentIndex): drop mahasiswa yang tidak terdaftar ditolak,
+    //     peserta lama dari repository tetap bisa drop, dan drop kedua ditolak
+    @Test
+    void testDropCourse_DefaultIndexSeededFromRepository() {
+        Student enrolled = new Student("S040", "Eka", "eka@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Student stranger = new Student("S041", "Fajar", "fajar@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        Course course = new Course("CS119", "Kriptografi", 3, 30, 1, "Dosen I");
+
+        when(studentRepo.findById("S040")).thenReturn(enrolled);
+        when(studentRepo.findById("S041")).thenReturn(stranger);
+        when(courseRepo.findByCourseCode("CS119")).thenReturn(course);
+        when(courseRepo.findEnrolledStudentIds("CS119")).thenReturn(List.of("S040"));
+
+        assertThrows(EnrollmentException.class, () -> enrollmentService.dropCourse("S041", "CS119"));
+        assertEquals(1, course.getEnrolledCount());
+
+        enrollmentService.dropCourse("S040", "CS119");
+        assertEquals(0, course.getEnrolledCount());
+        assertThrows(EnrollmentException.class, () -> enrollmentService.dropCourse("S040", "CS119"));
+        assertEquals(0, course.getEnrolledCount());
+        verify(courseRepo, times(1)).findEnrolledStudentIds("CS119");
+        verify(courseRepo, times(1)).update(course);
+    }
+
+    // Jawaban stub: seluruh pasangan (mahasiswa, mata kuliah) memenuhi prasyarat
+    private static Answer<Map<StudentCourse, Boolean>> allMet() {
+        return invocation -> {
+            Collection<StudentCourse> checks = invocation.getArgument(0);
+            Map<StudentCourse, Boolean> result = new HashMap<>();
+            for (StudentCourse check : checks) {
+                result.put(check, true);
+            }
+            return result;
+        };
+    }
 }
@@ -144,4 +144,57 @@ public class GradeCalculatorTest {
         // Exception Handling: gpa di luar 0–4
     }
 
+    // -----------------------------
+    // TEST untuk calculateGPAs() (batch kolumnar)
+    // -----------------------------
+
+    @Test
+    void calculateGpas_matchesSingleCalculation() {
+        List<List<CourseGrade>> transcripts = Arrays.asList(
+                Arrays.asList(new CourseGrade("A", 3, 4.0), new CourseGrade("B", 2, 3.0)),
+                Collections.emptyList(),
+                Arrays.asList(new CourseGrade("C", 3, 2.5), new CourseGrade("D", 4, 3.67),
+                        new CourseGrade("E", 2, 1.0)),
+                List.of(new CourseGrade("F", 0, 4.0))
+        );
+        int total = 0;
+        for (List<CourseGrade> t : transcripts) {
+            total += t.size();
+        }
+        int[] credits = new int[total];
+        double[] points = new double[total];
+        int[] offsets = new int[transcripts.size() + 1];
+        int i = 0;
+        for (int s = 0; s < transcripts.size(); s++) {
+            offsets[s] = i;
+            for (CourseGrade g : transcripts.get(s)) {
+                credits[i] = g.getCredits();
+                points[i] = g.getGradePoint();
+                i++;
+            }
+        }
+        offsets[transcripts.size()] = i;
+
+        double[] result = calculator.calculateGPAs(credits, points, offsets);
+
+        for (int s = 0; s < transcripts.size(); s++) {
+            assertEquals(calculator.calculateGPA(transcripts.get(s)), result[s]);
+        }
+
+        // Hasil batch identik dengan calculateGPA per mahasiswa (termasuk transkrip kosong dan 0 SKS)
+    }
+
+    @Test
+    void calculateGpas_invalidInput_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateGPAs(new int[]{3}, new double[]{4.5}, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateGPAs(new int[]{3}, new double[]{3.0, 2.0}, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateGPAs(new int[]{3, 2}, new double[]{3.0, 2.0}, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateGPAs(new int[]{3, 2}, new double[]{3.0, 2.0}, new int[]{0, 2, 1, 2}));
+
+        // Exception Handling: grade point invalid, panjang kolom berbeda, offset tidak konsisten
+    }
 }
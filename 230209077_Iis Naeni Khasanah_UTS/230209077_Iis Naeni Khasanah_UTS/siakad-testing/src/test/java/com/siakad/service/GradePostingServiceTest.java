@@ -0,0 +1,240 @@
+package com.siakad.service;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.TranscriptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk GpaAccumulator dan GradePostingService
+ * Meliputi:
+ * - Tambah, ganti, dan hapus nilai secara inkremental sama dengan hitung ulang penuh
+ * - Transkrip hanya dibaca sekali per mahasiswa
+ * - Posting nilai satu kelas dengan satu batch, divalidasi sebelum ada yang diubah
+ * - Nilai yang diposting ditulis ke transkrip
+ * - Pemeriksaan konsistensi (reconcile)
+ * - Posting bersamaan tidak menyimpan IPK lama
+ */
+public class GradePostingServiceTest {
+
+    private StudentRepository studentRepo;
+    private TranscriptRepository transcriptRepo;
+    private GradePostingService service;
+
+    @BeforeEach
+    void setUp() {
+        studentRepo = mock(StudentRepository.class);
+        transcriptRepo = mock(TranscriptRepository.class);
+        service = new GradePostingService(studentRepo, transcriptRepo, new GradeCalculator());
+    }
+
+    // 1. Operasi inkremental acak tetap sama dengan calculateGPA atas transkrip lengkap
+    @Test
+    void accumulator_matchesFullRecompute() {
+        GradeCalculator calculator = new GradeCalculator();
+        GpaAccumulator accumulator = new GpaAccumulator();
+        Map<String, CourseGrade> transcript = new LinkedHashMap<>();
+        double[] points = {0.0, 1.0, 2.0, 2.5, 3.0, 3.5, 4.0};
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            String code = "MK" + random.nextInt(30);
+            if (random.nextInt(4) == 0) {
+                assertEquals(transcript.remove(code) != null, accumulator.remove(code));
+            } else {
+                CourseGrade grade = new CourseGrade(code, 1 + random.nextInt(4), points[random.nextInt(points.length)]);
+                transcript.put(code, grade);
+                accumulator.put(grade);
+            }
+            // Tepat di batas x.xx5 akumulator membulatkan nilai eksak, sedangkan calculateGPA
+            // membulatkan jumlah double, sehingga selisih maksimal satu perseratus
+            assertEquals(calculator.calculateGPA(new ArrayList<>(transcript.values())), accumulator.getGpa(), 0.0101);
+        }
+        assertTrue(accumulator.matches(new ArrayList<>(transcript.values())));
+        assertEquals(transcript.size(), accumulator.getGradeCount());
+    }
+
+    // 2. add / replace menolak kondisi yang salah, grade point invalid ditolak
+    @Test
+    void accumulator_addReplaceValidation() {
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(new CourseGrade("CS101", 3, 4.0)));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(new CourseGrade("CS101", 3, 3.0)));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.replace(new CourseGrade("CS102", 3, 3.0)));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.put(new CourseGrade("CS103", 3, 4.5)));
+
+        accumulator.add(new CourseGrade("CS102", 2, 2.0));
+        accumulator.replace(new CourseGrade("CS101", 3, 3.0));
+        assertEquals(2.6, accumulator.getGpa());
+        assertEquals(5, accumulator.getTotalCredits());
+        assertEquals(1300, accumulator.getTotalPoints());
+        assertEquals(0.0, new GpaAccumulator().getGpa());
+    }
+
+    // 3. Posting nilai: transkrip dibaca sekali, IPK dan status langsung tersimpan
+    @Test
+    void postGrade_updatesStudentWithoutRereadingTranscript() {
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 5, 3.0, "ACTIVE");
+        when(studentRepo.findById("S001")).thenReturn(student);
+        when(transcriptRepo.getTranscript("S001")).thenReturn(List.of(new CourseGrade("CS101", 3, 3.0)));
+
+        service.postGrade("S001", new CourseGrade("CS201", 3, 1.0));
+        assertEquals(2.0, student.getGpa());
+        assertEquals("PROBATION", student.getAcademicStatus());
+
+        service.postGrade("S001", new CourseGrade("CS201", 3, 4.0)); // perbaikan nilai
+        assertEquals(3.5, student.getGpa());
+        assertEquals("ACTIVE", student.getAcademicStatus());
+
+        assertTrue(service.removeGrade("S001", "CS101"));
+        assertFalse(service.removeGrade("S001", "CS999"));
+        assertEquals(4.0, service.getTrackedGpa("S001"));
+
+        verify(transcriptRepo, times(1)).getTranscript("S001");
+        verify(transcriptRepo, times(2)).saveGrade(eq("S001"), any(CourseGrade.class));
+        verify(transcriptRepo).removeGrade("S001", "CS101");
+        verify(transcriptRepo, never()).removeGrade("S001", "CS999");
+        verify(studentRepo, times(3)).update(student);
+        assertThrows(StudentNotFoundException.class, () -> service.postGrade("S404", new CourseGrade("CS101", 3, 3.0)));
+    }
+
+    // 4. Posting nilai satu kelas: satu findAllByIds dan satu updateAll
+    @Test
+    void postGrades_wholeClassInOneBatch() {
+        Map<String, Student> students = new HashMap<>();
+        Map<String, CourseGrade> grades = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            String id = "S" + i;
+            students.put(id, new Student(id, "Mhs " + i, null, "TI", 3, 0.0, "ACTIVE"));
+            grades.put(id, new CourseGrade("CS301", 3, i % 2 == 0 ? 4.0 : 2.0));
+        }
+        when(studentRepo.findAllByIds(anyCollection())).thenReturn(students);
+        when(transcriptRepo.getTranscript(anyString())).thenReturn(List.of(new CourseGrade("CS101", 3, 3.0)));
+
+        List<Student> updated = service.postGrades(grades);
+
+        assertEquals(300, updated.size());
+        assertEquals(3.5, students.get("S0").getGpa());
+        assertEquals(2.5, students.get("S1").getGpa());
+        verify(studentRepo, times(1)).findAllByIds(anyCollection());
+        verify(transcriptRepo, times(1)).saveGrades(grades);
+        verify(studentRepo, times(1)).updateAll(anyCollection());
+        verify(studentRepo, never()).update(any(Student.class));
+    }
+
+    // 5. Nilai yang diposting tersimpan di transkrip; reconcile hanya memperbaiki perubahan dari luar
+    @Test
+    void reconcile_fixesDrift() {
+        Student student = new Student("S001", "Ani", "ani@poltek.ac.id", "TI", 3, 3.0, "ACTIVE");
+        when(studentRepo.findById("S001")).thenReturn(student);
+        InMemoryTranscripts transcripts = new InMemoryTranscripts();
+        GradePostingService posting = new GradePostingService(studentRepo, transcripts, new GradeCalculator());
+        posting.postGrade("S001", new CourseGrade("CS101", 3, 4.0));
+        posting.postGrade("S001", new CourseGrade("CS102", 3, 2.0));
+        assertTrue(posting.removeGrade("S001", "CS102"));
+        assertEquals(0, posting.reconcile());
+        assertEquals(4.0, student.getGpa());
+
+        // Sumber data berubah di luar service (misalnya nilai dikoreksi langsung di database)
+        transcripts.saveGrade("S001", new CourseGrade("CS101", 3, 3.0));
+        assertEquals(1, posting.reconcile());
+        assertEquals(3.0, student.getGpa());
+        assertEquals(0, posting.reconcile());
+    }
+
+    // 6. Satu nilai invalid di tengah kelas: tidak ada akumulator atau data yang berubah
+    @Test
+    void postGrades_invalidGrade_changesNothing() {
+        Student first = new Student("S001", "Ani", null, "TI", 3, 3.0, "ACTIVE");
+        when(studentRepo.findById("S001")).thenReturn(first);
+        when(transcriptRepo.getTranscript("S001")).thenReturn(List.of(new CourseGrade("CS101", 3, 3.0)));
+        service.postGrade("S001", new CourseGrade("CS102", 3, 3.0));
+        Map<String, CourseGrade> grades = new LinkedHashMap<>();
+        grades.put("S001", new CourseGrade("CS301", 3, 4.0));
+        grades.put("S002", new CourseGrade("CS301", 3, 4.5));
+
+        assertThrows(IllegalArgumentException.class, () -> service.postGrades(grades));
+        assertEquals(3.0, service.getTrackedGpa("S001"));
+        assertEquals(3.0, first.getGpa());
+        verify(studentRepo, never()).findAllByIds(anyCollection());
+        verify(transcriptRepo, never()).saveGrades(anyMap());
+        verify(studentRepo, never()).updateAll(anyCollection());
+    }
+
+    // 7. Posting bersamaan untuk mahasiswa yang sama: IPK terakhir yang disimpan adalah yang terbaru
+    @Test
+    void postGrade_concurrent_persistsLatestGpa() throws Exception {
+        AtomicReference<Double> persisted = new AtomicReference<>();
+        StudentRepository students = new StudentRepository() {
+            @Override
+            public Student findById(String studentId) {
+                return new Student(studentId, "Ani", null, "TI", 3, 0.0, "ACTIVE");
+            }
+
+            @Override
+            public void update(Student student) {
+                persisted.set(student.getGpa());
+            }
+
+            @Override
+            public List<Course> getCompletedCourses(String studentId) {
+                return List.of();
+            }
+        };
+        GradePostingService posting = new GradePostingService(students, new InMemoryTranscripts(), new GradeCalculator());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 200; i++) {
+                    posting.postGrade("S001", new CourseGrade("MK" + (i % 5), 3, (thread + i) % 5));
+                    if (i % 7 == 0) {
+                        posting.postGrades(Map.of("S001", new CourseGrade("MK9", 2, thread)));
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(posting.getTrackedGpa("S001"), persisted.get());
+    }
+
+    /**
+     * Transkrip di memori yang mendukung penulisan
+     */
+    private static final class InMemoryTranscripts implements TranscriptRepository {
+        private final Map<String, Map<String, CourseGrade>> grades = new ConcurrentHashMap<>();
+
+        @Override
+        public List<CourseGrade> getTranscript(String studentId) {
+            return new ArrayList<>(grades.getOrDefault(studentId, Map.of()).values());
+        }
+
+        @Override
+        public void saveGrade(String studentId, CourseGrade grade) {
+            grades.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>()).put(grade.getCourseCode(), grade);
+        }
+
+        @Override
+        public void removeGrade(String studentId, String courseCode) {
+            grades.getOrDefault(studentId, new HashMap<>()).remove(courseCode);
+        }
+    }
+}
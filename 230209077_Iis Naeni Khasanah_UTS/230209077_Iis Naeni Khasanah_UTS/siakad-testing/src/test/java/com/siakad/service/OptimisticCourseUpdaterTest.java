@@ -0,0 +1,304 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.journal.EnrollmentJournal;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.UpdateResult;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk OptimisticCourseUpdater dan enroll/drop dengan compareAndUpdate
+ * Meliputi:
+ * - Retry setelah konflik versi
+ * - Batas jumlah percobaan (CONFLICT, bukan exception) dan mata kuliah yang hilang
+ * - Dua node dengan SeatAllocator masing-masing tidak melebihi kapasitas
+ * - Course milik pemanggil hanya berubah jika perubahan tersimpan
+ * - Backoff: ratusan enrollment bersamaan pada repository lambat tanpa konflik palsu
+ * - Drop yang kursinya gagal dilepas dibatalkan di journal dan index
+ */
+public class OptimisticCourseUpdaterTest {
+
+    // 1. Konflik versi: Course dibaca ulang dan perubahan diterapkan ke versi terbaru
+    @Test
+    void reserveSeat_conflict_retriesOnLatestVersion() {
+        CourseRepository repo = mock(CourseRepository.class);
+        Course stale = new Course("CS101", "Pemrograman Java", 3, 30, 29, "Dosen A");
+        stale.setVersion(7);
+        Course latest = new Course("CS101", "Pemrograman Java", 3, 30, 29, "Dosen A");
+        latest.setVersion(8);
+        when(repo.compareAndUpdate(any(Course.class), eq(7L))).thenReturn(UpdateResult.CONFLICT);
+        when(repo.compareAndUpdate(any(Course.class), eq(8L))).thenAnswer(inv -> {
+            inv.<Course>getArgument(0).setVersion(9);
+            return UpdateResult.APPLIED;
+        });
+        when(repo.findByCourseCode("CS101")).thenReturn(latest);
+
+        assertEquals(OptimisticCourseUpdater.Outcome.APPLIED, new OptimisticCourseUpdater(repo).reserveSeat(stale));
+        assertEquals(30, stale.getEnrolledCount());
+        assertEquals(9, stale.getVersion());
+        verify(repo, times(1)).findByCourseCode("CS101");
+    }
+
+    // 2. Kelas penuh, konflik terus-menerus, dan mata kuliah yang sudah dihapus
+    @Test
+    void update_fullExhaustedAndNotFound() {
+        CourseRepository repo = mock(CourseRepository.class);
+        Course full = new Course("CS101", "Pemrograman Java", 3, 30, 30, "Dosen A");
+        OptimisticCourseUpdater updater = new OptimisticCourseUpdater(repo, 3);
+
+        assertEquals(OptimisticCourseUpdater.Outcome.ABORTED, updater.reserveSeat(full));
+        verify(repo, never()).compareAndUpdate(any(Course.class), anyLong());
+
+        Course course = new Course("CS102", "Basis Data", 3, 30, 0, "Dosen B");
+        when(repo.compareAndUpdate(any(Course.class), anyLong())).thenReturn(UpdateResult.CONFLICT);
+        when(repo.findByCourseCode("CS102")).thenAnswer(inv -> new Course("CS102", "Basis Data", 3, 30, 0, "Dosen B"));
+        assertEquals(OptimisticCourseUpdater.Outcome.CONFLICT, updater.reserveSeat(course));
+        verify(repo, times(3)).compareAndUpdate(any(Course.class), anyLong());
+        verify(repo, times(2)).findByCourseCode("CS102");
+
+        when(repo.compareAndUpdate(any(Course.class), anyLong())).thenReturn(UpdateResult.NOT_FOUND);
+        assertThrows(CourseNotFoundException.class, () -> updater.releaseSeat(new Course("CS103", "X", 3, 30, 1, "X")));
+        assertThrows(IllegalArgumentException.class, () -> new OptimisticCourseUpdater(repo, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimisticCourseUpdater(repo, 3, Duration.ofMillis(10), Duration.ofMillis(1)));
+    }
+
+    // 3. Dua node berbagi repository: kapasitas tidak terlampaui dan drop tercatat benar
+    @Test
+    void enrollAndDrop_twoNodes_keepCapacityConsistent() throws Exception {
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.findById(anyString())).thenAnswer(inv -> new Student(inv.getArgument(0), "Mhs",
+                "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        courses.update(new Course("CS101", "Pemrograman Java", 3, 20, 0, "Dosen A"));
+        List<EnrollmentService> nodes = List.of(
+                new EnrollmentService(students, courses, mock(NotificationService.class), new GradeCalculator(),
+                        new SnowflakeIdGenerator(0)),
+                new EnrollmentService(students, courses, mock(NotificationService.class), new GradeCalculator(),
+                        new SnowflakeIdGenerator(1)));
+        for (EnrollmentService node : nodes) {
+            node.setCourseUpdater(new OptimisticCourseUpdater(courses, 1_000));
+        }
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        // Mahasiswa yang berhasil enroll per node; drop hanya diterima oleh node yang mencatat enrollment-nya
+        List<Set<String>> admitted = List.of(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            EnrollmentService node = nodes.get(t % 2);
+            Set<String> admittedByNode = admitted.get(t % 2);
+            int offset = t * 10;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 10; i++) {
+                    try {
+                        node.enrollCourse("S" + (offset + i), "CS101");
+                        admittedByNode.add("S" + (offset + i));
+                        enrolled.incrementAndGet();
+                    } catch (CourseFullException e) {
+                        full.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(20, enrolled.get());
+        assertEquals(20, full.get());
+        assertEquals(20, courses.findByCourseCode("CS101").getEnrolledCount());
+
+        int dropped = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            if (!admitted.get(n).isEmpty()) {
+                nodes.get(n).dropCourse(admitted.get(n).iterator().next(), "CS101");
+                dropped++;
+            }
+        }
+        Course after = courses.findByCourseCode("CS101");
+        assertEquals(20 - dropped, after.getEnrolledCount());
+        assertTrue(dropped > 0);
+        assertTrue(after.getVersion() >= 21 + dropped);
+    }
+
+    // 4. Perubahan diterapkan ke salinan: gagal atau dibatalkan berarti course pemanggil tidak berubah
+    @Test
+    void update_failureOrAbort_leavesCallerCourseUntouched() {
+        CourseRepository repo = mock(CourseRepository.class);
+        OptimisticCourseUpdater updater = new OptimisticCourseUpdater(repo, 2);
+        Course course = new Course("CS101", "Pemrograman Java", 3, 30, 10, "Dosen A");
+        course.setVersion(4);
+
+        when(repo.compareAndUpdate(any(Course.class), anyLong())).thenReturn(UpdateResult.CONFLICT);
+        when(repo.findByCourseCode("CS101")).thenAnswer(inv -> {
+            Course latest = new Course("CS101", "Pemrograman Java", 3, 30, 20, "Dosen A");
+            latest.setVersion(5);
+            return latest;
+        });
+        assertEquals(OptimisticCourseUpdater.Outcome.CONFLICT, updater.reserveSeat(course));
+        assertEquals(10, course.getEnrolledCount());
+        assertEquals(4, course.getVersion());
+
+        // Versi terbaru sudah penuh: dibatalkan tanpa menyalin data terbaru ke course pemanggil
+        when(repo.findByCourseCode("CS101")).thenReturn(new Course("CS101", "Pemrograman Java", 3, 30, 30, "Dosen A"));
+        assertEquals(OptimisticCourseUpdater.Outcome.ABORTED, updater.reserveSeat(course));
+        assertEquals(10, course.getEnrolledCount());
+
+        when(repo.compareAndUpdate(any(Course.class), eq(4L))).thenReturn(UpdateResult.APPLIED);
+        assertEquals(OptimisticCourseUpdater.Outcome.APPLIED, updater.reserveSeat(course));
+        assertEquals(11, course.getEnrolledCount());
+    }
+
+    // 5. 800 enrollment bersamaan, repository dengan latensi 1 ms: jumlah akhir tepat dan
+    //    tidak ada permintaan yang gagal karena konflik selama kursi masih ada
+    @Test
+    void tryEnroll_contendedSlowRepository_noSpuriousConflict() throws Exception {
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.findById(anyString())).thenAnswer(inv -> new Student(inv.getArgument(0), "Mhs",
+                "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        courses.update(new Course("CS101", "Pemrograman Java", 3, 300, 0, "Dosen A"));
+        EnrollmentService service = new EnrollmentService(students, new SlowCourseRepository(courses),
+                mock(NotificationService.class), new GradeCalculator());
+
+        Map<EnrollmentResult, AtomicInteger> results = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 32; t++) {
+            int offset = t * 25;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 25; i++) {
+                    EnrollmentResult result = service.tryEnroll("S" + (offset + i), "CS101");
+                    results.computeIfAbsent(result, r -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(Set.of(EnrollmentResult.SUCCESS, EnrollmentResult.COURSE_FULL), results.keySet());
+        assertEquals(300, results.get(EnrollmentResult.SUCCESS).get());
+        assertEquals(500, results.get(EnrollmentResult.COURSE_FULL).get());
+        assertEquals(300, courses.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    // 6. Kursi gagal dilepas karena konflik: drop dibatalkan, journal dan index tetap mencatat enrollment
+    @Test
+    void dropCourse_releaseConflict_compensatesJournalAndIndex(@TempDir Path dir) throws Exception {
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.findById("S001")).thenReturn(new Student("S001", "Mhs",
+                "mhs@poltek.ac.id", "TI", 3, 3.5, "ACTIVE"));
+        CourseRepository repo = mock(CourseRepository.class);
+        when(repo.supportsConditionalUpdate()).thenReturn(true);
+        when(repo.isPrerequisiteMet(anyString(), anyString())).thenReturn(true);
+        when(repo.findByCourseCode("CS101")).thenAnswer(inv -> new Course("CS101", "Pemrograman Java", 3, 30, 1, "Dosen A"));
+        when(repo.compareAndUpdate(any(Course.class), anyLong())).thenReturn(UpdateResult.CONFLICT);
+        Path file = dir.resolve("enroll.log");
+
+        EnrollmentIndex index = new EnrollmentIndex();
+        index.add("S001", "CS101");
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            EnrollmentService service = new EnrollmentService(students, repo,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setJournal(journal);
+            service.setEnrollmentIndex(index);
+            service.setCourseUpdater(new OptimisticCourseUpdater(repo, 2, Duration.ZERO, Duration.ZERO));
+
+            EnrollmentException ex = assertThrows(EnrollmentException.class,
+                    () -> service.dropCourse("S001", "CS101"));
+            assertEquals("Concurrent update conflict on course: CS101", ex.getMessage());
+            assertTrue(index.contains("S001", "CS101"));
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(file)) {
+            assertEquals(Set.of("CS101"), journal.getRecoveredState().getEnrollmentsByStudent().get("S001"));
+        }
+    }
+
+    /**
+     * Repository dengan latensi 1 ms untuk setiap baca dan tulis
+     */
+    private static class SlowCourseRepository implements CourseRepository {
+        private final CourseRepository delegate;
+
+        SlowCourseRepository(CourseRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Course findByCourseCode(String courseCode) {
+            pause();
+            return delegate.findByCourseCode(courseCode);
+        }
+
+        @Override
+        public void update(Course course) {
+            pause();
+            delegate.update(course);
+        }
+
+        @Override
+        public boolean supportsConditionalUpdate() {
+            return true;
+        }
+
+        @Override
+        public UpdateResult compareAndUpdate(Course course, long expectedVersion) {
+            pause();
+            return delegate.compareAndUpdate(course, expectedVersion);
+        }
+
+        @Override
+        public boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return true;
+        }
+
+        private static void pause() {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
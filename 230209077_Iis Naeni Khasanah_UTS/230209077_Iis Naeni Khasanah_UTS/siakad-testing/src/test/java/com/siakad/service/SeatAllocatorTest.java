@@ -0,0 +1,126 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk SeatAllocator
+ * Meliputi:
+ * - Reservasi dan pelepasan kursi
+ * - Batas kapasitas dan batas bawah counter
+ * - Reservasi bersamaan dari banyak thread (tidak boleh oversell)
+ * - Penyimpanan jumlah kursi yang tidak pernah mundur
+ */
+public class SeatAllocatorTest {
+
+    private SeatAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new SeatAllocator();
+    }
+
+    // 1. Counter diinisialisasi dari enrolledCount dan berhenti di kapasitas
+    @Test
+    void tryReserve_stopsAtCapacity() {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 3, 1, "Dosen A");
+
+        assertTrue(allocator.tryReserve(course));
+        assertTrue(allocator.tryReserve(course));
+        assertFalse(allocator.tryReserve(course));
+        assertEquals(3, allocator.enrolledCount(course));
+    }
+
+    // 2. Release tidak pernah membuat counter negatif
+    @Test
+    void release_neverGoesBelowZero() {
+        Course course = new Course("CS102", "Basis Data", 3, 30, 1, "Dosen B");
+
+        assertTrue(allocator.release(course));
+        assertFalse(allocator.release(course));
+        assertEquals(0, allocator.enrolledCount(course));
+    }
+
+    // 3. Seed mengganti nilai counter
+    @Test
+    void seed_overridesCounter() {
+        Course course = new Course("CS103", "Jaringan", 3, 30, 0, "Dosen C");
+
+        allocator.seed("CS103", 29);
+        assertTrue(allocator.tryReserve(course));
+        assertFalse(allocator.tryReserve(course));
+    }
+
+    // 4. Reservasi bersamaan tidak melebihi kapasitas
+    @Test
+    void tryReserve_concurrent_neverOversells() throws InterruptedException {
+        Course course = new Course("CS104", "Algoritma", 3, 50, 0, "Dosen D");
+        int threads = 8;
+        int attemptsPerThread = 100;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (allocator.tryReserve(course)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, reserved.get());
+        assertEquals(50, allocator.enrolledCount(course));
+    }
+
+    // 5. Penyimpanan bersamaan membawa nilai terkini secara berurutan, sehingga tidak pernah mundur
+    @Test
+    void writeEnrolledCount_concurrentWritersNeverGoBackwards() throws InterruptedException {
+        Course course = new Course("CS101", "Pemrograman Java", 3, 1_000, 0, "Dosen A");
+        List<Integer> stored = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                allocator.tryReserve(course);
+                allocator.writeEnrolledCount(course, stored::add); // penulis berurutan, list tidak perlu sinkron
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(400, stored.size());
+        for (int i = 1; i < stored.size(); i++) {
+            assertTrue(stored.get(i - 1) <= stored.get(i));
+        }
+        assertEquals(400, stored.get(stored.size() - 1));
+    }
+}
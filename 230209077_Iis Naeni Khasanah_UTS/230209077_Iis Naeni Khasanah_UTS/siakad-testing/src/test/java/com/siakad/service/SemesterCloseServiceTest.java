@@ -0,0 +1,192 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.TranscriptRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk SemesterCloseService
+ * Menggunakan GradeCalculator asli, StudentRepository dengan map di memori (melalui mock),
+ * dan transkrip stub.
+ * Meliputi:
+ * - Perhitungan IPK, status, dan batas SKS seluruh mahasiswa
+ * - Write back per batch
+ * - Progress, pembatalan, dan melanjutkan dari checkpoint
+ * - Header checkpoint (ukuran batch dan jumlah mahasiswa) dan baris terakhir yang terpotong
+ */
+public class SemesterCloseServiceTest {
+
+    private Map<String, Student> store;
+    private StudentRepository studentRepo;
+    private TranscriptRepository transcripts;
+    private ForkJoinPool pool;
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        store = new ConcurrentHashMap<>();
+        ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            String id = "S" + i;
+            store.put(id, new Student(id, "Mhs " + i, id + "@poltek.ac.id", "TI", 5, 0.0, "ACTIVE"));
+            ids.add(id);
+        }
+        studentRepo = mock(StudentRepository.class);
+        when(studentRepo.findAllByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            Map<String, Student> result = new ConcurrentHashMap<>();
+            for (String key : keys) {
+                Student s = store.get(key);
+                if (s != null) {
+                    result.put(key, s);
+                }
+            }
+            return result;
+        });
+
+        // Mahasiswa genap: IPK 3.6, ganjil: IPK 2.2 (semester 5 → PROBATION)
+        transcripts = studentId -> Integer.parseInt(studentId.substring(1)) % 2 == 0
+                ? List.of(new CourseGrade("A", 3, 4.0), new CourseGrade("B", 2, 3.0))
+                : List.of(new CourseGrade("C", 5, 2.2));
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    // 1. Seluruh mahasiswa dihitung ulang dan disimpan per batch
+    @Test
+    void closeSemester_recomputesAllStudents() {
+        SemesterCloseService service = new SemesterCloseService(studentRepo, transcripts,
+                new GradeCalculator(), pool, 10);
+        AtomicInteger lastProgress = new AtomicInteger();
+
+        SemesterCloseReport report = service.closeSemester(ids, SemesterCloseCheckpoint.inMemory(),
+                (processed, total) -> lastProgress.accumulateAndGet(processed, Math::max));
+
+        assertTrue(report.isCompleted());
+        assertEquals(25, report.getProcessedStudents());
+        assertEquals(25, lastProgress.get());
+        assertEquals(3.6, store.get("S0").getGpa());
+        assertEquals("ACTIVE", store.get("S0").getAcademicStatus());
+        assertEquals(2.2, store.get("S1").getGpa());
+        assertEquals("PROBATION", store.get("S1").getAcademicStatus());
+        assertEquals(24, report.getMaxCredits().get("S0"));
+        assertEquals(18, report.getMaxCredits().get("S1"));
+        verify(studentRepo, times(3)).updateAll(anyCollection());
+    }
+
+    // 2. Mahasiswa yang tidak ditemukan dan transkrip invalid dilaporkan, batch tetap selesai
+    @Test
+    void closeSemester_reportsMissingAndInvalid() {
+        ids.add("S404");
+        TranscriptRepository broken = studentId -> "S3".equals(studentId)
+                ? List.of(new CourseGrade("X", 3, 9.0))
+                : transcripts.getTranscript(studentId);
+        SemesterCloseService service = new SemesterCloseService(studentRepo, broken,
+                new GradeCalculator(), pool, 10);
+
+        SemesterCloseReport report = service.closeSemester(ids, SemesterCloseCheckpoint.inMemory(), null);
+
+        assertTrue(report.isCompleted());
+        assertEquals(List.of("S404"), report.getNotFound());
+        assertTrue(report.getFailures().get("S3").contains("Invalid grade point"));
+    }
+
+    // 3. Proses yang dibatalkan dilanjutkan dari checkpoint file tanpa mengulang batch selesai
+    @Test
+    void closeSemester_resumesFromCheckpoint(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("close.ckpt");
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            SemesterCloseService service = new SemesterCloseService(studentRepo, transcripts,
+                    new GradeCalculator(), single, 5);
+
+            SemesterCloseReport first;
+            try (FileSemesterCloseCheckpoint checkpoint = new FileSemesterCloseCheckpoint(file)) {
+                // Batalkan setelah batch pertama selesai
+                first = service.closeSemester(ids, checkpoint, (processed, total) -> service.cancel());
+            }
+            assertFalse(first.isCompleted());
+            assertEquals(5, first.getProcessedStudents());
+
+            SemesterCloseReport second;
+            try (FileSemesterCloseCheckpoint checkpoint = new FileSemesterCloseCheckpoint(file)) {
+                second = service.closeSemester(ids, checkpoint, null);
+            }
+            assertTrue(second.isCompleted());
+            assertEquals(1, second.getResumedChunks());
+            assertEquals(20, second.getProcessedStudents());
+            verify(studentRepo, times(5)).updateAll(anyCollection());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    // 4. Ukuran batch invalid ditolak
+    @Test
+    void constructor_invalidBatchSize_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SemesterCloseService(studentRepo, transcripts,
+                new GradeCalculator(), pool, 0));
+    }
+
+    // 5. Checkpoint untuk ukuran batch lain ditolak; baris terakhir yang tidak terbaca diabaikan
+    @Test
+    void checkpoint_rejectsOtherLayoutAndIgnoresTornLine(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("close.ckpt");
+        SemesterCloseService service = new SemesterCloseService(studentRepo, transcripts,
+                new GradeCalculator(), pool, 5);
+        try (FileSemesterCloseCheckpoint checkpoint = new FileSemesterCloseCheckpoint(file)) {
+            assertTrue(service.closeSemester(ids, checkpoint, null).isCompleted());
+        }
+        Files.writeString(file, Files.readString(file) + "\n\u0000\u0000;", StandardCharsets.UTF_8);
+
+        try (FileSemesterCloseCheckpoint checkpoint = new FileSemesterCloseCheckpoint(file)) {
+            SemesterCloseService other = new SemesterCloseService(studentRepo, transcripts,
+                    new GradeCalculator(), pool, 10);
+            assertThrows(IllegalStateException.class, () -> other.closeSemester(ids, checkpoint, null));
+            assertThrows(IllegalStateException.class, () -> service.closeSemester(ids.subList(0, 20), checkpoint, null));
+
+            SemesterCloseReport resumed = service.closeSemester(ids, checkpoint, null);
+            assertTrue(resumed.isCompleted());
+            assertEquals(5, resumed.getResumedChunks());
+        }
+    }
+
+    // 6. cancel sebelum proses dimulai menghentikan proses berikutnya, lalu pembatalan selesai dipakai
+    @Test
+    void cancel_beforeStart_stopsNextRunOnly() {
+        SemesterCloseService service = new SemesterCloseService(studentRepo, transcripts,
+                new GradeCalculator(), pool, 5);
+        service.cancel();
+
+        SemesterCloseReport cancelled = service.closeSemester(ids, SemesterCloseCheckpoint.inMemory(), null);
+        assertFalse(cancelled.isCompleted());
+        assertEquals(0, cancelled.getProcessedStudents());
+        verify(studentRepo, never()).updateAll(anyCollection());
+
+        assertTrue(service.closeSemester(ids, SemesterCloseCheckpoint.inMemory(), null).isCompleted());
+    }
+}
@@ -0,0 +1,166 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk SnowflakeIdGenerator
+ * Meliputi:
+ * - ID unik dan naik dalam milidetik yang sama
+ * - Jam sistem mundur
+ * - Node ID dan timestamp dapat dibaca kembali dari ID
+ * - Pembuatan ID bersamaan dari banyak thread
+ * - Node ID dari system property; EnrollmentService tanpa node ID memakai node 0, atau generator eksplisit
+ */
+public class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    // 1. Banyak ID dalam milidetik yang sama tetap unik dan naik (melewati batas 4096)
+    @Test
+    void nextId_sameMillisecond_isMonotonic() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    // 2. Jam mundur tidak menghasilkan ID yang lebih kecil
+    @Test
+    void nextId_clockMovesBackwards_isStillMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long first = generator.nextId();
+        clock.set(NOW - 5_000);
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    // 3. Node ID dan timestamp tersimpan di dalam ID
+    @Test
+    void nextId_encodesNodeAndTimestamp() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(513, SnowflakeIdGenerator.nodeIdOf(id));
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id));
+        assertTrue(id > 0);
+    }
+
+    // 4. Node berbeda pada waktu yang sama menghasilkan ID berbeda
+    @Test
+    void nextId_differentNodes_doNotCollide() {
+        long a = new SnowflakeIdGenerator(1, () -> NOW).nextId();
+        long b = new SnowflakeIdGenerator(2, () -> NOW).nextId();
+        assertNotEquals(a, b);
+    }
+
+    // 5. Node ID di luar rentang ditolak
+    @Test
+    void constructor_invalidNode_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    // 6. Pembuatan ID bersamaan tidak pernah menghasilkan duplikat
+    @Test
+    void nextId_concurrent_isUnique() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(40_000, ids.size());
+    }
+
+    // 7. Node ID dibaca dari system property siakad.node.id, nilai invalid ditolak
+    @Test
+    void fromEnvironment_readsNodeIdProperty() {
+        String original = System.getProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY);
+        try {
+            System.setProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY, "42");
+            assertEquals(42, SnowflakeIdGenerator.nodeIdOf(SnowflakeIdGenerator.fromEnvironment().nextId()));
+
+            System.setProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY, "node-a");
+            assertThrows(IllegalArgumentException.class, SnowflakeIdGenerator::fromEnvironment);
+            System.setProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY, "1024");
+            assertThrows(IllegalArgumentException.class, SnowflakeIdGenerator::fromEnvironment);
+
+            System.clearProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY);
+            assumeTrue(System.getenv(SnowflakeIdGenerator.NODE_ID_ENV) == null);
+            assertNull(SnowflakeIdGenerator.fromEnvironment());
+        } finally {
+            restoreNodeId(original);
+        }
+    }
+
+    // 8. Tanpa node ID, constructor lama tetap bekerja dengan node 0;
+    //    constructor dengan generator memakai node ID eksplisit
+    @Test
+    void enrollmentService_nodeIdDefaultAndExplicit() {
+        assumeTrue(System.getenv(SnowflakeIdGenerator.NODE_ID_ENV) == null);
+        String original = System.getProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY);
+        System.clearProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY);
+        try {
+            StudentRepository students = mock(StudentRepository.class);
+            CourseRepository courses = mock(CourseRepository.class);
+            NotificationService notifications = mock(NotificationService.class);
+            when(students.findById(anyString())).thenAnswer(inv -> new Student(inv.getArgument(0), "Mhs",
+                    "mhs@poltek.ac.id", "TI", 3, 3.4, "ACTIVE"));
+            when(courses.findByCourseCode("CS101"))
+                    .thenReturn(new Course("CS101", "Pemrograman Java", 3, 10, 0, "Dosen A"));
+            when(courses.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+            EnrollmentService single = new EnrollmentService(students, courses, notifications,
+                    new GradeCalculator());
+            assertEquals(SnowflakeIdGenerator.DEFAULT_NODE_ID, SnowflakeIdGenerator.nodeIdOf(
+                    single.enrollCourse("S001", "CS101").getEnrollmentNumber()));
+
+            EnrollmentService node5 = new EnrollmentService(students, courses, notifications,
+                    new GradeCalculator(), new SnowflakeIdGenerator(5));
+            assertEquals(5, SnowflakeIdGenerator.nodeIdOf(
+                    node5.enrollCourse("S002", "CS101").getEnrollmentNumber()));
+
+            assertThrows(NullPointerException.class, () -> new EnrollmentService(students, courses,
+                    notifications, new GradeCalculator(), (EnrollmentIdGenerator) null));
+        } finally {
+            restoreNodeId(original);
+        }
+    }
+
+    private static void restoreNodeId(String original) {
+        if (original == null) {
+            System.clearProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY);
+        } else {
+            System.setProperty(SnowflakeIdGenerator.NODE_ID_PROPERTY, original);
+        }
+    }
+}
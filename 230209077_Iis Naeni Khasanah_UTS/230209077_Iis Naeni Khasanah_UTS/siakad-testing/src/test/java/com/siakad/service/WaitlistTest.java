@@ -0,0 +1,91 @@
+package com.siakad.service;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk Waitlist
+ * Meliputi:
+ * - Urutan FIFO, SEMESTER, dan GPA
+ * - Batas panjang antrean dan batas posisi per mahasiswa
+ * - Keluar dari waitlist dan join ulang yang idempoten
+ * - Requeue setelah promosi gagal tetap mematuhi batas
+ */
+public class WaitlistTest {
+
+    private static Student student(String id, int semester, double gpa) {
+        return new Student(id, "Mhs " + id, id + "@poltek.ac.id", "TI", semester, gpa, "ACTIVE");
+    }
+
+    // 1. FIFO: urutan mendaftar, join ulang tidak mengubah posisi
+    @Test
+    void fifo_keepsJoinOrder() {
+        Waitlist waitlist = new Waitlist(WaitlistPolicy.FIFO, 10, 3);
+        assertEquals(1, waitlist.join(student("S1", 2, 3.0), "CS101"));
+        assertEquals(2, waitlist.join(student("S2", 6, 3.9), "CS101"));
+        assertEquals(1, waitlist.join(student("S1", 2, 3.0), "CS101"));
+        assertEquals(2, waitlist.size("CS101"));
+
+        assertEquals("S1", waitlist.poll("CS101").getStudentId());
+        assertEquals("S2", waitlist.poll("CS101").getStudentId());
+        assertNull(waitlist.poll("CS101"));
+    }
+
+    // 2. Prioritas semester dan IPK, seri tetap FIFO
+    @Test
+    void priorityPolicies_orderBySemesterOrGpa() {
+        Waitlist bySemester = new Waitlist(WaitlistPolicy.SEMESTER, 10, 3);
+        bySemester.join(student("S1", 2, 3.9), "CS101");
+        bySemester.join(student("S2", 6, 2.0), "CS101");
+        bySemester.join(student("S3", 6, 3.0), "CS101");
+        assertEquals(3, bySemester.position("S1", "CS101"));
+        assertEquals("S2", bySemester.poll("CS101").getStudentId());
+        assertEquals("S3", bySemester.poll("CS101").getStudentId());
+
+        Waitlist byGpa = new Waitlist(WaitlistPolicy.GPA, 10, 3);
+        byGpa.join(student("S1", 2, 3.1), "CS101");
+        byGpa.join(student("S2", 6, 3.8), "CS101");
+        assertEquals(1, byGpa.position("S2", "CS101"));
+        assertEquals("S2", byGpa.poll("CS101").getStudentId());
+    }
+
+    // 3. Batas panjang antrean dan batas posisi per mahasiswa
+    @Test
+    void join_respectsLimits() {
+        Waitlist waitlist = new Waitlist(WaitlistPolicy.FIFO, 2, 2);
+        Student s1 = student("S1", 3, 3.0);
+        assertEquals(1, waitlist.join(s1, "CS101"));
+        assertEquals(1, waitlist.join(s1, "CS102"));
+        assertEquals(0, waitlist.join(s1, "CS103")); // sudah memegang 2 posisi
+
+        assertTrue(waitlist.leave("S1", "CS102"));
+        assertFalse(waitlist.leave("S1", "CS102"));
+        assertEquals(1, waitlist.join(s1, "CS103"));
+
+        assertEquals(2, waitlist.join(student("S2", 3, 3.0), "CS101"));
+        assertEquals(0, waitlist.join(student("S3", 3, 3.0), "CS101")); // antrean penuh
+        assertEquals(0, waitlist.position("S3", "CS101"));
+        assertThrows(IllegalArgumentException.class, () -> new Waitlist(WaitlistPolicy.FIFO, 0, 1));
+    }
+
+    // 4. Requeue: kembali ke posisi semula, kecuali slot yang dilepas sudah dipakai mahasiswa lain
+    @Test
+    void requeue_respectsLimits() {
+        Waitlist waitlist = new Waitlist(WaitlistPolicy.FIFO, 2, 1);
+        waitlist.join(student("S1", 3, 3.0), "CS101");
+        waitlist.join(student("S2", 3, 3.0), "CS101");
+
+        WaitlistEntry head = waitlist.poll("CS101");
+        assertTrue(waitlist.requeue(head));
+        assertEquals(1, waitlist.position("S1", "CS101"));
+        assertEquals(0, waitlist.join(student("S1", 3, 3.0), "CS102")); // slot S1 terpakai lagi
+
+        head = waitlist.poll("CS101");
+        assertEquals(2, waitlist.join(student("S3", 3, 3.0), "CS101")); // antrean penuh lagi
+        assertFalse(waitlist.requeue(head));
+        assertEquals(0, waitlist.position("S1", "CS101"));
+        assertEquals(1, waitlist.join(student("S1", 3, 3.0), "CS102"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.siakad.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk IntHashSet
+ * Meliputi:
+ * - Tambah, cek, dan hapus elemen
+ * - Pertumbuhan tabel dan penghapusan tanpa tombstone
+ * - Nilai negatif ditolak
+ */
+public class IntHashSetTest {
+
+    // 1. Operasi dasar
+    @Test
+    void addContainsRemove_basic() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.add(3));
+        assertFalse(set.add(3));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(7));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(3));
+        assertFalse(set.remove(3));
+        assertFalse(set.contains(3));
+        assertEquals(1, set.size());
+        assertArrayEquals(new int[]{0}, set.toArray());
+    }
+
+    // 2. Hasil sama dengan HashSet untuk operasi acak (termasuk rehash dan backward-shift)
+    @Test
+    void randomOperations_matchHashSet() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int value = 0; value < 500; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), values);
+    }
+
+    // 3. Nilai negatif ditolak
+    @Test
+    void add_negative_shouldThrow() {
+        IntHashSet set = new IntHashSet();
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertFalse(set.contains(-1));
+        assertFalse(set.remove(-1));
+    }
+}
@@ -0,0 +1,81 @@
+package com.siakad.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk SymbolTable
+ * Meliputi:
+ * - Handle padat dan stabil
+ * - Pencarian simbol yang belum di-intern
+ * - Intern bersamaan dari banyak thread
+ */
+public class SymbolTableTest {
+
+    // 1. Handle padat, stabil, dan bisa dikembalikan ke string
+    @Test
+    void intern_assignsDenseStableHandles() {
+        SymbolTable table = new SymbolTable(2);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, table.intern("CS" + i));
+        }
+        assertEquals(42, table.intern("CS42"));
+        assertEquals("CS99", table.name(99));
+        assertEquals(100, table.size());
+    }
+
+    // 2. Simbol yang belum di-intern dan handle tidak valid
+    @Test
+    void lookupAndName_unknown() {
+        SymbolTable table = new SymbolTable();
+        table.intern("S001");
+
+        assertEquals(0, table.lookup("S001"));
+        assertEquals(SymbolTable.ABSENT, table.lookup("S404"));
+        assertEquals(SymbolTable.ABSENT, table.lookup(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.name(1));
+        assertThrows(NullPointerException.class, () -> table.intern(null));
+    }
+
+    // 3. Intern bersamaan tidak menghasilkan handle ganda
+    @Test
+    void intern_concurrent_uniqueHandles() throws Exception {
+        SymbolTable table = new SymbolTable();
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    int handle = table.intern("S" + i);
+                    assertEquals("S" + i, table.name(handle));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1_000, table.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < table.size(); i++) {
+            names.add(table.name(i));
+        }
+        assertEquals(1_000, names.size());
+    }
+}